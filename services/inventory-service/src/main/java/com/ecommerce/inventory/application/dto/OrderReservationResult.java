@@ -0,0 +1,39 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/dto/OrderReservationResult.java
+package com.ecommerce.inventory.application.dto;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of reserving all lines of an order. Either every line has a reservation or none
+ * does and {@code failedLines} lists the lines that could not be covered.
+ */
+@Data
+public class OrderReservationResult {
+    
+    private final OrderId orderId;
+    private final List<InventoryReservation> reservations;
+    private final List<ReservationLine> failedLines;
+    
+    private OrderReservationResult(OrderId orderId, List<InventoryReservation> reservations,
+                                   List<ReservationLine> failedLines) {
+        this.orderId = orderId;
+        this.reservations = reservations;
+        this.failedLines = failedLines;
+    }
+    
+    public static OrderReservationResult reserved(OrderId orderId, List<InventoryReservation> reservations) {
+        return new OrderReservationResult(orderId, reservations, List.of());
+    }
+    
+    public static OrderReservationResult rejected(OrderId orderId, List<ReservationLine> failedLines) {
+        return new OrderReservationResult(orderId, List.of(), failedLines);
+    }
+    
+    public boolean isReserved() {
+        return failedLines.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/dto/ProductAvailability.java
+package com.ecommerce.inventory.application.dto;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import lombok.Data;
+
+/**
+ * Stock status of one product as shown on listing pages.
+ */
+@Data
+public class ProductAvailability {
+    
+    private final ProductId productId;
+    private final int available;
+    private final boolean lowStock;
+    private final boolean outOfStock;
+    
+    public ProductAvailability(ProductId productId, int available, boolean lowStock, boolean outOfStock) {
+        this.productId = productId;
+        this.available = available;
+        this.lowStock = lowStock;
+        this.outOfStock = outOfStock;
+    }
+    
+    public static ProductAvailability of(InventoryItem item) {
+        return new ProductAvailability(item.getProductId(), item.getTotalAvailable(), item.isLowStock(), item.isOutOfStock());
+    }
+}
@@ -0,0 +1,17 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/dto/ReservationLine.java
+package com.ecommerce.inventory.application.dto;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import lombok.Data;
+
+@Data
+public class ReservationLine {
+    
+    private final ProductId productId;
+    private final int quantity;
+    
+    public ReservationLine(ProductId productId, int quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+}
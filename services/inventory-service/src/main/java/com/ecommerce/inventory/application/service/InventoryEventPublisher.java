@@ -0,0 +1,27 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/service/InventoryEventPublisher.java
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservationFailedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
+import com.ecommerce.inventory.domain.event.LowStockAlertEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Records inventory events for delivery. Subscribe inside the transaction that makes the
+ * change so the event is stored if and only if the change commits.
+ */
+public interface InventoryEventPublisher {
+    
+    Mono<Void> publishInventoryReserved(InventoryReservedEvent event);
+    
+    Mono<Void> publishInventoryReserved(List<InventoryReservedEvent> events);
+    
+    Mono<Void> publishInventoryReservationFailed(InventoryReservationFailedEvent event);
+    
+    Mono<Void> publishInventoryReleased(List<InventoryReleasedEvent> events);
+    
+    Mono<Void> publishLowStockAlert(LowStockAlertEvent event);
+}
@@ -0,0 +1,20 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/service/ProductAvailabilityCache.java
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.dto.ProductAvailability;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Availability of products kept in memory and dropped when their stock changes.
+ */
+public interface ProductAvailabilityCache {
+    
+    /**
+     * Emits the availability of the products in {@code productIds} that have inventory, in
+     * request order. Products missing from the cache are loaded together in one query.
+     */
+    Mono<List<ProductAvailability>> get(List<ProductId> productIds);
+}
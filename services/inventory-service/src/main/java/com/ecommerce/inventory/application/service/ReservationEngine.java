@@ -0,0 +1,25 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/service/ReservationEngine.java
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies stock changes to in-memory counters owned by this instance instead of locking
+ * item rows. A change is acknowledged only after it has been committed to Postgres together
+ * with the writes of {@code onApplied}, which run in the same transaction. When
+ * {@code onApplied} completes empty the stock change is not written and the result is empty,
+ * so a change can depend on a conditional write such as marking a reservation released.
+ */
+public interface ReservationEngine {
+    
+    /**
+     * Moves {@code quantity} from available to reserved. Emits empty without running
+     * {@code onReserved} when the item is inactive or has too little available.
+     */
+    <T> Mono<T> reserve(ProductId productId, int quantity, Mono<T> onReserved);
+    
+    <T> Mono<T> release(ProductId productId, int quantity, Mono<T> onReleased);
+    
+    <T> Mono<T> confirm(ProductId productId, int quantity, Mono<T> onConfirmed);
+}
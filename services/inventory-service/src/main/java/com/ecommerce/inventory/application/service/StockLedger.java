@@ -0,0 +1,59 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/service/StockLedger.java
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stock counters held outside Postgres for the products it manages, so reservations for them
+ * are decided without a database round trip. Accepted changes reach {@code inventory_items},
+ * the reservations table and the outbox asynchronously, and stock changed directly in the
+ * database flows back into the ledger on reconciliation.
+ */
+public interface StockLedger {
+    
+    enum Status {
+        RESERVED,
+        // Nothing was reserved because a managed product has too little available
+        UNAVAILABLE,
+        // None of the products are managed by the ledger
+        UNMANAGED
+    }
+    
+    /**
+     * {@code unmanaged} lists the products that were left out and still need reserving
+     * elsewhere; {@code unavailable} is only filled when the status is UNAVAILABLE.
+     */
+    record Outcome(Status status, Set<ProductId> unmanaged, List<ProductId> unavailable) {
+    }
+    
+    /**
+     * Reserves every reservation whose product is managed, or none of them when any managed
+     * product has too little available, in one atomic step.
+     */
+    Mono<Outcome> reserve(OrderId orderId, List<InventoryReservation> reservations);
+    
+    /**
+     * Returns the stock of reservations accepted by {@link #reserve}, for orders whose other
+     * products could not be reserved.
+     */
+    Mono<Void> release(OrderId orderId, List<InventoryReservation> reservations);
+    
+    /**
+     * Starts managing the given items, seeded with their current counters. Items that are
+     * already managed keep their ledger counters. Emits the number of items added.
+     */
+    Mono<Integer> manage(List<InventoryItem> items);
+    
+    /**
+     * Stops managing the given products; their reservations go back to the database.
+     * Emits the number of products removed.
+     */
+    Mono<Integer> unmanage(List<ProductId> productIds);
+}
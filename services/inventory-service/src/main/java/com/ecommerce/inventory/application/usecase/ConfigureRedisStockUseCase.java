@@ -0,0 +1,52 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/ConfigureRedisStockUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.inventory.application.service.StockLedger;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Switches the items of a category in and out of the stock ledger, for categories whose
+ * reservation load is too high for row locking, such as those in a flash sale. Switching a
+ * category off while its reservations are still being written to the database can briefly
+ * oversell it, so do it once the sale is over.
+ */
+@Service
+@Slf4j
+public class ConfigureRedisStockUseCase {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final Optional<StockLedger> stockLedger;
+    
+    public ConfigureRedisStockUseCase(InventoryItemRepository inventoryItemRepository,
+                                      Optional<StockLedger> stockLedger) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.stockLedger = stockLedger;
+    }
+    
+    public Mono<Integer> enable(String category) {
+        return ledger().flatMap(ledger -> inventoryItemRepository.findByCategory(category)
+            .collectList()
+            .flatMap(ledger::manage)
+            .doOnNext(added -> log.info("Moved {} items of category {} to the stock ledger", added, category)));
+    }
+    
+    public Mono<Integer> disable(String category) {
+        return ledger().flatMap(ledger -> inventoryItemRepository.findByCategory(category)
+            .map(InventoryItem::getProductId)
+            .collectList()
+            .flatMap(ledger::unmanage)
+            .doOnNext(removed -> log.info("Moved {} items of category {} back to the database", removed, category)));
+    }
+    
+    private Mono<StockLedger> ledger() {
+        return Mono.justOrEmpty(stockLedger)
+            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Redis stock mode is not enabled")));
+    }
+}
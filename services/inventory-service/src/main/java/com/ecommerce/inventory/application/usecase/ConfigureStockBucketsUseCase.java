@@ -0,0 +1,54 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/ConfigureStockBucketsUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Switches an item in and out of hot SKU mode, where its available stock is split into
+ * buckets that are reserved from concurrently. Striping an item that is already striped
+ * redistributes its stock into the new number of buckets.
+ */
+@Service
+@Slf4j
+public class ConfigureStockBucketsUseCase {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxBuckets;
+    
+    public ConfigureStockBucketsUseCase(@Value("${inventory.stock-buckets.max:64}") int maxBuckets,
+                                        InventoryItemRepository inventoryItemRepository,
+                                        TransactionalOperator transactionalOperator) {
+        this.maxBuckets = maxBuckets;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+    
+    public Mono<InventoryItem> stripe(ProductId productId, int buckets) {
+        if (buckets < 2 || buckets > maxBuckets) {
+            return Mono.error(new BusinessRuleViolationException(
+                String.format("Stock bucket count must be between 2 and %d", maxBuckets)));
+        }
+        
+        return apply(productId, inventoryItemRepository.stripeStock(productId, buckets));
+    }
+    
+    public Mono<InventoryItem> unstripe(ProductId productId) {
+        return apply(productId, inventoryItemRepository.unstripeStock(productId));
+    }
+    
+    private Mono<InventoryItem> apply(ProductId productId, Mono<Boolean> change) {
+        return transactionalOperator.transactional(change)
+            .flatMap(found -> found
+                ? inventoryItemRepository.findByProductId(productId)
+                : Mono.error(new BusinessRuleViolationException("Inventory item not found for product: " + productId.getValue())));
+    }
+}
@@ -0,0 +1,114 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/ExpireReservationsUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.application.service.ReservationEngine;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Expires a batch of reservations whose deadline has passed and returns their stock. Marking
+ * the reservations, releasing the quantities and recording the release events commit together,
+ * and reservations that were confirmed or released in the meantime are skipped.
+ * <p>
+ * With a {@link ReservationEngine} the stock of each reservation is returned through the
+ * engine instead, since it owns the counters of the products it serves. Each reservation is
+ * then expired in the engine's batch transaction, and one that is no longer active leaves
+ * the counters untouched.
+ */
+@Service
+@Slf4j
+public class ExpireReservationsUseCase {
+    
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final Optional<ReservationEngine> reservationEngine;
+    private final MeterRegistry meterRegistry;
+    
+    public ExpireReservationsUseCase(InventoryReservationRepository reservationRepository,
+                                     InventoryItemRepository inventoryItemRepository,
+                                     InventoryEventPublisher eventPublisher,
+                                     TransactionalOperator transactionalOperator,
+                                     Optional<ReservationEngine> reservationEngine,
+                                     MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.reservationEngine = reservationEngine;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public Mono<Integer> execute(List<String> reservationIds, Instant now) {
+        Mono<Integer> outcome = reservationEngine
+            .map(engine -> expireThroughEngine(engine, reservationIds, now))
+            .orElseGet(() -> transactionalOperator.transactional(
+                reservationRepository.expireIfDue(reservationIds, now)
+                    .collectList()
+                    .flatMap(this::releaseStock)));
+        
+        return outcome
+            .doOnNext(expired -> {
+                meterRegistry.counter("inventory.reservations.expired").increment(expired);
+                log.debug("Expired {} of {} due reservations", expired, reservationIds.size());
+            });
+    }
+    
+    private Mono<Integer> expireThroughEngine(ReservationEngine engine, List<String> reservationIds, Instant now) {
+        return Flux.fromIterable(reservationIds)
+            .flatMap(reservationRepository::findByReservationId)
+            .filter(InventoryReservation::isActive)
+            .flatMap(reservation -> engine.release(reservation.getProductId(), reservation.getQuantity(),
+                    // Empty when the reservation was confirmed or released after it was read
+                    Mono.defer(() -> reservationRepository.expireIfDue(List.of(reservation.getReservationId()), now)
+                        .next()
+                        .flatMap(expired -> eventPublisher.publishInventoryReleased(List.of(releasedEvent(expired)))
+                            .thenReturn(expired)))))
+            // A failed batch is retried as a whole; reservations already expired are skipped then
+            .count()
+            .map(Long::intValue);
+    }
+    
+    private Mono<Integer> releaseStock(List<InventoryReservation> expired) {
+        if (expired.isEmpty()) {
+            return Mono.just(0);
+        }
+        
+        Map<ProductId, Integer> quantities = new HashMap<>();
+        expired.forEach(reservation -> quantities.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum));
+        List<InventoryReleasedEvent> events = expired.stream()
+            .map(ExpireReservationsUseCase::releasedEvent)
+            .toList();
+        
+        return inventoryItemRepository.releaseReserved(quantities)
+            .then(eventPublisher.publishInventoryReleased(events))
+            .thenReturn(expired.size());
+    }
+    
+    private static InventoryReleasedEvent releasedEvent(InventoryReservation reservation) {
+        return new InventoryReleasedEvent(
+            reservation.getOrderId(),
+            reservation.getProductId(),
+            reservation.getQuantity(),
+            reservation.getReservationId(),
+            ReservationStatus.EXPIRED);
+    }
+}
@@ -0,0 +1,38 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/GetProductAvailabilityUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.dto.ProductAvailability;
+import com.ecommerce.inventory.application.service.ProductAvailabilityCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Stock status of every product on a catalog or search page in one call. Products without
+ * inventory are left out of the result.
+ */
+@Service
+public class GetProductAvailabilityUseCase {
+    
+    private final ProductAvailabilityCache availabilityCache;
+    private final int maxProducts;
+    
+    public GetProductAvailabilityUseCase(@Value("${inventory.availability.max-products:500}") int maxProducts,
+                                         ProductAvailabilityCache availabilityCache) {
+        this.maxProducts = maxProducts;
+        this.availabilityCache = availabilityCache;
+    }
+    
+    public Mono<List<ProductAvailability>> execute(List<ProductId> productIds) {
+        if (productIds.isEmpty() || productIds.size() > maxProducts) {
+            return Mono.error(new BusinessRuleViolationException(
+                String.format("An availability query needs between 1 and %d products", maxProducts)));
+        }
+        
+        return availabilityCache.get(productIds.stream().distinct().toList());
+    }
+}
@@ -0,0 +1,128 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/ReserveInventoryUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.application.service.ReservationEngine;
+import com.ecommerce.inventory.application.service.StockLedger;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.event.InventoryReservationFailedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reserves stock for an order line without reading the item first. The conditional
+ * decrement, the reservation row and the outbox event commit in one transaction, so a
+ * reservation exists exactly when its stock was taken. Contending reservations for the same
+ * product serialize on the row lock held by the update instead of racing a read. When a
+ * {@link ReservationEngine} is configured it takes the place of the conditional update and
+ * commits the reservation row with its batch. Products managed by the {@link StockLedger}
+ * are reserved there instead, and their row and event are written asynchronously.
+ */
+@Service
+@Slf4j
+public class ReserveInventoryUseCase {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final Optional<ReservationEngine> reservationEngine;
+    private final Optional<StockLedger> stockLedger;
+    private final MeterRegistry meterRegistry;
+    private final Duration reservationTtl;
+    
+    public ReserveInventoryUseCase(@Value("${inventory.reservation.ttl:15m}") Duration reservationTtl,
+                                   InventoryItemRepository inventoryItemRepository,
+                                   InventoryReservationRepository reservationRepository,
+                                   InventoryEventPublisher eventPublisher,
+                                   TransactionalOperator transactionalOperator,
+                                   Optional<ReservationEngine> reservationEngine,
+                                   Optional<StockLedger> stockLedger,
+                                   MeterRegistry meterRegistry) {
+        this.reservationTtl = reservationTtl;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.reservationEngine = reservationEngine;
+        this.stockLedger = stockLedger;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public Mono<InventoryReservation> execute(OrderId orderId, ProductId productId, int quantity) {
+        if (quantity <= 0) {
+            return Mono.error(new BusinessRuleViolationException("Reservation quantity must be positive"));
+        }
+        
+        Mono<InventoryReservation> outcome = stockLedger
+            .map(ledger -> reserveInLedger(ledger, orderId, productId, quantity))
+            .orElseGet(() -> reserveInDatabase(orderId, productId, quantity));
+        
+        return outcome
+            .doOnNext(reservation -> meterRegistry.counter("inventory.reservations", "result", "reserved").increment())
+            .switchIfEmpty(Mono.defer(() -> rejectReservation(orderId, productId, quantity)));
+    }
+    
+    private Mono<InventoryReservation> reserveInLedger(StockLedger ledger, OrderId orderId,
+                                                       ProductId productId, int quantity) {
+        InventoryReservation reservation = new InventoryReservation(
+            UUID.randomUUID().toString(), orderId, productId, quantity, Instant.now().plus(reservationTtl));
+        
+        return ledger.reserve(orderId, List.of(reservation))
+            .flatMap(result -> switch (result.status()) {
+                case RESERVED -> Mono.just(reservation)
+                    .doOnNext(reserved -> log.info("Reserved {} of product {} for order {} in the stock ledger",
+                        quantity, productId, orderId));
+                case UNAVAILABLE -> Mono.<InventoryReservation>empty();
+                case UNMANAGED -> reserveInDatabase(orderId, productId, quantity);
+            });
+    }
+    
+    private Mono<InventoryReservation> reserveInDatabase(OrderId orderId, ProductId productId, int quantity) {
+        return reservationEngine
+            .map(engine -> engine.reserve(productId, quantity,
+                Mono.defer(() -> recordReservation(orderId, productId, quantity))))
+            .orElseGet(() -> transactionalOperator.transactional(
+                inventoryItemRepository.reserveIfAvailable(productId, quantity)
+                    .flatMap(reserved -> reserved
+                        ? recordReservation(orderId, productId, quantity)
+                        : Mono.empty())));
+    }
+    
+    private Mono<InventoryReservation> recordReservation(OrderId orderId, ProductId productId, int quantity) {
+        InventoryReservation reservation = new InventoryReservation(
+            UUID.randomUUID().toString(), orderId, productId, quantity, Instant.now().plus(reservationTtl));
+        
+        return reservationRepository.save(reservation)
+            .flatMap(saved -> eventPublisher.publishInventoryReserved(new InventoryReservedEvent(
+                    orderId, productId, quantity, saved.getReservationId()))
+                .thenReturn(saved))
+            .doOnSuccess(saved -> log.info("Reserved {} of product {} for order {}", quantity, productId, orderId));
+    }
+    
+    private Mono<InventoryReservation> rejectReservation(OrderId orderId, ProductId productId, int quantity) {
+        meterRegistry.counter("inventory.reservations", "result", "insufficient").increment();
+        log.info("Insufficient inventory to reserve {} of product {} for order {}", quantity, productId, orderId);
+        
+        return eventPublisher.publishInventoryReservationFailed(new InventoryReservationFailedEvent(
+                orderId, List.of(productId), "Insufficient inventory"))
+            .then(Mono.error(new BusinessRuleViolationException(
+                String.format("Insufficient inventory for product %s. Requested: %d", productId.getValue(), quantity))));
+    }
+}
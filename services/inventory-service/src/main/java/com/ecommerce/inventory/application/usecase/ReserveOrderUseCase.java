@@ -0,0 +1,279 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/application/usecase/ReserveOrderUseCase.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.dto.OrderReservationResult;
+import com.ecommerce.inventory.application.dto.ReservationLine;
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.application.service.ReservationEngine;
+import com.ecommerce.inventory.application.service.StockLedger;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservationFailedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves every line of an order or none of them. Stock for all lines is taken with one
+ * locking read and one update, the reservation rows are written with one insert and their
+ * events with one outbox insert, so the number of round trips does not grow with the line
+ * count. When any line cannot be covered the transaction rolls back and every failing line
+ * is reported.
+ * <p>
+ * With a {@link ReservationEngine}, which owns the counters of the products it serves, each
+ * product of the order is reserved through the engine together with its reservation rows.
+ * The engine commits products on their own partitions, so when any product cannot be covered
+ * the stock taken for the others is released through the engine again and their reservations
+ * are marked released. Stock that cannot be returned then is released when the reservations
+ * expire.
+ * <p>
+ * With a {@link StockLedger}, the lines for managed products are reserved there in one
+ * atomic step and the remaining lines go through the database as above. When the database
+ * part fails, the stock taken in the ledger is returned.
+ */
+@Service
+@Slf4j
+public class ReserveOrderUseCase {
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final Optional<ReservationEngine> reservationEngine;
+    private final Optional<StockLedger> stockLedger;
+    private final MeterRegistry meterRegistry;
+    private final Duration reservationTtl;
+    private final int maxLines;
+    
+    public ReserveOrderUseCase(@Value("${inventory.reservation.ttl:15m}") Duration reservationTtl,
+                               @Value("${inventory.reservation.max-order-lines:200}") int maxLines,
+                               InventoryItemRepository inventoryItemRepository,
+                               InventoryReservationRepository reservationRepository,
+                               InventoryEventPublisher eventPublisher,
+                               TransactionalOperator transactionalOperator,
+                               Optional<ReservationEngine> reservationEngine,
+                               Optional<StockLedger> stockLedger,
+                               MeterRegistry meterRegistry) {
+        this.reservationTtl = reservationTtl;
+        this.maxLines = maxLines;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+        this.reservationEngine = reservationEngine;
+        this.stockLedger = stockLedger;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public Mono<OrderReservationResult> execute(OrderId orderId, List<ReservationLine> lines) {
+        if (lines.isEmpty() || lines.size() > maxLines) {
+            return Mono.error(new BusinessRuleViolationException(
+                String.format("An order reservation needs between 1 and %d lines", maxLines)));
+        }
+        if (lines.stream().anyMatch(line -> line.getQuantity() <= 0)) {
+            return Mono.error(new BusinessRuleViolationException("Reservation quantity must be positive"));
+        }
+        
+        Instant expiresAt = Instant.now().plus(reservationTtl);
+        List<InventoryReservation> reservations = lines.stream()
+            .map(line -> new InventoryReservation(
+                UUID.randomUUID().toString(), orderId, line.getProductId(), line.getQuantity(), expiresAt))
+            .toList();
+        
+        Mono<OrderReservationResult> outcome = stockLedger
+            .map(ledger -> ledger.reserve(orderId, reservations)
+                .flatMap(result -> switch (result.status()) {
+                    case RESERVED -> reserveRemainder(ledger, orderId, lines, reservations, result.unmanaged());
+                    case UNAVAILABLE -> rejectOrder(orderId, lines, result.unavailable());
+                    case UNMANAGED -> reserveInDatabase(orderId, lines, reservations);
+                }))
+            .orElseGet(() -> reserveInDatabase(orderId, lines, reservations));
+        
+        return outcome.doOnNext(result -> {
+            if (result.isReserved()) {
+                meterRegistry.counter("inventory.order-reservations", "result", "reserved").increment();
+                log.info("Reserved {} lines for order {}", result.getReservations().size(), orderId);
+            }
+        });
+    }
+    
+    private Mono<OrderReservationResult> reserveInDatabase(OrderId orderId, List<ReservationLine> lines,
+                                                           List<InventoryReservation> reservations) {
+        if (reservationEngine.isPresent()) {
+            return reserveThroughEngine(reservationEngine.get(), orderId, lines, reservations);
+        }
+        
+        // Lines for the same product share one stock update but keep their own reservations
+        Map<ProductId, Integer> quantities = new LinkedHashMap<>();
+        reservations.forEach(reservation -> quantities.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum));
+        
+        return transactionalOperator.transactional(
+                inventoryItemRepository.reserveAllIfAvailable(quantities)
+                    .flatMap(unavailable -> unavailable.isEmpty()
+                        ? recordReservations(orderId, reservations)
+                        : Mono.error(new LinesUnavailableException(unavailable))))
+            .map(saved -> OrderReservationResult.reserved(orderId, saved))
+            .onErrorResume(LinesUnavailableException.class,
+                error -> rejectOrder(orderId, lines, error.unavailable));
+    }
+    
+    private Mono<OrderReservationResult> reserveThroughEngine(ReservationEngine engine, OrderId orderId,
+                                                              List<ReservationLine> lines,
+                                                              List<InventoryReservation> reservations) {
+        return Flux.fromIterable(byProduct(reservations).entrySet())
+            .flatMap(product -> engine.reserve(product.getKey(), totalQuantity(product.getValue()),
+                    Mono.defer(() -> recordReservations(orderId, product.getValue())))
+                .map(saved -> new ProductOutcome(product.getKey(), saved, null))
+                .defaultIfEmpty(new ProductOutcome(product.getKey(), List.of(), null))
+                .onErrorResume(error -> Mono.just(new ProductOutcome(product.getKey(), List.of(), error))))
+            .collectList()
+            .flatMap(outcomes -> {
+                List<InventoryReservation> saved = outcomes.stream()
+                    .flatMap(outcome -> outcome.saved().stream())
+                    .toList();
+                Optional<Throwable> failure = outcomes.stream()
+                    .map(ProductOutcome::error)
+                    .filter(Objects::nonNull)
+                    .findFirst();
+                List<ProductId> unavailable = outcomes.stream()
+                    .filter(outcome -> outcome.saved().isEmpty() && outcome.error() == null)
+                    .map(ProductOutcome::productId)
+                    .toList();
+                
+                if (failure.isEmpty() && unavailable.isEmpty()) {
+                    return Mono.just(OrderReservationResult.reserved(orderId, saved));
+                }
+                Mono<Void> released = releaseThroughEngine(engine, orderId, saved);
+                return failure
+                    .map(error -> released.then(Mono.<OrderReservationResult>error(error)))
+                    .orElseGet(() -> released.then(rejectOrder(orderId, lines, unavailable)));
+            });
+    }
+    
+    private Mono<Void> releaseThroughEngine(ReservationEngine engine, OrderId orderId, List<InventoryReservation> saved) {
+        return Flux.fromIterable(byProduct(saved).entrySet())
+            .flatMap(product -> engine.release(product.getKey(), totalQuantity(product.getValue()),
+                    Mono.defer(() -> markReleased(orderId, product.getValue())))
+                .onErrorResume(error -> {
+                    log.error("Failed to return stock of product {} for order {}, it returns when the reservations expire",
+                        product.getKey(), orderId, error);
+                    return Mono.empty();
+                }))
+            .then();
+    }
+    
+    private Mono<List<InventoryReservation>> markReleased(OrderId orderId, List<InventoryReservation> reservations) {
+        return Flux.fromIterable(reservations)
+            .concatMap(reservation -> {
+                reservation.release();
+                return reservationRepository.save(reservation);
+            })
+            .collectList()
+            .flatMap(released -> eventPublisher.publishInventoryReleased(released.stream()
+                    .map(reservation -> new InventoryReleasedEvent(
+                        orderId, reservation.getProductId(), reservation.getQuantity(),
+                        reservation.getReservationId(), ReservationStatus.RELEASED))
+                    .toList())
+                .thenReturn(released));
+    }
+    
+    private Mono<OrderReservationResult> reserveRemainder(StockLedger ledger, OrderId orderId, List<ReservationLine> lines,
+                                                          List<InventoryReservation> reservations, Set<ProductId> unmanaged) {
+        if (unmanaged.isEmpty()) {
+            return Mono.just(OrderReservationResult.reserved(orderId, reservations));
+        }
+        
+        Map<Boolean, List<InventoryReservation>> byLedger = reservations.stream()
+            .collect(Collectors.partitioningBy(reservation -> !unmanaged.contains(reservation.getProductId())));
+        List<InventoryReservation> inLedger = byLedger.get(true);
+        
+        return reserveInDatabase(orderId, lines, byLedger.get(false))
+            .onErrorResume(error -> ledger.release(orderId, inLedger).then(Mono.error(error)))
+            .flatMap(result -> {
+                if (!result.isReserved()) {
+                    return ledger.release(orderId, inLedger).thenReturn(result);
+                }
+                List<InventoryReservation> all = new ArrayList<>(inLedger);
+                all.addAll(result.getReservations());
+                return Mono.just(OrderReservationResult.reserved(orderId, all));
+            });
+    }
+    
+    private Mono<List<InventoryReservation>> recordReservations(OrderId orderId, List<InventoryReservation> reservations) {
+        return reservationRepository.insertAll(reservations)
+            .collectList()
+            .flatMap(saved -> eventPublisher.publishInventoryReserved(saved.stream()
+                    .map(reservation -> new InventoryReservedEvent(
+                        orderId, reservation.getProductId(), reservation.getQuantity(), reservation.getReservationId()))
+                    .toList())
+                .thenReturn(saved));
+    }
+    
+    private static Map<ProductId, List<InventoryReservation>> byProduct(List<InventoryReservation> reservations) {
+        return reservations.stream()
+            .collect(Collectors.groupingBy(InventoryReservation::getProductId, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    private static int totalQuantity(List<InventoryReservation> reservations) {
+        return reservations.stream().mapToInt(InventoryReservation::getQuantity).sum();
+    }
+    
+    private Mono<OrderReservationResult> rejectOrder(OrderId orderId, List<ReservationLine> lines,
+                                                     List<ProductId> unavailable) {
+        meterRegistry.counter("inventory.order-reservations", "result", "insufficient").increment();
+        log.info("Insufficient inventory for {} of {} products in order {}", unavailable.size(), lines.size(), orderId);
+        
+        Set<ProductId> failedProducts = new HashSet<>(unavailable);
+        List<ReservationLine> failedLines = lines.stream()
+            .filter(line -> failedProducts.contains(line.getProductId()))
+            .toList();
+        
+        return eventPublisher.publishInventoryReservationFailed(new InventoryReservationFailedEvent(
+                orderId, unavailable, "Insufficient inventory"))
+            .thenReturn(OrderReservationResult.rejected(orderId, failedLines));
+    }
+    
+    /**
+     * What the engine did with one product of an order: its saved reservations, none when the
+     * stock was unavailable, or the error that failed it.
+     */
+    private record ProductOutcome(ProductId productId, List<InventoryReservation> saved, Throwable error) {
+    }
+    
+    /**
+     * Rolls the reservation transaction back; stock already taken for the other lines is returned.
+     */
+    private static final class LinesUnavailableException extends RuntimeException {
+        
+        private final List<ProductId> unavailable;
+        
+        LinesUnavailableException(List<ProductId> unavailable) {
+            super("Insufficient inventory for " + unavailable.size() + " products", null, false, false);
+            this.unavailable = unavailable;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
 import com.ecommerce.domain.common.valueobject.ProductId;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -73,6 +74,19 @@ public class InventoryItem extends BaseEntity {
     @Column("is_active")
     private Boolean isActive;
     
+    // Stock held in striped buckets for hot SKUs; read from the stock view, never written with the item
+    @ReadOnlyProperty
+    @Column("striped_available")
+    private Integer stripedAvailable;
+    
+    @ReadOnlyProperty
+    @Column("striped_reserved")
+    private Integer stripedReserved;
+    
+    @ReadOnlyProperty
+    @Column("stock_buckets")
+    private Integer stockBuckets;
+    
     protected InventoryItem() {
         super();
     }
@@ -145,7 +159,7 @@ public class InventoryItem extends BaseEntity {
             throw new BusinessRuleViolationException("Stock addition quantity must be positive");
         }
         
-        Integer newTotal = quantityAvailable + quantityReserved + quantity;
+        Integer newTotal = getTotalQuantity() + quantity;
         if (newTotal > maxStockLevel) {
             throw new BusinessRuleViolationException(
                 String.format("Adding stock would exceed maximum level. Max: %d, New Total: %d", 
@@ -178,19 +192,31 @@ public class InventoryItem extends BaseEntity {
     }
     
     public boolean isLowStock() {
-        return quantityAvailable <= reorderLevel;
+        return getTotalAvailable() <= reorderLevel;
     }
     
     public boolean isOutOfStock() {
-        return quantityAvailable <= 0;
+        return getTotalAvailable() <= 0;
+    }
+    
+    public boolean isStriped() {
+        return stockBuckets != null && stockBuckets > 0;
+    }
+    
+    public Integer getTotalAvailable() {
+        return quantityAvailable + (stripedAvailable == null ? 0 : stripedAvailable);
+    }
+    
+    public Integer getTotalReserved() {
+        return quantityReserved + (stripedReserved == null ? 0 : stripedReserved);
     }
     
     public Integer getTotalQuantity() {
-        return quantityAvailable + quantityReserved;
+        return getTotalAvailable() + getTotalReserved();
     }
     
     public boolean canReserve(Integer quantity) {
-        return isActive && quantityAvailable >= quantity;
+        return isActive && getTotalAvailable() >= quantity;
     }
     
     private void validateInventoryData(Integer initialQuantity, Integer reorderLevel, Integer maxStockLevel) {
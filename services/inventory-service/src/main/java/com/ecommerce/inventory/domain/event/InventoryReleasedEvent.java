@@ -0,0 +1,35 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/domain/event/InventoryReleasedEvent.java
+package com.ecommerce.inventory.domain.event;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class InventoryReleasedEvent extends DomainEvent {
+    
+    private final OrderId orderId;
+    private final ProductId productId;
+    private final Integer quantity;
+    private final String reservationId;
+    private final ReservationStatus reason;
+    
+    public InventoryReleasedEvent(OrderId orderId, ProductId productId, Integer quantity,
+                                  String reservationId, ReservationStatus reason) {
+        super();
+        this.orderId = orderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.reservationId = reservationId;
+        this.reason = reason;
+    }
+    
+    @Override
+    public String getAggregateId() {
+        return productId.getValue();
+    }
+}
@@ -7,11 +7,47 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 
 public interface InventoryItemRepository {
     
     Mono<InventoryItem> save(InventoryItem item);
     
+    /**
+     * Moves {@code quantity} from available to reserved in one conditional update, so
+     * concurrent reservations can never take the available quantity below zero. Striped
+     * items are reserved from a single stock bucket. Emits false when the item is inactive
+     * or has less than {@code quantity} available.
+     */
+    Mono<Boolean> reserveIfAvailable(ProductId productId, int quantity);
+    
+    /**
+     * Reserves every product in {@code quantities} or reports which ones cannot be covered.
+     * Item rows are locked in product id order, so orders sharing products cannot deadlock.
+     * Must run in a transaction that the caller rolls back when any product is returned,
+     * since the products that could be covered have already been reserved.
+     */
+    Mono<List<ProductId>> reserveAllIfAvailable(Map<ProductId, Integer> quantities);
+    
+    /**
+     * Moves reserved quantities back to available through {@link InventoryItem#releaseReservation}
+     * on rows locked in product id order. Must run in a transaction.
+     */
+    Mono<Void> releaseReserved(Map<ProductId, Integer> quantities);
+    
+    /**
+     * Moves the available quantity of an item into {@code buckets} stock buckets that are
+     * reserved from independently, for SKUs whose single row becomes a lock hotspot.
+     * Must run in a transaction. Emits false when the item does not exist.
+     */
+    Mono<Boolean> stripeStock(ProductId productId, int buckets);
+    
+    /**
+     * Folds the stock buckets of an item back into its row. Must run in a transaction.
+     * Emits false when the item does not exist.
+     */
+    Mono<Boolean> unstripeStock(ProductId productId);
+    
     Mono<InventoryItem> findById(String id);
     
     Mono<InventoryItem> findByProductId(ProductId productId);
@@ -0,0 +1,36 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/domain/repository/InventoryReservationRepository.java
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface InventoryReservationRepository {
+    
+    Mono<InventoryReservation> save(InventoryReservation reservation);
+    
+    /**
+     * Inserts all reservations with one multi-row statement.
+     */
+    Flux<InventoryReservation> insertAll(List<InventoryReservation> reservations);
+    
+    /**
+     * Marks the given reservations expired if they are still active and their deadline is not
+     * after {@code now}, emitting only those that changed.
+     */
+    Flux<InventoryReservation> expireIfDue(List<String> reservationIds, Instant now);
+    
+    /**
+     * Streams the id, product and deadline of every reservation with the status.
+     */
+    Flux<InventoryReservation> findByStatus(ReservationStatus status);
+    
+    Mono<InventoryReservation> findByReservationId(String reservationId);
+    
+    Flux<InventoryReservation> findByOrderId(OrderId orderId);
+}
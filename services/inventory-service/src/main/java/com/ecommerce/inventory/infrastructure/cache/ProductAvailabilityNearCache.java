@@ -0,0 +1,151 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/cache/ProductAvailabilityNearCache.java
+package com.ecommerce.inventory.infrastructure.cache;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.dto.ProductAvailability;
+import com.ecommerce.inventory.application.service.ProductAvailabilityCache;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import com.ecommerce.inventory.infrastructure.messaging.InventoryChangeFeed;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process availability cache, kept current by the {@link InventoryChangeFeed}. Products
+ * without inventory are cached as absent, so unknown ids on listing pages do not reach the
+ * database either. Misses of one request are loaded with a single query, and a product that
+ * is already being loaded for another request waits for that load instead of querying again.
+ * A load only fills the cache for products that were not changed while it ran; the TTL
+ * bounds staleness should a notification be lost.
+ */
+@Component
+@Slf4j
+public class ProductAvailabilityNearCache implements ProductAvailabilityCache {
+    
+    private final Cache<String, Optional<ProductAvailability>> cache;
+    private final Map<String, Mono<Optional<ProductAvailability>>> loads = new ConcurrentHashMap<>();
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryChangeFeed changeFeed;
+    private final DistributionSummary loadSizes;
+    
+    private Disposable subscription;
+    
+    public ProductAvailabilityNearCache(@Value("${inventory.availability.cache.maximum-size:100000}") long maximumSize,
+                                        @Value("${inventory.availability.cache.ttl:30s}") Duration ttl,
+                                        InventoryItemRepository inventoryItemRepository,
+                                        InventoryChangeFeed changeFeed,
+                                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.changeFeed = changeFeed;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "inventory.availability.near-cache");
+        this.loadSizes = DistributionSummary.builder("inventory.availability.load.size")
+            .description("Products loaded from the database per cache miss query")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void subscribe() {
+        subscription = changeFeed.changes().subscribe(this::evict);
+    }
+    
+    @PreDestroy
+    void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+    
+    @Override
+    public Mono<List<ProductAvailability>> get(List<ProductId> productIds) {
+        Map<String, Optional<ProductAvailability>> found = new ConcurrentHashMap<>();
+        Map<String, Mono<Optional<ProductAvailability>>> pending = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        
+        for (ProductId productId : productIds) {
+            String id = productId.getValue();
+            Optional<ProductAvailability> cached = cache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+                continue;
+            }
+            Mono<Optional<ProductAvailability>> inFlight = loads.get(id);
+            if (inFlight != null) {
+                pending.put(id, inFlight);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            pending.putAll(load(misses));
+        }
+        
+        return Flux.fromIterable(pending.entrySet())
+            .flatMap(entry -> entry.getValue().doOnNext(availability -> found.put(entry.getKey(), availability)))
+            .then(Mono.fromSupplier(() -> productIds.stream()
+                .map(productId -> found.getOrDefault(productId.getValue(), Optional.empty()))
+                .flatMap(Optional::stream)
+                .toList()));
+    }
+    
+    private Map<String, Mono<Optional<ProductAvailability>>> load(List<String> ids) {
+        Mono<Map<String, ProductAvailability>> query = inventoryItemRepository.findByProductIds(ids.stream().map(ProductId::of).toList())
+            .collectMap(item -> item.getProductId().getValue(), ProductAvailability::of)
+            .doOnNext(loaded -> loadSizes.record(ids.size()))
+            .cache();
+        
+        Map<String, Mono<Optional<ProductAvailability>>> entries = new HashMap<>();
+        for (String id : ids) {
+            AtomicReference<Mono<Optional<ProductAvailability>>> self = new AtomicReference<>();
+            Mono<Optional<ProductAvailability>> entry = query.map(loaded -> Optional.ofNullable(loaded.get(id)))
+                .doOnNext(availability -> {
+                    // An entry evicted during the load was changed after it may have been read
+                    if (loads.remove(id, self.get())) {
+                        cache.put(id, availability);
+                    }
+                })
+                .doOnError(error -> loads.remove(id, self.get()))
+                .cache();
+            self.set(entry);
+            
+            Mono<Optional<ProductAvailability>> concurrent = loads.putIfAbsent(id, entry);
+            entries.put(id, concurrent != null ? concurrent : entry);
+        }
+        return entries;
+    }
+    
+    private void evict(String productId) {
+        if (InventoryChangeFeed.RESYNC.equals(productId)) {
+            loads.clear();
+            cache.invalidateAll();
+            log.debug("Availability near-cache cleared after reconnecting to the change feed");
+            return;
+        }
+        loads.remove(productId);
+        cache.invalidate(productId);
+    }
+}
@@ -0,0 +1,283 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/expiry/ReservationExpiryScheduler.java
+package com.ecommerce.inventory.infrastructure.expiry;
+
+import com.ecommerce.inventory.application.usecase.ExpireReservationsUseCase;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import com.ecommerce.inventory.infrastructure.repository.R2dbcInventoryReservationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives reservation expiry from an in-memory {@link TimingWheel} instead of scanning the
+ * reservations table. Products hash to {@code shard-count} shards and each shard is owned by
+ * whichever replica holds its session advisory lock on the LISTEN connection, so the shards
+ * of a replica that dies are freed with its connection. Every replica also holds a member
+ * lock, and on each rebalance it gives up shards above its fair share of the live members and
+ * takes free shards up to it. A shard's deadlines are loaded from the active reservations when
+ * it is taken and kept current by the notification sent for every new reservation.
+ * <p>
+ * Each tick expires the keys that came due in batches; a batch that fails is retried a few
+ * seconds later. Confirmed or released reservations and those of shards given up stay in the
+ * wheel and are skipped when they come due. Expiring is idempotent, so a shard briefly
+ * processed by two replicas during a handover does no harm.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryScheduler {
+    
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    
+    private static final String TRY_LOCK_SHARD =
+        "SELECT pg_try_advisory_lock(hashtext('inventory_expiry_shard'), $1)";
+    private static final String UNLOCK_SHARD =
+        "SELECT pg_advisory_unlock(hashtext('inventory_expiry_shard'), $1)";
+    private static final String LOCK_MEMBER =
+        "SELECT pg_advisory_lock(hashtext('inventory_expiry_member'), $1)";
+    // Two-key advisory locks show up with the first key in classid and objsubid 2
+    private static final String COUNT_MEMBERS =
+        "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND granted AND objsubid = 2 " +
+        "AND classid = CAST(hashtext('inventory_expiry_member') AS oid) " +
+        "AND database = (SELECT oid FROM pg_database WHERE datname = current_database())";
+    
+    private final ConnectionFactory connectionFactory;
+    private final InventoryReservationRepository reservationRepository;
+    private final ExpireReservationsUseCase expireReservationsUseCase;
+    private final Duration tick;
+    private final Duration rebalanceInterval;
+    private final int shardCount;
+    private final int batchSize;
+    private final TimingWheel<ScheduledExpiry> wheel;
+    // Shards whose lock the current LISTEN connection holds
+    private final Set<Integer> ownedShards = ConcurrentHashMap.newKeySet();
+    
+    private Disposable listener;
+    private Disposable ticker;
+    
+    public ReservationExpiryScheduler(@Value("${inventory.reservation.expiry.tick:1s}") Duration tick,
+                                      @Value("${inventory.reservation.expiry.wheel-levels:4}") int wheelLevels,
+                                      @Value("${inventory.reservation.expiry.shard-count:16}") int shardCount,
+                                      @Value("${inventory.reservation.expiry.rebalance-interval:10s}") Duration rebalanceInterval,
+                                      @Value("${inventory.reservation.expiry.batch-size:500}") int batchSize,
+                                      ConnectionFactory connectionFactory,
+                                      InventoryReservationRepository reservationRepository,
+                                      ExpireReservationsUseCase expireReservationsUseCase,
+                                      MeterRegistry meterRegistry) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Expiry shard count must be positive");
+        }
+        this.tick = tick;
+        this.rebalanceInterval = rebalanceInterval;
+        this.shardCount = shardCount;
+        this.batchSize = batchSize;
+        this.connectionFactory = connectionFactory;
+        this.reservationRepository = reservationRepository;
+        this.expireReservationsUseCase = expireReservationsUseCase;
+        this.wheel = new TimingWheel<>(tick, wheelLevels, System.currentTimeMillis());
+        
+        Gauge.builder("inventory.reservations.scheduled", this, scheduler -> scheduler.scheduledCount())
+            .description("Active reservations whose expiry this replica tracks")
+            .register(meterRegistry);
+        Gauge.builder("inventory.reservations.expiry.shards", ownedShards, Set::size)
+            .description("Expiry shards this replica owns")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void start() {
+        listener = notifications().subscribe();
+        ticker = Flux.interval(tick, tick)
+            // A slow expiry batch delays the next tick instead of queueing ticks behind it
+            .onBackpressureDrop()
+            .concatMap(unused -> expireDue(), 1)
+            .subscribe();
+        log.info("Reservation expiry started with {} shards", shardCount);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+    
+    private Mono<Void> expireDue() {
+        Instant now = Instant.now();
+        List<ScheduledExpiry> due;
+        synchronized (wheel) {
+            due = wheel.advance(now.toEpochMilli());
+        }
+        List<ScheduledExpiry> owned = due.stream()
+            .filter(expiry -> ownedShards.contains(expiry.shard()))
+            .toList();
+        if (owned.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return Flux.fromIterable(owned)
+            .buffer(batchSize)
+            .concatMap(batch -> expireReservationsUseCase.execute(
+                    batch.stream().map(ScheduledExpiry::reservationId).toList(), now)
+                .onErrorResume(error -> {
+                    log.warn("Failed to expire {} reservations, retrying in {}", batch.size(), RETRY_DELAY, error);
+                    long retryAt = now.plus(RETRY_DELAY).toEpochMilli();
+                    synchronized (wheel) {
+                        batch.forEach(expiry -> wheel.schedule(expiry, retryAt));
+                    }
+                    return Mono.empty();
+                }))
+            .then();
+    }
+    
+    private Flux<Void> notifications() {
+        // LISTEN needs a dedicated connection that stays open, so bypass the pool
+        return Flux.usingWhen(
+                Mono.from(unpooled(connectionFactory).create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + R2dbcInventoryReservationRepository.EXPIRY_CHANNEL)
+                    .execute()
+                    .flatMap(PostgresqlResult::getRowsUpdated)
+                    .then(execute(connection, LOCK_MEMBER, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE)))
+                    // Listen before taking shards, so reservations made while one loads are not missed
+                    .thenMany(Flux.merge(
+                        connection.getNotifications().doOnNext(this::onNotification).then(),
+                        Flux.interval(Duration.ZERO, rebalanceInterval)
+                            .onBackpressureDrop()
+                            .concatMap(unused -> rebalance(connection), 1)
+                            .then())),
+                // The shard locks went away with the session
+                connection -> Mono.fromRunnable(ownedShards::clear).then(connection.close()))
+            // A connection closed by the server completes the stream, which must not end expiry tracking
+            .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+            .doOnError(error -> log.warn("Reservation expiry LISTEN connection lost, reconnecting", error))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+    
+    private Mono<Void> rebalance(PostgresqlConnection connection) {
+        return execute(connection, COUNT_MEMBERS)
+            .map(members -> {
+                long live = Math.max(1, ((Number) members).longValue());
+                return (int) ((shardCount + live - 1) / live);
+            })
+            .flatMap(fairShare -> ownedShards.size() > fairShare
+                ? release(connection, ownedShards.size() - fairShare)
+                : acquire(connection, fairShare - ownedShards.size()))
+            .onErrorResume(error -> {
+                log.warn("Failed to rebalance expiry shards, retrying in {}", rebalanceInterval, error);
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Void> release(PostgresqlConnection connection, int count) {
+        List<Integer> surplus = new TreeSet<>(ownedShards).descendingSet().stream().limit(count).toList();
+        // Dropped before unlocking, so this replica stops expiring them before another takes them
+        ownedShards.removeAll(surplus);
+        return Flux.fromIterable(surplus)
+            .concatMap(shard -> execute(connection, UNLOCK_SHARD, shard))
+            .then(Mono.fromRunnable(() -> log.info("Released expiry shards {}", surplus)));
+    }
+    
+    private Mono<Void> acquire(PostgresqlConnection connection, int count) {
+        if (count == 0) {
+            return Mono.empty();
+        }
+        List<Integer> acquired = new ArrayList<>();
+        return Flux.range(0, shardCount)
+            .filter(shard -> !ownedShards.contains(shard))
+            .concatMap(shard -> execute(connection, TRY_LOCK_SHARD, shard)
+                .filter(Boolean.TRUE::equals)
+                .map(locked -> shard))
+            .take(count)
+            .doOnNext(shard -> {
+                // Owned before loading, so notifications for the shard are scheduled from now on
+                ownedShards.add(shard);
+                acquired.add(shard);
+            })
+            .then(Mono.defer(() -> acquired.isEmpty() ? Mono.empty() : rebuild(Set.copyOf(acquired))));
+    }
+    
+    private Mono<Void> rebuild(Set<Integer> shards) {
+        return reservationRepository.findByStatus(ReservationStatus.ACTIVE)
+            .filter(reservation -> reservation.getExpiresAt() != null
+                && shards.contains(shardOf(reservation.getProductId().getValue())))
+            .doOnNext(reservation -> schedule(reservation.getReservationId(), reservation.getProductId().getValue(),
+                reservation.getExpiresAt().toEpochMilli()))
+            .count()
+            .doOnNext(loaded -> log.info("Took expiry shards {} with {} active reservation deadlines", shards, loaded))
+            .then();
+    }
+    
+    private static Mono<Object> execute(PostgresqlConnection connection, String sql, Object... arguments) {
+        PostgresqlStatement statement = connection.createStatement(sql);
+        for (int i = 0; i < arguments.length; i++) {
+            statement.bind(i, arguments[i]);
+        }
+        return statement.execute()
+            .flatMap(result -> result.map((row, metadata) -> row.get(0)))
+            .next();
+    }
+    
+    private void onNotification(Notification notification) {
+        String[] fields = notification.getParameter() == null ? new String[0] : notification.getParameter().split("\\|");
+        if (fields.length != 3) {
+            log.warn("Ignoring malformed reservation notification: {}", notification.getParameter());
+            return;
+        }
+        if (ownedShards.contains(shardOf(fields[1]))) {
+            schedule(fields[0], fields[1], Long.parseLong(fields[2]));
+        }
+    }
+    
+    private void schedule(String reservationId, String productId, long deadlineMillis) {
+        synchronized (wheel) {
+            wheel.schedule(new ScheduledExpiry(reservationId, shardOf(productId)), deadlineMillis);
+        }
+    }
+    
+    private int scheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    private int shardOf(String productId) {
+        return Math.floorMod(productId.hashCode(), shardCount);
+    }
+    
+    private static ConnectionFactory unpooled(ConnectionFactory factory) {
+        ConnectionFactory target = factory;
+        while (target instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            target = inner;
+        }
+        return target;
+    }
+    
+    private record ScheduledExpiry(String reservationId, int shard) {
+    }
+}
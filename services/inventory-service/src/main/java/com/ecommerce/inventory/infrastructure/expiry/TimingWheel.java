@@ -0,0 +1,132 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/expiry/TimingWheel.java
+package com.ecommerce.inventory.infrastructure.expiry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel with {@code levels} wheels of 64 slots. Ticks are counted as
+ * base-64 digits: a deadline goes on the level of the highest digit in which it differs from
+ * the current tick, in the slot named by that digit. When the clock reaches that slot the
+ * entries are placed again and drop to a lower level, so each entry moves at most once per
+ * level and scheduling, cancelling and expiring are O(1). Deadlines beyond the top level wait
+ * in an overflow set that is revisited each time the top level turns over.
+ * <p>
+ * Deadlines are rounded up to the next tick, so keys never come due early. Not thread-safe.
+ */
+public class TimingWheel<K> {
+    
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final long SLOT_MASK = SLOTS - 1;
+    
+    private final long tickMillis;
+    private final int levels;
+    private final List<List<Set<K>>> wheels;
+    private final Set<K> overflow = new LinkedHashSet<>();
+    private final Set<K> ready = new LinkedHashSet<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+    
+    public TimingWheel(Duration tick, int levels, long nowMillis) {
+        if (levels < 1 || levels * SLOT_BITS >= Long.SIZE) {
+            throw new IllegalArgumentException("Timing wheel levels must be between 1 and 10");
+        }
+        this.tickMillis = tick.toMillis();
+        this.levels = levels;
+        this.currentTick = nowMillis / tickMillis;
+        this.wheels = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Set<K>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            wheels.add(slots);
+        }
+    }
+    
+    /**
+     * Schedules {@code key}, replacing any deadline it already has.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        place(key, -Math.floorDiv(-deadlineMillis, tickMillis));
+    }
+    
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot().remove(key);
+        return true;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Moves the clock to {@code nowMillis} and removes and returns every key that came due.
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> due = new ArrayList<>();
+        drain(ready, due);
+        
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so entries cascading through several levels land in this tick
+            for (int level = levels; level >= 1; level--) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    cascade(level == levels ? overflow : slotAt(level, currentTick));
+                }
+            }
+            drain(slotAt(0, currentTick), due);
+            drain(ready, due);
+        }
+        return due;
+    }
+    
+    private void place(K key, long deadlineTick) {
+        Set<K> slot;
+        if (deadlineTick <= currentTick) {
+            slot = ready;
+        } else {
+            int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(deadlineTick ^ currentTick)) / SLOT_BITS;
+            slot = level < levels ? slotAt(level, deadlineTick) : overflow;
+        }
+        slot.add(key);
+        entries.put(key, new Entry<>(deadlineTick, slot));
+    }
+    
+    private void cascade(Set<K> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        keys.forEach(key -> place(key, entries.get(key).deadlineTick()));
+    }
+    
+    private void drain(Set<K> slot, List<K> due) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        slot.forEach(entries::remove);
+        due.addAll(slot);
+        slot.clear();
+    }
+    
+    private Set<K> slotAt(int level, long tick) {
+        return wheels.get(level).get((int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK));
+    }
+    
+    private record Entry<K>(long deadlineTick, Set<K> slot) {
+    }
+}
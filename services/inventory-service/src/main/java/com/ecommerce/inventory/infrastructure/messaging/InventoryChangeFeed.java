@@ -0,0 +1,104 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/messaging/InventoryChangeFeed.java
+package com.ecommerce.inventory.infrastructure.messaging;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Product ids of inventory items whose stock or thresholds changed, as sent by the triggers
+ * on {@code inventory_items} and {@code inventory_stock_buckets}. Because the triggers fire
+ * for every write path, this feed sees changes no domain event is published for. Each
+ * notification lists the products one statement changed, separated by commas, and is
+ * split into single ids here; a list too long for one notification arrives as
+ * {@link #RESYNC}. Whenever the LISTEN connection is (re)established {@link #RESYNC} is
+ * emitted too, since changes made while it was down were missed.
+ */
+@Component
+@Slf4j
+public class InventoryChangeFeed {
+    
+    public static final String CHANNEL = "inventory_changes";
+    public static final String RESYNC = "*";
+    
+    private final ConnectionFactory connectionFactory;
+    private final Sinks.Many<String> changes = Sinks.many().multicast().directBestEffort();
+    
+    private Disposable listener;
+    
+    public InventoryChangeFeed(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+    
+    /**
+     * Hot stream of changed product ids. Subscribers that cannot keep up miss changes, so
+     * they should only record them and do any slow work elsewhere.
+     */
+    public Flux<String> changes() {
+        return changes.asFlux();
+    }
+    
+    @PostConstruct
+    void start() {
+        listener = notifications().subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+    
+    private Flux<Void> notifications() {
+        // LISTEN needs a dedicated connection that stays open, so bypass the pool
+        return Flux.usingWhen(
+                Mono.from(unpooled(connectionFactory).create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + CHANNEL)
+                    .execute()
+                    .flatMap(PostgresqlResult::getRowsUpdated)
+                    .thenMany(Flux.concat(
+                        Mono.fromRunnable(() -> emit(RESYNC)),
+                        connection.getNotifications().doOnNext(this::onNotification).then())),
+                PostgresqlConnection::close)
+            .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+            .doOnError(error -> log.warn("Inventory change LISTEN connection lost, reconnecting", error))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+    
+    private void onNotification(Notification notification) {
+        if (notification.getParameter() == null) {
+            return;
+        }
+        for (String productId : notification.getParameter().split(",")) {
+            if (!productId.isEmpty()) {
+                emit(productId);
+            }
+        }
+    }
+    
+    private void emit(String productId) {
+        changes.emitNext(productId, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+    
+    private static ConnectionFactory unpooled(ConnectionFactory factory) {
+        ConnectionFactory target = factory;
+        while (target instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            target = inner;
+        }
+        return target;
+    }
+}
@@ -0,0 +1,18 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/messaging/InventoryOutbox.java
+package com.ecommerce.inventory.infrastructure.messaging;
+
+import com.ecommerce.messaging.outbox.Outbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code inventory_outbox} table, relayed to Kafka by {@link InventoryOutboxRelay}.
+ */
+@Component
+public class InventoryOutbox extends Outbox {
+    
+    public InventoryOutbox(DatabaseClient databaseClient, ObjectMapper objectMapper) {
+        super("inventory_outbox", databaseClient, objectMapper);
+    }
+}
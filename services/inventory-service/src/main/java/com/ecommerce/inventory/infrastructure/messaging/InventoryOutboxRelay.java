@@ -0,0 +1,28 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/messaging/InventoryOutboxRelay.java
+package com.ecommerce.inventory.infrastructure.messaging;
+
+import com.ecommerce.messaging.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Relays {@link InventoryOutbox} to the inventory events topic.
+ */
+@Component
+public class InventoryOutboxRelay extends OutboxRelay {
+    
+    public InventoryOutboxRelay(@Value("${inventory-outbox.relay.batch-size:1000}") int batchSize,
+                                @Value("${inventory-outbox.relay.poll-interval:5s}") Duration pollInterval,
+                                InventoryOutbox outbox,
+                                ConnectionFactory connectionFactory,
+                                DatabaseClient databaseClient,
+                                KafkaInventoryEventPublisher kafkaPublisher,
+                                MeterRegistry meterRegistry) {
+        super(outbox, batchSize, pollInterval, connectionFactory, databaseClient, kafkaPublisher, meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/messaging/KafkaInventoryEventPublisher.java
+package com.ecommerce.inventory.infrastructure.messaging;
+
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxPublisher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends batches of outbox events to Kafka keyed by product id, so each product's events stay
+ * ordered on one partition. A batch completes once every record in it is acknowledged and
+ * fails if any record fails, leaving the rows in the outbox for the next attempt.
+ */
+@Component
+@Slf4j
+public class KafkaInventoryEventPublisher implements OutboxPublisher {
+    
+    private static final String INVENTORY_EVENTS_TOPIC = "inventory-events";
+    private static final String EVENT_TYPE_HEADER = "event-type";
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler sendScheduler = Schedulers.newSingle("inventory-event-publisher", true);
+    private final DistributionSummary batchSizes;
+    
+    public KafkaInventoryEventPublisher(KafkaTemplate<String, String> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSizes = DistributionSummary.builder("inventory.events.batch.size")
+            .description("Inventory events sent per publish batch")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public Mono<Void> publish(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        batchSizes.record(batch.size());
+        
+        // KafkaTemplate.send can block while the producer buffer is full, so keep it off the caller's thread
+        return Mono.defer(() -> Mono.fromFuture(CompletableFuture.allOf(batch.stream()
+                .map(this::send)
+                .toArray(CompletableFuture[]::new))))
+            .subscribeOn(sendScheduler)
+            .then();
+    }
+    
+    @PreDestroy
+    void stop() {
+        kafkaTemplate.flush();
+        sendScheduler.dispose();
+    }
+    
+    private CompletableFuture<?> send(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(INVENTORY_EVENTS_TOPIC, event.aggregateId(), event.payload());
+        record.headers().add(EVENT_TYPE_HEADER, event.eventType().getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        
+        CompletableFuture<?> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                meterRegistry.counter("inventory.events.failed", "type", event.eventType()).increment();
+                log.warn("Failed to publish {} event: {}", event.eventType(), event.aggregateId(), error);
+            } else {
+                meterRegistry.timer("inventory.events.publish.latency", "type", event.eventType())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Published {} event: {}", event.eventType(), event.aggregateId());
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/messaging/OutboxInventoryEventPublisher.java
+package com.ecommerce.inventory.infrastructure.messaging;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservationFailedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
+import com.ecommerce.inventory.domain.event.LowStockAlertEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Writes inventory events to the {@code inventory_outbox} table on the caller's R2DBC
+ * connection, so they commit or roll back with the surrounding transaction. A list of
+ * events goes in as one INSERT with one NOTIFY.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxInventoryEventPublisher implements InventoryEventPublisher {
+    
+    private final InventoryOutbox outbox;
+    
+    @Override
+    public Mono<Void> publishInventoryReserved(InventoryReservedEvent event) {
+        return append(event, "InventoryReserved");
+    }
+    
+    @Override
+    public Mono<Void> publishInventoryReserved(List<InventoryReservedEvent> events) {
+        return appendAll(events, "InventoryReserved");
+    }
+    
+    @Override
+    public Mono<Void> publishInventoryReservationFailed(InventoryReservationFailedEvent event) {
+        return append(event, "InventoryReservationFailed");
+    }
+    
+    @Override
+    public Mono<Void> publishInventoryReleased(List<InventoryReleasedEvent> events) {
+        return appendAll(events, "InventoryReleased");
+    }
+    
+    @Override
+    public Mono<Void> publishLowStockAlert(LowStockAlertEvent event) {
+        return append(event, "LowStockAlert");
+    }
+    
+    private Mono<Void> append(DomainEvent event, String eventType) {
+        return outbox.append(eventType, List.of(event))
+            .doOnSuccess(unused -> log.debug("Appended {} event to outbox: {}", eventType, event.getAggregateId()))
+            .onErrorMap(error -> new RuntimeException("Failed to append " + eventType + " event to outbox", error));
+    }
+    
+    private Mono<Void> appendAll(List<? extends DomainEvent> events, String eventType) {
+        return outbox.append(eventType, events)
+            .doOnSuccess(unused -> log.debug("Appended {} {} events to outbox", events.size(), eventType))
+            .onErrorMap(error -> new RuntimeException("Failed to append " + eventType + " events to outbox", error));
+    }
+}
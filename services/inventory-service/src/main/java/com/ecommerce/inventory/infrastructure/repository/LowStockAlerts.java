@@ -0,0 +1,124 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/repository/LowStockAlerts.java
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.event.LowStockAlertEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Alert state per product in {@code inventory_stock_alerts}, shared by all replicas. Raising
+ * an alert is a conditional upsert that only succeeds for products that are not alerted and
+ * whose last alert is older than the cooldown, so a crossing seen by several replicas is
+ * alerted once. The event is recorded in the outbox in the same transaction.
+ */
+@Component
+@Slf4j
+public class LowStockAlerts {
+    
+    private static final String RAISE =
+        "WITH raised AS (" +
+        "INSERT INTO inventory_stock_alerts (product_id, alerted, last_alert_at) " +
+        "SELECT product_id, true, now() FROM unnest(CAST(:productIds AS VARCHAR[])) AS p(product_id) " +
+        "ON CONFLICT (product_id) DO UPDATE SET alerted = true, last_alert_at = now() " +
+        "WHERE NOT inventory_stock_alerts.alerted " +
+        "AND inventory_stock_alerts.last_alert_at < now() - make_interval(secs => :cooldownSeconds) " +
+        "RETURNING product_id) " +
+        "SELECT s.* FROM inventory_item_stock s JOIN raised r ON r.product_id = s.product_id";
+    
+    private final R2dbcEntityTemplate template;
+    private final TransactionalOperator transactionalOperator;
+    private final InventoryEventPublisher eventPublisher;
+    private final Duration cooldown;
+    
+    public LowStockAlerts(@Value("${inventory.low-stock.alert.cooldown:1h}") Duration cooldown,
+                          R2dbcEntityTemplate template,
+                          TransactionalOperator transactionalOperator,
+                          InventoryEventPublisher eventPublisher) {
+        this.cooldown = cooldown;
+        this.template = template;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    public Mono<List<String>> findAlerted() {
+        return template.getDatabaseClient()
+            .sql("SELECT product_id FROM inventory_stock_alerts WHERE alerted")
+            .map(row -> row.get(0, String.class))
+            .all()
+            .collectList();
+    }
+    
+    /**
+     * Marks the given products as alerted and records a {@link LowStockAlertEvent} for each one
+     * that was armed and out of its cooldown. Emits the number of alerts raised.
+     */
+    public Mono<Integer> raise(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        
+        return transactionalOperator.transactional(
+                template.getDatabaseClient().sql(RAISE)
+                    .bind("productIds", productIds.toArray(String[]::new))
+                    .bind("cooldownSeconds", (double) cooldown.toSeconds())
+                    .map((row, metadata) -> template.getConverter().read(InventoryItem.class, row, metadata))
+                    .all()
+                    .concatMap(item -> eventPublisher.publishLowStockAlert(new LowStockAlertEvent(
+                            item.getProductId(),
+                            item.getProductName(),
+                            item.getSku(),
+                            item.getTotalAvailable(),
+                            item.getReorderLevel(),
+                            item.getWarehouseLocation()))
+                        .thenReturn(item))
+                    .count())
+            .map(Long::intValue)
+            .doOnNext(raised -> {
+                if (raised > 0) {
+                    log.info("Raised low stock alerts for {} products", raised);
+                }
+            });
+    }
+    
+    /**
+     * Records the given products as alerted without raising an alert, for products that have
+     * no alert state yet. Emits the products that were recorded.
+     */
+    public Mono<List<String>> seed(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        
+        return template.getDatabaseClient()
+            .sql("INSERT INTO inventory_stock_alerts (product_id, alerted, last_alert_at) " +
+                 "SELECT product_id, true, now() FROM unnest(CAST(:productIds AS VARCHAR[])) AS p(product_id) " +
+                 "ON CONFLICT (product_id) DO NOTHING RETURNING product_id")
+            .bind("productIds", productIds.toArray(String[]::new))
+            .map(row -> row.get(0, String.class))
+            .all()
+            .collectList();
+    }
+    
+    /**
+     * Arms the given products again once their stock has recovered.
+     */
+    public Mono<Void> rearm(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_stock_alerts SET alerted = false WHERE product_id = ANY(:productIds) AND alerted")
+            .bind("productIds", productIds.toArray(String[]::new))
+            .then();
+    }
+}
@@ -0,0 +1,370 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/repository/R2dbcInventoryItemRepository.java
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class R2dbcInventoryItemRepository implements InventoryItemRepository {
+    
+    // Items are written to inventory_items and read through a view that adds their striped bucket totals
+    private static final String STOCK_VIEW = "inventory_item_stock";
+    
+    private final R2dbcEntityTemplate template;
+    private final StripedStock stripedStock;
+    private final StockLevelIndex stockLevelIndex;
+    
+    @Override
+    public Mono<InventoryItem> save(InventoryItem item) {
+        Mono<InventoryItem> write = item.getId() == null
+            ? template.insert(item)
+            : template.update(item);
+        
+        return write
+            .doOnSuccess(saved -> log.debug("Inventory item saved: {}", saved.getSku()))
+            .doOnError(error -> log.error("Failed to save inventory item: {}", item.getSku(), error));
+    }
+    
+    @Override
+    public Mono<Boolean> reserveIfAvailable(ProductId productId, int quantity) {
+        // The availability check and the decrement are one statement, so there is no window to oversell.
+        // Striped items keep no stock on their row once drained, so they fall through to a bucket.
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_items " +
+                 "SET quantity_available = quantity_available - :quantity, " +
+                 "quantity_reserved = quantity_reserved + :quantity, " +
+                 "updated_at = now() " +
+                 "WHERE product_id = :productId AND is_active AND quantity_available >= :quantity")
+            .bind("quantity", quantity)
+            .bind("productId", productId.getValue())
+            .fetch()
+            .rowsUpdated()
+            .map(updated -> updated == 1)
+            .flatMap(reserved -> reserved ? Mono.just(true) : stripedStock.reserve(productId, quantity))
+            .doOnError(error -> log.error("Failed to reserve {} of product: {}", quantity, productId, error));
+    }
+    
+    @Override
+    public Mono<List<ProductId>> reserveAllIfAvailable(Map<ProductId, Integer> quantities) {
+        Map<String, ProductId> products = new TreeMap<>();
+        quantities.keySet().forEach(productId -> products.put(productId.getValue(), productId));
+        
+        // Rows are locked in product id order; striped items are left unlocked and reserved from a bucket
+        return template.getDatabaseClient()
+            .sql("SELECT i.product_id, i.quantity_available, i.is_active FROM inventory_items i " +
+                 "WHERE i.product_id = ANY(:productIds) " +
+                 "AND NOT EXISTS (SELECT 1 FROM inventory_stock_buckets b WHERE b.product_id = i.product_id) " +
+                 "ORDER BY i.product_id FOR UPDATE OF i")
+            .bind("productIds", products.keySet().toArray(String[]::new))
+            .map(row -> new LockedStock(
+                row.get("product_id", String.class),
+                row.get("quantity_available", Integer.class),
+                row.get("is_active", Boolean.class)))
+            .all()
+            .collectMap(LockedStock::productId)
+            .flatMap(locked -> {
+                List<ProductId> unavailable = new ArrayList<>();
+                List<ProductId> striped = new ArrayList<>();
+                Map<String, Integer> lockedQuantities = new TreeMap<>();
+                
+                products.forEach((id, productId) -> {
+                    LockedStock stock = locked.get(id);
+                    int quantity = quantities.get(productId);
+                    if (stock == null) {
+                        // Striped or unknown; the bucket path reports unknown items as unavailable
+                        striped.add(productId);
+                    } else if (!stock.active() || stock.available() < quantity) {
+                        unavailable.add(productId);
+                    } else {
+                        lockedQuantities.put(id, quantity);
+                    }
+                });
+                
+                // Striped items are tried even after a failure so the caller learns every unavailable product
+                Mono<Void> reserveLocked = unavailable.isEmpty() ? reserveLocked(lockedQuantities) : Mono.empty();
+                return reserveLocked
+                    .thenMany(Flux.fromIterable(striped)
+                        .concatMap(productId -> reserveIfAvailable(productId, quantities.get(productId))
+                            .filter(reserved -> !reserved)
+                            .map(reserved -> productId)))
+                    .collectList()
+                    .map(failed -> {
+                        unavailable.addAll(failed);
+                        return unavailable;
+                    });
+            })
+            .doOnError(error -> log.error("Failed to reserve {} products", quantities.size(), error));
+    }
+    
+    private Mono<Void> reserveLocked(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        String[] productIds = quantities.keySet().toArray(String[]::new);
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_items i " +
+                 "SET quantity_available = i.quantity_available - l.quantity, " +
+                 "quantity_reserved = i.quantity_reserved + l.quantity, " +
+                 "updated_at = now() " +
+                 "FROM unnest(CAST(:productIds AS VARCHAR[]), CAST(:quantities AS INTEGER[])) AS l(product_id, quantity) " +
+                 "WHERE i.product_id = l.product_id AND i.quantity_available >= l.quantity")
+            .bind("productIds", productIds)
+            .bind("quantities", quantities.values().toArray(Integer[]::new))
+            .fetch()
+            .rowsUpdated()
+            .handle((updated, sink) -> {
+                if (updated != productIds.length) {
+                    sink.error(new IllegalStateException("Locked inventory rows changed during a batch reservation"));
+                }
+            })
+            .then();
+    }
+    
+    @Override
+    public Mono<Void> releaseReserved(Map<ProductId, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        Map<String, Integer> released = new HashMap<>();
+        quantities.forEach((productId, quantity) -> released.put(productId.getValue(), quantity));
+        String[] productIds = released.keySet().stream().sorted().toArray(String[]::new);
+        
+        return template.getDatabaseClient()
+            .sql("SELECT * FROM inventory_items WHERE product_id = ANY(:productIds) ORDER BY product_id FOR UPDATE")
+            .bind("productIds", productIds)
+            .map((row, metadata) -> template.getConverter().read(InventoryItem.class, row, metadata))
+            .all()
+            .collectList()
+            .flatMap(items -> foldBucketReservations(productIds).flatMap(folded -> {
+                for (InventoryItem item : items) {
+                    String id = item.getProductId().getValue();
+                    item.setQuantityReserved(item.getQuantityReserved() + folded.getOrDefault(id, 0));
+                    int quantity = Math.min(released.get(id), item.getQuantityReserved());
+                    if (quantity < released.get(id)) {
+                        log.warn("Product {} has {} reserved, releasing that instead of {}", id, quantity, released.get(id));
+                    }
+                    if (quantity > 0) {
+                        item.releaseReservation(quantity);
+                    }
+                }
+                return writeCounters(items);
+            }))
+            .doOnError(error -> log.error("Failed to release reservations of {} products", quantities.size(), error));
+    }
+    
+    private Mono<Map<String, Integer>> foldBucketReservations(String[] productIds) {
+        // Reservations taken from stock buckets stay counted there until the next rebalance
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_stock_buckets b SET quantity_reserved = 0 " +
+                 "FROM (SELECT product_id, bucket, quantity_reserved FROM inventory_stock_buckets " +
+                 "WHERE product_id = ANY(:productIds) AND quantity_reserved > 0 " +
+                 "ORDER BY product_id, bucket FOR UPDATE) held " +
+                 "WHERE b.product_id = held.product_id AND b.bucket = held.bucket " +
+                 "RETURNING held.product_id, held.quantity_reserved")
+            .bind("productIds", productIds)
+            .map(row -> Map.entry(row.get("product_id", String.class), row.get("quantity_reserved", Integer.class)))
+            .all()
+            .collect(HashMap::new, (folded, entry) -> folded.merge(entry.getKey(), entry.getValue(), Integer::sum));
+    }
+    
+    private Mono<Void> writeCounters(List<InventoryItem> items) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_items i " +
+                 "SET quantity_available = c.available, quantity_reserved = c.reserved, updated_at = now() " +
+                 "FROM unnest(CAST(:productIds AS VARCHAR[]), CAST(:available AS INTEGER[]), CAST(:reserved AS INTEGER[])) " +
+                 "AS c(product_id, available, reserved) " +
+                 "WHERE i.product_id = c.product_id")
+            .bind("productIds", items.stream().map(item -> item.getProductId().getValue()).toArray(String[]::new))
+            .bind("available", items.stream().map(InventoryItem::getQuantityAvailable).toArray(Integer[]::new))
+            .bind("reserved", items.stream().map(InventoryItem::getQuantityReserved).toArray(Integer[]::new))
+            .then();
+    }
+    
+    @Override
+    public Mono<Boolean> stripeStock(ProductId productId, int buckets) {
+        return stripedStock.stripe(productId, buckets)
+            .doOnError(error -> log.error("Failed to stripe stock of product: {}", productId, error));
+    }
+    
+    @Override
+    public Mono<Boolean> unstripeStock(ProductId productId) {
+        return stripedStock.unstripe(productId)
+            .doOnError(error -> log.error("Failed to unstripe stock of product: {}", productId, error));
+    }
+    
+    @Override
+    public Mono<InventoryItem> findById(String id) {
+        return selectOne(Query.query(Criteria.where("id").is(id)))
+            .doOnError(error -> log.error("Failed to find inventory item by id: {}", id, error));
+    }
+    
+    @Override
+    public Mono<InventoryItem> findByProductId(ProductId productId) {
+        Query query = Query.query(Criteria.where("product_id").is(productId.getValue()));
+        
+        return selectOne(query)
+            .doOnError(error -> log.error("Failed to find inventory item by product: {}", productId, error));
+    }
+    
+    @Override
+    public Mono<InventoryItem> findBySku(String sku) {
+        return selectOne(Query.query(Criteria.where("sku").is(sku)))
+            .doOnError(error -> log.error("Failed to find inventory item by sku: {}", sku, error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findByWarehouseLocation(String warehouseLocation) {
+        Query query = Query.query(Criteria.where("warehouse_location").is(warehouseLocation));
+        
+        return select(query)
+            .doOnError(error -> log.error("Failed to find inventory items in warehouse: {}", warehouseLocation, error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findLowStockItems() {
+        if (stockLevelIndex.isReady()) {
+            // The index can trail the table by a batch, so the rows read back are checked again
+            return selectIndexed(stockLevelIndex.lowStockProductIds())
+                .filter(item -> Boolean.TRUE.equals(item.getIsActive()) && item.isLowStock())
+                .doOnError(error -> log.error("Failed to find low stock items", error));
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT * FROM " + STOCK_VIEW + " WHERE is_active " +
+                 "AND quantity_available + striped_available <= reorder_level")
+            .map((row, metadata) -> template.getConverter().read(InventoryItem.class, row, metadata))
+            .all()
+            .doOnError(error -> log.error("Failed to find low stock items", error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findOutOfStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return selectIndexed(stockLevelIndex.outOfStockProductIds())
+                .filter(item -> Boolean.TRUE.equals(item.getIsActive()) && item.isOutOfStock())
+                .doOnError(error -> log.error("Failed to find out of stock items", error));
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT * FROM " + STOCK_VIEW + " WHERE is_active AND quantity_available + striped_available <= 0")
+            .map((row, metadata) -> template.getConverter().read(InventoryItem.class, row, metadata))
+            .all()
+            .doOnError(error -> log.error("Failed to find out of stock items", error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findByCategory(String category) {
+        return select(Query.query(Criteria.where("category").is(category)))
+            .doOnError(error -> log.error("Failed to find inventory items in category: {}", category, error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findByProductIds(List<ProductId> productIds) {
+        if (productIds.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        List<String> ids = productIds.stream().map(ProductId::getValue).toList();
+        return select(Query.query(Criteria.where("product_id").in(ids)))
+            .doOnError(error -> log.error("Failed to find inventory items for {} products", ids.size(), error));
+    }
+    
+    @Override
+    public Flux<InventoryItem> findActiveItems() {
+        return select(Query.query(Criteria.where("is_active").isTrue()))
+            .doOnError(error -> log.error("Failed to find active inventory items", error));
+    }
+    
+    @Override
+    public Mono<Boolean> existsByProductId(ProductId productId) {
+        return template.exists(Query.query(Criteria.where("product_id").is(productId.getValue())), InventoryItem.class);
+    }
+    
+    @Override
+    public Mono<Boolean> existsBySku(String sku) {
+        return template.exists(Query.query(Criteria.where("sku").is(sku)), InventoryItem.class);
+    }
+    
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return template.getDatabaseClient()
+            .sql("DELETE FROM inventory_stock_buckets WHERE product_id IN " +
+                 "(SELECT product_id FROM inventory_items WHERE id = :id)")
+            .bind("id", id)
+            .then()
+            .then(template.delete(Query.query(Criteria.where("id").is(id)), InventoryItem.class))
+            .doOnError(error -> log.error("Failed to delete inventory item: {}", id, error))
+            .then();
+    }
+    
+    @Override
+    public Mono<Long> countLowStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return Mono.just((long) stockLevelIndex.countLowStock());
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT COUNT(*) FROM " + STOCK_VIEW + " WHERE is_active " +
+                 "AND quantity_available + striped_available <= reorder_level")
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+    
+    @Override
+    public Mono<Long> countOutOfStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return Mono.just((long) stockLevelIndex.countOutOfStock());
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT COUNT(*) FROM " + STOCK_VIEW + " WHERE is_active AND quantity_available + striped_available <= 0")
+            .map(row -> row.get(0, Long.class))
+            .one();
+    }
+    
+    private Mono<InventoryItem> selectOne(Query query) {
+        return template.select(InventoryItem.class).from(STOCK_VIEW).matching(query).one();
+    }
+    
+    private Flux<InventoryItem> select(Query query) {
+        return template.select(InventoryItem.class).from(STOCK_VIEW).matching(query).all();
+    }
+    
+    private Flux<InventoryItem> selectIndexed(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT * FROM " + STOCK_VIEW + " WHERE product_id = ANY(:productIds)")
+            .bind("productIds", productIds.toArray(String[]::new))
+            .map((row, metadata) -> template.getConverter().read(InventoryItem.class, row, metadata))
+            .all();
+    }
+    
+    private record LockedStock(String productId, int available, boolean active) {
+    }
+}
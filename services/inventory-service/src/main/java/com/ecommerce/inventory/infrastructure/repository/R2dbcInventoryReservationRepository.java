@@ -0,0 +1,155 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/repository/R2dbcInventoryReservationRepository.java
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reservations are stored in {@code inventory_reservations}. Every new active reservation is
+ * announced on {@link #EXPIRY_CHANNEL} as {@code reservationId|productId|expiresAtMillis},
+ * delivered when the inserting transaction commits, so expiry schedulers learn deadlines
+ * without polling the table.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class R2dbcInventoryReservationRepository implements InventoryReservationRepository {
+    
+    public static final String EXPIRY_CHANNEL = "inventory_reservations";
+    
+    private final R2dbcEntityTemplate template;
+    
+    @Override
+    public Mono<InventoryReservation> save(InventoryReservation reservation) {
+        Mono<InventoryReservation> write = reservation.getId() == null
+            ? template.insert(reservation).flatMap(inserted -> announce(List.of(inserted)).thenReturn(inserted))
+            : template.update(reservation);
+        
+        return write
+            .doOnSuccess(saved -> log.debug("Reservation saved: {}", saved.getReservationId()))
+            .doOnError(error -> log.error("Failed to save reservation: {}", reservation.getReservationId(), error));
+    }
+    
+    @Override
+    public Flux<InventoryReservation> insertAll(List<InventoryReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        List<OutboundRow> rows = reservations.stream()
+            .map(reservation -> template.getDataAccessStrategy().getOutboundRow(reservation))
+            .toList();
+        SqlIdentifier idColumn = template.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(InventoryReservation.class).getIdColumn();
+        // Same rule as template.insert: a null id is left for the database to generate
+        List<SqlIdentifier> columns = rows.get(0).keySet().stream()
+            .filter(column -> !column.equals(idColumn) || rows.get(0).get(column).hasValue())
+            .toList();
+        
+        StringBuilder sql = new StringBuilder("INSERT INTO inventory_reservations (")
+            .append(columns.stream().map(column -> column.toSql(IdentifierProcessing.NONE)).collect(Collectors.joining(", ")))
+            .append(") VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "(" : ", (");
+            for (int j = 0; j < columns.size(); j++) {
+                sql.append(j == 0 ? ":p" : ", :p").append(i).append('_').append(j);
+            }
+            sql.append(')');
+        }
+        sql.append(" RETURNING *");
+        
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < columns.size(); j++) {
+                spec = spec.bind("p" + i + "_" + j, rows.get(i).get(columns.get(j)));
+            }
+        }
+        
+        return spec.map((row, metadata) -> template.getConverter().read(InventoryReservation.class, row, metadata))
+            .all()
+            .collectList()
+            .flatMapMany(inserted -> announce(inserted).thenMany(Flux.fromIterable(inserted)))
+            .doOnError(error -> log.error("Failed to insert batch of {} reservations", reservations.size(), error));
+    }
+    
+    @Override
+    public Flux<InventoryReservation> expireIfDue(List<String> reservationIds, Instant now) {
+        if (reservationIds.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        return template.getDatabaseClient()
+            .sql("UPDATE inventory_reservations SET status = :expired, updated_at = now() " +
+                 "WHERE reservation_id = ANY(:reservationIds) AND status = :active AND expires_at <= :now " +
+                 "RETURNING *")
+            .bind("expired", ReservationStatus.EXPIRED.name())
+            .bind("active", ReservationStatus.ACTIVE.name())
+            .bind("now", now)
+            .bind("reservationIds", reservationIds.toArray(String[]::new))
+            .map((row, metadata) -> template.getConverter().read(InventoryReservation.class, row, metadata))
+            .all()
+            .doOnError(error -> log.error("Failed to expire {} reservations", reservationIds.size(), error));
+    }
+    
+    @Override
+    public Flux<InventoryReservation> findByStatus(ReservationStatus status) {
+        // Streamed from a cursor so a large backlog never sits in memory as one result
+        return template.getDatabaseClient()
+            .sql("SELECT reservation_id, product_id, expires_at FROM inventory_reservations WHERE status = :status")
+            .bind("status", status.name())
+            .filter(statement -> statement.fetchSize(1000))
+            .map((row, metadata) -> template.getConverter().read(InventoryReservation.class, row, metadata))
+            .all()
+            .doOnError(error -> log.error("Failed to find reservations with status: {}", status, error));
+    }
+    
+    @Override
+    public Mono<InventoryReservation> findByReservationId(String reservationId) {
+        Query query = Query.query(Criteria.where("reservation_id").is(reservationId));
+        
+        return template.selectOne(query, InventoryReservation.class)
+            .doOnError(error -> log.error("Failed to find reservation: {}", reservationId, error));
+    }
+    
+    @Override
+    public Flux<InventoryReservation> findByOrderId(OrderId orderId) {
+        Query query = Query.query(Criteria.where("order_id").is(orderId.getValue()));
+        
+        return template.select(query, InventoryReservation.class)
+            .doOnError(error -> log.error("Failed to find reservations for order: {}", orderId, error));
+    }
+    
+    private Mono<Void> announce(List<InventoryReservation> reservations) {
+        String[] payloads = reservations.stream()
+            .filter(reservation -> reservation.getStatus() == ReservationStatus.ACTIVE && reservation.getExpiresAt() != null)
+            .map(reservation -> reservation.getReservationId() + "|" + reservation.getProductId().getValue()
+                + "|" + reservation.getExpiresAt().toEpochMilli())
+            .toArray(String[]::new);
+        if (payloads.length == 0) {
+            return Mono.empty();
+        }
+        
+        return template.getDatabaseClient()
+            .sql("SELECT pg_notify('" + EXPIRY_CHANNEL + "', payload) FROM unnest(CAST(:payloads AS TEXT[])) AS payload")
+            .bind("payloads", payloads)
+            .then();
+    }
+}
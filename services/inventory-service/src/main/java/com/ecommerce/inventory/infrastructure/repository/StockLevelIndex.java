@@ -0,0 +1,268 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/repository/StockLevelIndex.java
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.inventory.infrastructure.messaging.InventoryChangeFeed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Row;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Low stock and out of stock products kept in memory, so dashboard counts are O(1) reads and
+ * the lists are key lookups instead of scans. The sets are loaded once and then updated from
+ * the {@link InventoryChangeFeed}: changed products are collected into batches and only those
+ * are read again. A full reload runs when the feed reconnects, when changes were dropped and
+ * every {@code resync-interval} as a safety net.
+ * <p>
+ * Each update also drives {@link LowStockAlerts}. A product is alerted when it becomes low and
+ * armed again only when its stock rises above the reorder level by the hysteresis fraction, so
+ * stock oscillating around the reorder level does not alert on every crossing. Products that
+ * are already low on the first load and have no alert state are recorded as alerted instead.
+ */
+@Component
+@Slf4j
+public class StockLevelIndex {
+    
+    private static final int MAX_QUEUED_CHANGES = 100_000;
+    private static final int ALERT_CHUNK = 500;
+    
+    private static final String LEVELS =
+        "SELECT product_id, quantity_available + striped_available AS available, reorder_level, is_active " +
+        "FROM inventory_item_stock";
+    
+    private final DatabaseClient databaseClient;
+    private final InventoryChangeFeed changeFeed;
+    private final LowStockAlerts alerts;
+    private final double hysteresis;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration resyncInterval;
+    
+    // Replaced as a whole on every full reload; null until the first one completes
+    private volatile Levels levels;
+    private volatile boolean changesDropped;
+    private Disposable pipeline;
+    
+    public StockLevelIndex(@Value("${inventory.low-stock.alert.hysteresis:0.2}") double hysteresis,
+                           @Value("${inventory.low-stock.max-batch-size:500}") int maxBatchSize,
+                           @Value("${inventory.low-stock.max-batch-delay:200ms}") Duration maxBatchDelay,
+                           @Value("${inventory.low-stock.resync-interval:15m}") Duration resyncInterval,
+                           DatabaseClient databaseClient,
+                           InventoryChangeFeed changeFeed,
+                           LowStockAlerts alerts,
+                           MeterRegistry meterRegistry) {
+        this.hysteresis = hysteresis;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.resyncInterval = resyncInterval;
+        this.databaseClient = databaseClient;
+        this.changeFeed = changeFeed;
+        this.alerts = alerts;
+        
+        Gauge.builder("inventory.items.low-stock", this, index -> index.isReady() ? index.countLowStock() : Double.NaN)
+            .description("Active items at or below their reorder level")
+            .register(meterRegistry);
+        Gauge.builder("inventory.items.out-of-stock", this, index -> index.isReady() ? index.countOutOfStock() : Double.NaN)
+            .description("Active items with nothing available")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void start() {
+        pipeline = Flux.merge(
+                changeFeed.changes().startWith(InventoryChangeFeed.RESYNC),
+                Flux.interval(resyncInterval, resyncInterval).map(tick -> InventoryChangeFeed.RESYNC))
+            // The feed is hot, so queue changes here while a batch is being processed
+            .onBackpressureBuffer(MAX_QUEUED_CHANGES, dropped -> changesDropped = true, BufferOverflowStrategy.DROP_LATEST)
+            .bufferTimeout(maxBatchSize, maxBatchDelay, true)
+            .concatMap(batch -> process(batch)
+                .onErrorResume(error -> {
+                    log.warn("Failed to update stock levels of {} products, reloading on next change", batch.size(), error);
+                    changesDropped = true;
+                    return Mono.empty();
+                }), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (pipeline != null) {
+            pipeline.dispose();
+        }
+    }
+    
+    public boolean isReady() {
+        return levels != null;
+    }
+    
+    public int countLowStock() {
+        return levels.lowStock.size();
+    }
+    
+    public int countOutOfStock() {
+        return levels.outOfStock.size();
+    }
+    
+    public List<String> lowStockProductIds() {
+        return List.copyOf(levels.lowStock);
+    }
+    
+    public List<String> outOfStockProductIds() {
+        return List.copyOf(levels.outOfStock);
+    }
+    
+    private Mono<Void> process(List<String> batch) {
+        Levels current = levels;
+        if (current == null || changesDropped || batch.contains(InventoryChangeFeed.RESYNC)) {
+            changesDropped = false;
+            return reload();
+        }
+        
+        List<String> productIds = batch.stream().distinct().toList();
+        return databaseClient.sql(LEVELS + " WHERE product_id = ANY(:productIds)")
+            .bind("productIds", productIds.toArray(String[]::new))
+            .map((row, metadata) -> level(row))
+            .all()
+            .collectMap(StockLevel::productId)
+            .flatMap(changed -> {
+                // Products missing from the result were deleted
+                productIds.forEach(productId -> current.update(productId, changed.get(productId)));
+                return alert(current, changed.values());
+            });
+    }
+    
+    private Mono<Void> reload() {
+        boolean initial = levels == null;
+        Levels fresh = new Levels();
+        Map<String, StockLevel> all = new ConcurrentHashMap<>();
+        
+        return alerts.findAlerted()
+            .doOnNext(fresh.alerted::addAll)
+            .thenMany(databaseClient.sql(LEVELS).map((row, metadata) -> level(row)).all())
+            .doOnNext(level -> {
+                fresh.update(level.productId(), level);
+                all.put(level.productId(), level);
+            })
+            .then(Mono.defer(() -> {
+                levels = fresh;
+                log.info("Loaded stock levels: {} low stock and {} out of stock of {} items",
+                    fresh.lowStock.size(), fresh.outOfStock.size(), all.size());
+                // Crossings missed while the feed was down are alerted now
+                return (initial ? seed(fresh, all.values()) : Mono.<Void>empty())
+                    .then(Mono.defer(() -> alert(fresh, all.values())));
+            }));
+    }
+    
+    /**
+     * Records low products that were never alerted as alerted without raising anything, so
+     * the first load after a deploy does not alert the whole existing backlog. They alert
+     * again after recovering above the reorder level, like any other product.
+     */
+    private Mono<Void> seed(Levels current, Collection<StockLevel> all) {
+        List<String> unalerted = all.stream()
+            .filter(level -> level.active() && level.low() && !current.alerted.contains(level.productId()))
+            .map(StockLevel::productId)
+            .toList();
+        
+        return Flux.fromIterable(unalerted)
+            .buffer(ALERT_CHUNK)
+            .concatMap(chunk -> alerts.seed(chunk)
+                .doOnNext(current.alerted::addAll)
+                .map(List::size))
+            .reduce(0, Integer::sum)
+            .doOnNext(seeded -> {
+                if (seeded > 0) {
+                    log.info("Recorded {} low stock products as already alerted on the first load", seeded);
+                }
+            })
+            .then();
+    }
+    
+    private Mono<Void> alert(Levels current, Collection<StockLevel> changed) {
+        List<String> raise = new ArrayList<>();
+        List<String> rearm = new ArrayList<>();
+        for (StockLevel level : changed) {
+            boolean alerted = current.alerted.contains(level.productId());
+            if (!alerted && level.active() && level.low()) {
+                raise.add(level.productId());
+            } else if (alerted && level.available() > rearmAbove(level)) {
+                rearm.add(level.productId());
+            }
+        }
+        if (raise.isEmpty() && rearm.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return alerts.rearm(rearm)
+            .doOnSuccess(unused -> rearm.forEach(current.alerted::remove))
+            .thenMany(Flux.fromIterable(raise).buffer(ALERT_CHUNK))
+            // Alerts suppressed by the cooldown or raised by another replica count as alerted too
+            .concatMap(chunk -> alerts.raise(chunk).doOnSuccess(raised -> current.alerted.addAll(chunk)))
+            .then();
+    }
+    
+    private int rearmAbove(StockLevel level) {
+        return level.reorderLevel() + Math.max(1, (int) Math.ceil(level.reorderLevel() * hysteresis));
+    }
+    
+    private static StockLevel level(Row row) {
+        return new StockLevel(
+            row.get("product_id", String.class),
+            row.get("available", Integer.class),
+            row.get("reorder_level", Integer.class),
+            Boolean.TRUE.equals(row.get("is_active", Boolean.class)));
+    }
+    
+    /**
+     * Same rules as {@code InventoryItem.isLowStock} and {@code isOutOfStock}, for active items.
+     */
+    private record StockLevel(String productId, int available, int reorderLevel, boolean active) {
+        
+        boolean low() {
+            return available <= reorderLevel;
+        }
+        
+        boolean out() {
+            return available <= 0;
+        }
+    }
+    
+    private static final class Levels {
+        
+        private final Set<String> lowStock = ConcurrentHashMap.newKeySet();
+        private final Set<String> outOfStock = ConcurrentHashMap.newKeySet();
+        // Only touched by the pipeline, which processes one batch at a time
+        private final Set<String> alerted = ConcurrentHashMap.newKeySet();
+        
+        void update(String productId, StockLevel level) {
+            boolean active = level != null && level.active();
+            toggle(lowStock, productId, active && level.low());
+            toggle(outOfStock, productId, active && level.out());
+        }
+        
+        private static void toggle(Set<String> set, String productId, boolean member) {
+            if (member) {
+                set.add(productId);
+            } else {
+                set.remove(productId);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/repository/StripedStock.java
+package com.ecommerce.inventory.infrastructure.repository;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stock of hot SKUs split across rows of {@code inventory_stock_buckets}. A reservation
+ * locks one randomly chosen bucket that can cover it, skipping buckets held by concurrent
+ * reservations, so N buckets take N reservations at a time instead of one. When no single
+ * bucket can cover a reservation the item is rebalanced: its row and all of its buckets are
+ * locked in a fixed order, the reservation is taken from the combined stock and the rest is
+ * spread evenly again. Reserved quantities move back to the item row on every rebalance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StripedStock {
+    
+    private static final String TAKE_FROM_BUCKET =
+        "WITH target AS (" +
+        "SELECT bucket FROM inventory_stock_buckets " +
+        "WHERE product_id = :productId AND quantity_available >= :quantity " +
+        "AND EXISTS (SELECT 1 FROM inventory_items WHERE product_id = :productId AND is_active) " +
+        "ORDER BY random() LIMIT 1 FOR UPDATE%s) " +
+        "UPDATE inventory_stock_buckets b " +
+        "SET quantity_available = b.quantity_available - :quantity, " +
+        "quantity_reserved = b.quantity_reserved + :quantity " +
+        "FROM target WHERE b.product_id = :productId AND b.bucket = target.bucket";
+    
+    private final DatabaseClient databaseClient;
+    
+    /**
+     * Reserves from one bucket of a striped item. Emits false when the item is not striped,
+     * is inactive or has less than {@code quantity} available across its buckets and row.
+     */
+    public Mono<Boolean> reserve(ProductId productId, int quantity) {
+        // Prefer a bucket nobody holds, then wait for a busy one, and rebalance only when none can cover it
+        return take(productId, quantity, " SKIP LOCKED")
+            .flatMap(taken -> taken ? Mono.just(true) : take(productId, quantity, ""))
+            .flatMap(taken -> taken ? Mono.just(true) : rebalance(productId, quantity));
+    }
+    
+    public Mono<Boolean> stripe(ProductId productId, int buckets) {
+        return redistribute(productId, buckets, 0)
+            .doOnNext(found -> log.info("Striped stock of product {} into {} buckets", productId, buckets));
+    }
+    
+    public Mono<Boolean> unstripe(ProductId productId) {
+        return redistribute(productId, 0, 0)
+            .doOnNext(found -> log.info("Folded stock buckets of product {} back into its row", productId));
+    }
+    
+    private Mono<Boolean> take(ProductId productId, int quantity, String lockMode) {
+        return databaseClient.sql(String.format(TAKE_FROM_BUCKET, lockMode))
+            .bind("productId", productId.getValue())
+            .bind("quantity", quantity)
+            .fetch()
+            .rowsUpdated()
+            .map(updated -> updated == 1);
+    }
+    
+    private Mono<Boolean> rebalance(ProductId productId, int quantity) {
+        // Items that are not striped fail here without locking their row
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM inventory_stock_buckets WHERE product_id = :productId)")
+            .bind("productId", productId.getValue())
+            .map(row -> row.get(0, Boolean.class))
+            .one()
+            .flatMap(striped -> striped ? redistribute(productId, null, quantity) : Mono.just(false))
+            .doOnNext(taken -> {
+                if (taken) {
+                    log.debug("Rebalanced stock buckets of product {} to reserve {}", productId, quantity);
+                }
+            });
+    }
+    
+    /**
+     * Locks the item row and then its buckets, takes {@code take} from the combined stock and
+     * rewrites the rest into {@code bucketCount} buckets, keeping the current count when null
+     * and moving everything to the item row when zero. Emits false without writing when the
+     * item is missing or a non-zero {@code take} cannot be covered.
+     */
+    private Mono<Boolean> redistribute(ProductId productId, Integer bucketCount, int take) {
+        String id = productId.getValue();
+        
+        return databaseClient.sql("SELECT quantity_available, is_active FROM inventory_items " +
+                                  "WHERE product_id = :productId FOR UPDATE")
+            .bind("productId", id)
+            .map(row -> new ItemStock(row.get("quantity_available", Integer.class), row.get("is_active", Boolean.class)))
+            .one()
+            .flatMap(item -> lockBuckets(id).flatMap(held -> {
+                int buckets = bucketCount != null ? bucketCount : held.buckets();
+                int available = item.available() + held.available();
+                if (take > 0 && (!item.active() || buckets == 0 || available < take)) {
+                    return Mono.just(false);
+                }
+                
+                int remaining = available - take;
+                return databaseClient.sql("DELETE FROM inventory_stock_buckets WHERE product_id = :productId")
+                    .bind("productId", id)
+                    .then()
+                    .then(databaseClient.sql("UPDATE inventory_items " +
+                                             "SET quantity_available = :available, " +
+                                             "quantity_reserved = quantity_reserved + :reserved, " +
+                                             "updated_at = now() " +
+                                             "WHERE product_id = :productId")
+                        .bind("available", buckets == 0 ? remaining : 0)
+                        .bind("reserved", held.reserved() + take)
+                        .bind("productId", id)
+                        .then())
+                    .then(buckets == 0 ? Mono.empty() : insertBuckets(id, buckets, remaining))
+                    .thenReturn(true);
+            }))
+            .defaultIfEmpty(false);
+    }
+    
+    private Mono<BucketStock> lockBuckets(String productId) {
+        return databaseClient.sql("SELECT quantity_available, quantity_reserved FROM inventory_stock_buckets " +
+                                  "WHERE product_id = :productId ORDER BY bucket FOR UPDATE")
+            .bind("productId", productId)
+            .map(row -> new BucketStock(1, row.get("quantity_available", Integer.class), row.get("quantity_reserved", Integer.class)))
+            .all()
+            .reduce(new BucketStock(0, 0, 0), BucketStock::plus);
+    }
+    
+    private Mono<Void> insertBuckets(String productId, int buckets, int quantity) {
+        // The first quantity % buckets buckets get one unit more than the rest
+        return databaseClient.sql("INSERT INTO inventory_stock_buckets (product_id, bucket, quantity_available, quantity_reserved) " +
+                                  "SELECT :productId, g, :share + CASE WHEN g < :remainder THEN 1 ELSE 0 END, 0 " +
+                                  "FROM generate_series(0, :buckets - 1) AS g")
+            .bind("productId", productId)
+            .bind("share", quantity / buckets)
+            .bind("remainder", quantity % buckets)
+            .bind("buckets", buckets)
+            .then();
+    }
+    
+    private record ItemStock(int available, boolean active) {
+    }
+    
+    private record BucketStock(int buckets, int available, int reserved) {
+        
+        BucketStock plus(BucketStock other) {
+            return new BucketStock(buckets + other.buckets, available + other.available, reserved + other.reserved);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/security/SecurityConfiguration.java
+package com.ecommerce.inventory.infrastructure.security;
+
+import com.ecommerce.security.jwt.JwksAuthentication;
+import com.ecommerce.security.jwt.JwksTokenVerifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfiguration {
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwksTokenVerifier tokenVerifier) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterAt(JwksAuthentication.webFilter(tokenVerifier), SecurityWebFiltersOrder.AUTHENTICATION)
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/webjars/**").permitAll()
+                // Catalog and search pages show stock to anonymous shoppers
+                .pathMatchers(HttpMethod.POST, "/api/inventory/availability").permitAll()
+                .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                .anyExchange().authenticated())
+            .build();
+    }
+}
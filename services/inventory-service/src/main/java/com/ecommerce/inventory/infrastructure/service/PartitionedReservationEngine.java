@@ -0,0 +1,471 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/service/PartitionedReservationEngine.java
+package com.ecommerce.inventory.infrastructure.service;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.ReservationEngine;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Reservation engine that assigns every product to one of N partitions. Each partition is a
+ * serial pipeline holding the counters of its products in memory, so the domain rules run
+ * without a round trip per command. Commands that queue up while a partition is committing
+ * form its next batch, and the batch's counter deltas and follow-up writes commit in a
+ * single transaction before any command in it is acknowledged.
+ * <p>
+ * Other writers (order reservations, expiry, the stock ledger) may change the same rows, so
+ * memory is only a forecast. The commit locks the batch's rows and reads their counters, and
+ * products whose deltas no longer fit are dropped from memory and their commands retried
+ * against fresh counters while the rest of the batch commits. A change rejected from memory
+ * is likewise checked once more against the row before it is turned down. Items whose
+ * stock is striped into buckets are handed to the row-locking path, which knows the buckets.
+ * A change whose {@code onApplied} completes empty is left out of the write, so a release can
+ * depend on the row it goes with.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.reservation.engine", havingValue = "partitioned")
+@Slf4j
+public class PartitionedReservationEngine implements ReservationEngine {
+    
+    private static final int MAX_ATTEMPTS = 3;
+    
+    // Locked in product id order, the same order the row-locking paths use
+    private static final String LOCK_COUNTERS =
+        "SELECT product_id, quantity_available, quantity_reserved FROM inventory_items " +
+        "WHERE product_id = ANY(:productIds) ORDER BY product_id FOR UPDATE";
+    
+    private static final String WRITE_DELTAS =
+        "UPDATE inventory_items i " +
+        "SET quantity_available = i.quantity_available + d.available, " +
+        "quantity_reserved = i.quantity_reserved + d.reserved, " +
+        "updated_at = now() " +
+        "FROM unnest(CAST(:productIds AS VARCHAR[]), CAST(:available AS INTEGER[]), CAST(:reserved AS INTEGER[])) " +
+        "AS d(product_id, available, reserved) " +
+        "WHERE i.product_id = d.product_id " +
+        "AND i.quantity_available + d.available >= 0 AND i.quantity_reserved + d.reserved >= 0";
+    
+    private final InventoryItemRepository inventoryItemRepository;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final long reloadIntervalNanos;
+    private final List<Partition> partitions;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+    private final MeterRegistry meterRegistry;
+    
+    public PartitionedReservationEngine(@Value("${inventory.reservation.partitioned.partitions:8}") int partitionCount,
+                                        @Value("${inventory.reservation.partitioned.max-batch-size:256}") int maxBatchSize,
+                                        @Value("${inventory.reservation.partitioned.max-batch-delay:2ms}") Duration maxBatchDelay,
+                                        @Value("${inventory.reservation.partitioned.reload-interval:30s}") Duration reloadInterval,
+                                        InventoryItemRepository inventoryItemRepository,
+                                        DatabaseClient databaseClient,
+                                        TransactionalOperator transactionalOperator,
+                                        MeterRegistry meterRegistry) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry;
+        this.partitions = IntStream.range(0, partitionCount).mapToObj(index -> new Partition()).toList();
+        
+        this.batchSizes = DistributionSummary.builder("inventory.engine.batch.size")
+            .description("Stock changes committed per partition batch")
+            .register(meterRegistry);
+        this.commitTimer = Timer.builder("inventory.engine.commit")
+            .description("Time to commit one partition batch")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void start() {
+        partitions.forEach(Partition::start);
+        log.info("Reservation engine started with {} partitions", partitions.size());
+    }
+    
+    @PreDestroy
+    void stop() {
+        partitions.forEach(Partition::stop);
+    }
+    
+    @Override
+    public <T> Mono<T> reserve(ProductId productId, int quantity, Mono<T> onReserved) {
+        return submit(productId, Operation.RESERVE, quantity, onReserved);
+    }
+    
+    @Override
+    public <T> Mono<T> release(ProductId productId, int quantity, Mono<T> onReleased) {
+        return submit(productId, Operation.RELEASE, quantity, onReleased);
+    }
+    
+    @Override
+    public <T> Mono<T> confirm(ProductId productId, int quantity, Mono<T> onConfirmed) {
+        return submit(productId, Operation.CONFIRM, quantity, onConfirmed);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> submit(ProductId productId, Operation operation, int quantity, Mono<T> onApplied) {
+        return Mono.defer(() -> {
+            Command command = new Command(productId.getValue(), operation, quantity, onApplied, Sinks.one(), 1);
+            partitionOf(command).submit(command);
+            return command.result().asMono().map(result -> (T) result);
+        });
+    }
+    
+    private Partition partitionOf(Command command) {
+        return partitions.get(Math.floorMod(command.productId().hashCode(), partitions.size()));
+    }
+    
+    private void retry(Command command, String reason) {
+        if (command.attempt() >= MAX_ATTEMPTS) {
+            command.result().tryEmitError(new IllegalStateException(String.format(
+                "Stock of product %s kept changing outside the reservation engine", command.productId())));
+            return;
+        }
+        meterRegistry.counter("inventory.engine.retries", "reason", reason).increment();
+        partitionOf(command).submit(command.nextAttempt());
+    }
+    
+    /**
+     * Runs a command for a striped item on the row-locking path, outside the partition.
+     */
+    private void delegate(Command command) {
+        ProductId productId = ProductId.of(command.productId());
+        Mono<Object> outcome = switch (command.operation()) {
+            case RESERVE -> inventoryItemRepository.reserveIfAvailable(productId, command.quantity())
+                .flatMap(reserved -> reserved ? command.onApplied().cast(Object.class) : Mono.empty());
+            // releaseReserved folds bucket reservations back into the row before releasing
+            case RELEASE -> command.onApplied().cast(Object.class)
+                .flatMap(value -> inventoryItemRepository.releaseReserved(Map.of(productId, command.quantity()))
+                    .thenReturn(value));
+            case CONFIRM -> Mono.error(new BusinessRuleViolationException(
+                "Reservations of striped items cannot be confirmed by the reservation engine"));
+        };
+        
+        transactionalOperator.transactional(outcome)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .subscribe(command::complete, command.result()::tryEmitError);
+    }
+    
+    private enum Operation {
+        RESERVE {
+            @Override
+            void apply(InventoryItem item, int quantity) {
+                if (!Boolean.TRUE.equals(item.getIsActive())) {
+                    throw new BusinessRuleViolationException("Inventory item is inactive");
+                }
+                item.reserveQuantity(quantity);
+            }
+        },
+        RELEASE {
+            @Override
+            void apply(InventoryItem item, int quantity) {
+                item.releaseReservation(quantity);
+            }
+        },
+        CONFIRM {
+            @Override
+            void apply(InventoryItem item, int quantity) {
+                item.confirmReservation(quantity);
+            }
+        };
+        
+        abstract void apply(InventoryItem item, int quantity);
+    }
+    
+    private record Command(String productId, Operation operation, int quantity,
+                           Mono<?> onApplied, Sinks.One<Object> result, int attempt) {
+        
+        Command nextAttempt() {
+            return new Command(productId, operation, quantity, onApplied, result, attempt + 1);
+        }
+        
+        void reject(BusinessRuleViolationException reason) {
+            // A reservation that cannot be covered is a normal outcome rather than an error
+            if (operation == Operation.RESERVE) {
+                result.tryEmitEmpty();
+            } else {
+                result.tryEmitError(reason);
+            }
+        }
+        
+        void complete(Optional<?> value) {
+            value.ifPresentOrElse(result::tryEmitValue, result::tryEmitEmpty);
+        }
+    }
+    
+    private record LoadedItem(InventoryItem item, long loadedAt) {
+    }
+    
+    /**
+     * A command applied to memory, with the counter change it made there.
+     */
+    private record Applied(Command command, int available, int reserved) {
+        
+        String productId() {
+            return command.productId();
+        }
+    }
+    
+    private record Outcome(Applied applied, Optional<?> value) {
+    }
+    
+    private record AppliedBatch(List<Applied> applied, List<Command> rechecks, List<Command> delegated) {
+    }
+    
+    private record CommittedBatch(Set<String> drifted, List<Outcome> outcomes) {
+    }
+    
+    /**
+     * One serial pipeline. Batches are processed strictly one after another, so the item map
+     * is only ever touched by one batch at a time even though batches run on pool threads.
+     */
+    private final class Partition {
+        
+        private final Map<String, LoadedItem> items = new HashMap<>();
+        private final Sinks.Many<Command> commands = Sinks.many().unicast().onBackpressureBuffer();
+        private Disposable pipeline;
+        
+        void start() {
+            pipeline = commands.asFlux()
+                .bufferTimeout(maxBatchSize, maxBatchDelay, true)
+                .concatMap(this::process, 1)
+                .subscribe();
+        }
+        
+        void stop() {
+            if (pipeline != null) {
+                pipeline.dispose();
+            }
+        }
+        
+        void submit(Command command) {
+            commands.emitNext(command, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+        
+        private Mono<Void> process(List<Command> batch) {
+            long now = System.nanoTime();
+            return load(batch, now)
+                .then(Mono.defer(() -> applyAndCommit(batch, now)))
+                // Nothing was applied or delegated yet when loading fails
+                .onErrorResume(error -> fail(batch, error));
+        }
+        
+        private Mono<Void> applyAndCommit(List<Command> batch, long now) {
+            AppliedBatch applied = apply(batch, now);
+            applied.delegated().forEach(PartitionedReservationEngine.this::delegate);
+            return commit(applied.applied())
+                // Retried only after the commit, so a retry never races a rollback of its batch
+                .doOnSuccess(unused -> applied.rechecks().forEach(command -> {
+                    items.remove(command.productId());
+                    retry(command, "recheck");
+                }))
+                // Delegated commands run in their own transaction and complete through it
+                .onErrorResume(error -> fail(Stream.concat(
+                    applied.applied().stream().map(Applied::command),
+                    applied.rechecks().stream()).toList(), error));
+        }
+        
+        private Mono<Void> fail(List<Command> commands, Throwable error) {
+            log.error("Reservation engine failed a batch of {} stock changes", commands.size(), error);
+            commands.forEach(command -> command.result().tryEmitError(error));
+            return Mono.empty();
+        }
+        
+        private Mono<Void> load(List<Command> batch, long now) {
+            Set<String> stale = new HashSet<>();
+            for (Command command : batch) {
+                LoadedItem loaded = items.get(command.productId());
+                if (loaded == null || now - loaded.loadedAt() > reloadIntervalNanos) {
+                    stale.add(command.productId());
+                }
+            }
+            if (stale.isEmpty()) {
+                return Mono.empty();
+            }
+            
+            // Every earlier batch has committed by now, so the database holds the latest counters
+            stale.forEach(items::remove);
+            return inventoryItemRepository.findByProductIds(stale.stream().map(ProductId::of).toList())
+                .doOnNext(item -> items.put(item.getProductId().getValue(), new LoadedItem(item, now)))
+                .then();
+        }
+        
+        private AppliedBatch apply(List<Command> batch, long now) {
+            List<Applied> applied = new ArrayList<>(batch.size());
+            List<Command> rechecks = new ArrayList<>();
+            List<Command> delegated = new ArrayList<>();
+            
+            for (Command command : batch) {
+                LoadedItem loaded = items.get(command.productId());
+                if (loaded == null) {
+                    command.reject(new BusinessRuleViolationException(
+                        "Inventory item not found for product: " + command.productId()));
+                    continue;
+                }
+                
+                InventoryItem item = loaded.item();
+                if (item.isStriped()) {
+                    delegated.add(command);
+                    continue;
+                }
+                
+                int available = item.getQuantityAvailable();
+                int reserved = item.getQuantityReserved();
+                try {
+                    command.operation().apply(item, command.quantity());
+                } catch (BusinessRuleViolationException e) {
+                    // Counters loaded by an earlier batch may miss stock returned by another writer
+                    if (loaded.loadedAt() != now && command.attempt() < MAX_ATTEMPTS) {
+                        rechecks.add(command);
+                    } else {
+                        command.reject(e);
+                    }
+                    continue;
+                }
+                
+                applied.add(new Applied(command,
+                    item.getQuantityAvailable() - available, item.getQuantityReserved() - reserved));
+            }
+            return new AppliedBatch(applied, rechecks, delegated);
+        }
+        
+        private Mono<Void> commit(List<Applied> applied) {
+            if (applied.isEmpty()) {
+                return Mono.empty();
+            }
+            
+            Set<String> productIds = applied.stream().map(Applied::productId).collect(Collectors.toSet());
+            Timer.Sample sample = Timer.start();
+            return transactionalOperator.transactional(
+                    lockCounters(productIds)
+                        .flatMap(counters -> {
+                            Set<String> drifted = drifted(applied, counters);
+                            return Flux.fromIterable(applied)
+                                .filter(change -> !drifted.contains(change.productId()))
+                                .concatMap(change -> change.command().onApplied()
+                                    .<Optional<?>>map(Optional::of)
+                                    .defaultIfEmpty(Optional.empty())
+                                    .map(value -> new Outcome(change, value)))
+                                .collectList()
+                                .flatMap(outcomes -> writeDeltas(outcomes)
+                                    .thenReturn(new CommittedBatch(drifted, outcomes)));
+                        }))
+                .doOnNext(committed -> {
+                    for (Outcome outcome : committed.outcomes()) {
+                        if (outcome.value().isEmpty()) {
+                            // The change was left out of the write, so memory is ahead of the row
+                            items.remove(outcome.applied().productId());
+                        }
+                        outcome.applied().command().complete(outcome.value());
+                    }
+                    committed.drifted().forEach(items::remove);
+                    applied.stream()
+                        .filter(change -> committed.drifted().contains(change.productId()))
+                        .forEach(change -> retry(change.command(), "drift"));
+                    sample.stop(commitTimer);
+                    batchSizes.record(committed.outcomes().size());
+                })
+                // Memory is ahead of the rolled back database for these products
+                .doOnError(error -> productIds.forEach(items::remove))
+                .then();
+        }
+    }
+    
+    private Mono<Map<String, int[]>> lockCounters(Set<String> productIds) {
+        return databaseClient.sql(LOCK_COUNTERS)
+            .bind("productIds", productIds.toArray(String[]::new))
+            .map(row -> Map.entry(row.get("product_id", String.class), new int[] {
+                row.get("quantity_available", Integer.class), row.get("quantity_reserved", Integer.class)}))
+            .all()
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+    
+    /**
+     * Products whose net change in this batch would take a locked counter below zero.
+     */
+    private static Set<String> drifted(List<Applied> applied, Map<String, int[]> counters) {
+        Map<String, int[]> deltas = sumDeltas(applied);
+        Set<String> drifted = new HashSet<>();
+        deltas.forEach((productId, delta) -> {
+            int[] current = counters.get(productId);
+            if (current == null || current[0] + delta[0] < 0 || current[1] + delta[1] < 0) {
+                drifted.add(productId);
+            }
+        });
+        return drifted;
+    }
+    
+    private static Map<String, int[]> sumDeltas(List<Applied> applied) {
+        Map<String, int[]> deltas = new LinkedHashMap<>();
+        for (Applied change : applied) {
+            int[] delta = deltas.computeIfAbsent(change.productId(), id -> new int[2]);
+            delta[0] += change.available();
+            delta[1] += change.reserved();
+        }
+        return deltas;
+    }
+    
+    private Mono<Void> writeDeltas(List<Outcome> outcomes) {
+        Map<String, int[]> deltas = sumDeltas(outcomes.stream()
+            .filter(outcome -> outcome.value().isPresent())
+            .map(Outcome::applied)
+            .toList());
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        String[] productIds = deltas.keySet().toArray(String[]::new);
+        Integer[] available = deltas.values().stream().map(delta -> delta[0]).toArray(Integer[]::new);
+        Integer[] reserved = deltas.values().stream().map(delta -> delta[1]).toArray(Integer[]::new);
+        
+        return databaseClient.sql(WRITE_DELTAS)
+            .bind("productIds", productIds)
+            .bind("available", available)
+            .bind("reserved", reserved)
+            .fetch()
+            .rowsUpdated()
+            .handle((updated, sink) -> {
+                // Rows are locked, so this only happens when a change left out of the write was
+                // covering another one of the same batch; the batch rolls back and is failed
+                if (updated != productIds.length) {
+                    sink.error(new IllegalStateException(String.format(
+                        "Stock of %d products would drop below zero", productIds.length - updated)));
+                }
+            })
+            .then();
+    }
+}
@@ -0,0 +1,221 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/service/RedisStockLedger.java
+package com.ecommerce.inventory.infrastructure.service;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.StockLedger;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Stock ledger in a Redis hash holding {@code <productId>:available}, {@code :reserved} and
+ * {@code :seq} fields for every managed product. A Lua script checks every line of an order
+ * and applies it in one atomic step, takes the next movement sequence number and appends the
+ * movement to a stream that {@link StockMovementWriter} writes to Postgres. All keys share one
+ * hash tag so the scripts also run on Redis Cluster. Striped and inactive items are not
+ * managed, and the ledger is only as durable as the Redis persistence behind it.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.redis-stock.enabled", havingValue = "true")
+@Slf4j
+public class RedisStockLedger implements StockLedger {
+    
+    static final String COUNTERS_KEY = "{inventory-stock}:counters";
+    static final String SEQUENCE_KEY = "{inventory-stock}:seq";
+    static final String MOVEMENTS_KEY = "{inventory-stock}:movements";
+    
+    private static final int SEED_CHUNK = 500;
+    
+    // KEYS: counters, sequence, movements. ARGV: order id, expiry millis, then reservation id, product id, quantity per line
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE_SCRIPT = RedisScript.of("""
+        local lines, unmanaged, totals, products = {}, {}, {}, {}
+        for i = 3, #ARGV, 3 do
+            local product = ARGV[i + 1]
+            if redis.call('HEXISTS', KEYS[1], product .. ':available') == 1 then
+                if not totals[product] then
+                    totals[product] = 0
+                    table.insert(products, product)
+                end
+                totals[product] = totals[product] + tonumber(ARGV[i + 2])
+                table.insert(lines, ARGV[i] .. ',' .. product .. ',' .. ARGV[i + 2])
+            else
+                table.insert(unmanaged, product)
+            end
+        end
+        if #lines == 0 then
+            return {'UNMANAGED', table.concat(unmanaged, ','), ''}
+        end
+        local unavailable = {}
+        for _, product in ipairs(products) do
+            if tonumber(redis.call('HGET', KEYS[1], product .. ':available')) < totals[product] then
+                table.insert(unavailable, product)
+            end
+        end
+        if #unavailable > 0 then
+            return {'UNAVAILABLE', table.concat(unmanaged, ','), table.concat(unavailable, ',')}
+        end
+        local seq = redis.call('INCR', KEYS[2])
+        for _, product in ipairs(products) do
+            redis.call('HINCRBY', KEYS[1], product .. ':available', -totals[product])
+            redis.call('HINCRBY', KEYS[1], product .. ':reserved', totals[product])
+            redis.call('HSET', KEYS[1], product .. ':seq', seq)
+        end
+        redis.call('XADD', KEYS[3], '*', 'seq', seq, 'type', 'reserve', 'order', ARGV[1],
+                   'expires', ARGV[2], 'lines', table.concat(lines, ';'))
+        return {'RESERVED', table.concat(unmanaged, ','), ''}
+        """, List.class);
+    
+    // KEYS: counters, sequence, movements. ARGV: order id, then reservation id, product id, quantity per line
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+        local lines = {}
+        local seq = redis.call('INCR', KEYS[2])
+        for i = 2, #ARGV, 3 do
+            local product = ARGV[i + 1]
+            if redis.call('HEXISTS', KEYS[1], product .. ':available') == 1 then
+                redis.call('HINCRBY', KEYS[1], product .. ':available', ARGV[i + 2])
+                redis.call('HINCRBY', KEYS[1], product .. ':reserved', -tonumber(ARGV[i + 2]))
+                redis.call('HSET', KEYS[1], product .. ':seq', seq)
+            end
+            table.insert(lines, ARGV[i] .. ',' .. product .. ',' .. ARGV[i + 2])
+        end
+        redis.call('XADD', KEYS[3], '*', 'seq', seq, 'type', 'release', 'order', ARGV[1],
+                   'expires', '0', 'lines', table.concat(lines, ';'))
+        return seq
+        """, Long.class);
+    
+    // KEYS: counters, sequence. ARGV: applied sequence, then product id, available, reserved per item
+    private static final RedisScript<Long> MANAGE_SCRIPT = RedisScript.of("""
+        -- After Redis lost its data the sequence restarts where Postgres left off
+        redis.call('SET', KEYS[2], ARGV[1], 'NX')
+        local added = 0
+        for i = 2, #ARGV, 3 do
+            if redis.call('HSETNX', KEYS[1], ARGV[i] .. ':available', ARGV[i + 1]) == 1 then
+                redis.call('HSET', KEYS[1], ARGV[i] .. ':reserved', ARGV[i + 2], ARGV[i] .. ':seq', 0)
+                added = added + 1
+            end
+        end
+        return added
+        """, Long.class);
+    
+    // KEYS: counters. ARGV: product ids
+    private static final RedisScript<Long> UNMANAGE_SCRIPT = RedisScript.of("""
+        local removed = 0
+        for i = 1, #ARGV do
+            removed = removed + redis.call('HDEL', KEYS[1], ARGV[i] .. ':available')
+            redis.call('HDEL', KEYS[1], ARGV[i] .. ':reserved', ARGV[i] .. ':seq')
+        end
+        return removed
+        """, Long.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+    
+    public RedisStockLedger(ReactiveStringRedisTemplate redisTemplate,
+                            DatabaseClient databaseClient,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.databaseClient = databaseClient;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Mono<Outcome> reserve(OrderId orderId, List<InventoryReservation> reservations) {
+        List<String> args = new ArrayList<>(2 + reservations.size() * 3);
+        args.add(orderId.getValue());
+        args.add(String.valueOf(reservations.get(0).getExpiresAt().toEpochMilli()));
+        reservations.forEach(reservation -> addLine(args, reservation));
+        
+        return redisTemplate.execute(RESERVE_SCRIPT, List.of(COUNTERS_KEY, SEQUENCE_KEY, MOVEMENTS_KEY), args)
+            .next()
+            .map(result -> new Outcome(
+                Status.valueOf(String.valueOf(result.get(0))),
+                new LinkedHashSet<>(productIds(result.get(1))),
+                productIds(result.get(2))))
+            .doOnNext(outcome -> meterRegistry.counter("inventory.ledger.reservations",
+                "result", outcome.status().name().toLowerCase()).increment());
+    }
+    
+    @Override
+    public Mono<Void> release(OrderId orderId, List<InventoryReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        List<String> args = new ArrayList<>(1 + reservations.size() * 3);
+        args.add(orderId.getValue());
+        reservations.forEach(reservation -> addLine(args, reservation));
+        
+        return redisTemplate.execute(RELEASE_SCRIPT, List.of(COUNTERS_KEY, SEQUENCE_KEY, MOVEMENTS_KEY), args)
+            .doOnNext(seq -> log.info("Returned {} ledger reservations of order {}", reservations.size(), orderId))
+            .then();
+    }
+    
+    @Override
+    public Mono<Integer> manage(List<InventoryItem> items) {
+        List<InventoryItem> eligible = items.stream()
+            .filter(item -> Boolean.TRUE.equals(item.getIsActive()) && !item.isStriped())
+            .toList();
+        if (eligible.isEmpty()) {
+            return Mono.just(0);
+        }
+        
+        return databaseClient.sql("SELECT applied_seq FROM inventory_stock_ledger_offset WHERE id = 1")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMapMany(applied -> Flux.fromIterable(eligible)
+                // Bounded scripts, so seeding a large category does not stall Redis
+                .buffer(SEED_CHUNK)
+                .concatMap(chunk -> {
+                    List<String> args = new ArrayList<>(1 + chunk.size() * 3);
+                    args.add(String.valueOf(applied));
+                    chunk.forEach(item -> {
+                        args.add(item.getProductId().getValue());
+                        args.add(String.valueOf(item.getQuantityAvailable()));
+                        args.add(String.valueOf(item.getQuantityReserved()));
+                    });
+                    return redisTemplate.execute(MANAGE_SCRIPT, List.of(COUNTERS_KEY, SEQUENCE_KEY), args);
+                }))
+            .reduce(0L, Long::sum)
+            .map(Long::intValue);
+    }
+    
+    @Override
+    public Mono<Integer> unmanage(List<ProductId> productIds) {
+        return Flux.fromIterable(productIds)
+            .map(ProductId::getValue)
+            .buffer(SEED_CHUNK)
+            .concatMap(chunk -> redisTemplate.execute(UNMANAGE_SCRIPT, List.of(COUNTERS_KEY), chunk))
+            .reduce(0L, Long::sum)
+            .map(Long::intValue);
+    }
+    
+    private static void addLine(List<String> args, InventoryReservation reservation) {
+        args.add(reservation.getReservationId());
+        args.add(reservation.getProductId().getValue());
+        args.add(String.valueOf(reservation.getQuantity()));
+    }
+    
+    private static List<ProductId> productIds(Object joined) {
+        String value = String.valueOf(joined);
+        if (value.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(ProductId::of).toList();
+    }
+}
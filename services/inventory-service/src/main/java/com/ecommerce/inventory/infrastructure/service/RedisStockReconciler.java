@@ -0,0 +1,185 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/service/RedisStockReconciler.java
+package com.ecommerce.inventory.infrastructure.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repairs drift between the Redis stock ledger and {@code inventory_items}. Stock changed in
+ * the database directly, such as restocks, expired reservations and confirmations, never
+ * passes through the ledger, so the database is compared with Redis and the difference is
+ * added to the Redis counters.
+ * <p>
+ * The database is read first, together with the last movement sequence the writer applied.
+ * The Redis counters are read afterwards, and only products whose last movement is at or
+ * below that sequence are compared, since both sides then reflect the same movements. A
+ * repair is skipped when a reservation touched the product in the meantime.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.redis-stock.enabled", havingValue = "true")
+@Slf4j
+public class RedisStockReconciler {
+    
+    // KEYS: counters. ARGV: product id, sequence seen, available delta, reserved delta
+    private static final RedisScript<Long> REPAIR_SCRIPT = RedisScript.of("""
+        if redis.call('HGET', KEYS[1], ARGV[1] .. ':seq') ~= ARGV[2] then
+            return 0
+        end
+        redis.call('HINCRBY', KEYS[1], ARGV[1] .. ':available', ARGV[3])
+        redis.call('HINCRBY', KEYS[1], ARGV[1] .. ':reserved', ARGV[4])
+        return 1
+        """, Long.class);
+    
+    private static final String DATABASE_COUNTERS =
+        "SELECT o.applied_seq, i.product_id, i.quantity_available, i.quantity_reserved " +
+        "FROM inventory_stock_ledger_offset o " +
+        "LEFT JOIN inventory_items i ON i.product_id = ANY(:productIds) " +
+        "WHERE o.id = 1";
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final DatabaseClient databaseClient;
+    private final Duration interval;
+    private final Counter driftCounter;
+    
+    private Disposable reconciler;
+    
+    public RedisStockReconciler(@Value("${inventory.redis-stock.reconcile-interval:1m}") Duration interval,
+                                ReactiveStringRedisTemplate redisTemplate,
+                                DatabaseClient databaseClient,
+                                MeterRegistry meterRegistry) {
+        this.interval = interval;
+        this.redisTemplate = redisTemplate;
+        this.databaseClient = databaseClient;
+        this.driftCounter = meterRegistry.counter("inventory.ledger.drift-repaired");
+    }
+    
+    @PostConstruct
+    void start() {
+        reconciler = Flux.interval(interval, interval)
+            .onBackpressureDrop()
+            .concatMap(tick -> reconcile()
+                .onErrorResume(error -> {
+                    log.warn("Stock ledger reconciliation failed, retrying in {}", interval, error);
+                    return Mono.empty();
+                }), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.dispose();
+        }
+    }
+    
+    private Mono<Void> reconcile() {
+        return redisTemplate.<String, String>opsForHash().keys(RedisStockLedger.COUNTERS_KEY)
+            .filter(field -> field.endsWith(":available"))
+            .map(field -> field.substring(0, field.length() - ":available".length()))
+            .collectList()
+            .filter(productIds -> !productIds.isEmpty())
+            .flatMap(this::readDatabase)
+            .flatMap(database -> readLedger().flatMap(ledger -> repair(database, ledger)))
+            .doOnNext(repaired -> {
+                if (repaired > 0) {
+                    driftCounter.increment(repaired);
+                    log.info("Repaired stock ledger drift for {} products", repaired);
+                }
+            })
+            .then();
+    }
+    
+    private Mono<DatabaseCounters> readDatabase(List<String> productIds) {
+        return databaseClient.sql(DATABASE_COUNTERS)
+            .bind("productIds", productIds.toArray(String[]::new))
+            .map(row -> new Row(
+                row.get("applied_seq", Long.class),
+                row.get("product_id", String.class),
+                row.get("quantity_available", Integer.class),
+                row.get("quantity_reserved", Integer.class)))
+            .all()
+            .collectList()
+            .map(rows -> {
+                Map<String, Counters> counters = new HashMap<>();
+                rows.stream()
+                    .filter(row -> row.productId() != null)
+                    .forEach(row -> counters.put(row.productId(), new Counters(row.available(), row.reserved(), 0)));
+                return new DatabaseCounters(rows.get(0).appliedSeq(), counters);
+            });
+    }
+    
+    private Mono<Map<String, Counters>> readLedger() {
+        return redisTemplate.<String, String>opsForHash().entries(RedisStockLedger.COUNTERS_KEY)
+            .collectList()
+            .map(entries -> {
+                Map<String, String> fields = new HashMap<>();
+                entries.forEach(entry -> fields.put(entry.getKey(), entry.getValue()));
+                
+                Map<String, Counters> counters = new HashMap<>();
+                fields.forEach((field, value) -> {
+                    if (field.endsWith(":available")) {
+                        String productId = field.substring(0, field.length() - ":available".length());
+                        counters.put(productId, new Counters(
+                            Integer.parseInt(value),
+                            Integer.parseInt(fields.getOrDefault(productId + ":reserved", "0")),
+                            Long.parseLong(fields.getOrDefault(productId + ":seq", "0"))));
+                    }
+                });
+                return counters;
+            });
+    }
+    
+    private Mono<Integer> repair(DatabaseCounters database, Map<String, Counters> ledger) {
+        return Flux.fromIterable(ledger.entrySet())
+            // Movements above the applied sequence are still on their way to the database
+            .filter(entry -> entry.getValue().seq() <= database.appliedSeq())
+            .filter(entry -> database.counters().containsKey(entry.getKey()))
+            .concatMap(entry -> {
+                Counters expected = database.counters().get(entry.getKey());
+                Counters actual = entry.getValue();
+                int availableDrift = expected.available() - actual.available();
+                int reservedDrift = expected.reserved() - actual.reserved();
+                if (availableDrift == 0 && reservedDrift == 0) {
+                    return Mono.empty();
+                }
+                
+                return redisTemplate.execute(REPAIR_SCRIPT, List.of(RedisStockLedger.COUNTERS_KEY), List.of(
+                        entry.getKey(),
+                        String.valueOf(actual.seq()),
+                        String.valueOf(availableDrift),
+                        String.valueOf(reservedDrift)))
+                    .next()
+                    .filter(applied -> applied == 1)
+                    .doOnNext(applied -> log.debug("Adjusted ledger of product {} by {} available, {} reserved",
+                        entry.getKey(), availableDrift, reservedDrift));
+            })
+            .count()
+            .map(Long::intValue);
+    }
+    
+    private record Row(Long appliedSeq, String productId, Integer available, Integer reserved) {
+    }
+    
+    private record Counters(int available, int reserved, long seq) {
+    }
+    
+    private record DatabaseCounters(long appliedSeq, Map<String, Counters> counters) {
+    }
+}
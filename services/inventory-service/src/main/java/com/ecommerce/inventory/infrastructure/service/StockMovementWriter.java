@@ -0,0 +1,272 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/service/StockMovementWriter.java
+package com.ecommerce.inventory.infrastructure.service;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.InventoryEventPublisher;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.event.InventoryReleasedEvent;
+import com.ecommerce.inventory.domain.event.InventoryReservedEvent;
+import com.ecommerce.inventory.domain.repository.InventoryReservationRepository;
+import com.ecommerce.inventory.domain.valueobject.ReservationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the movements accepted by {@link RedisStockLedger} to Postgres in batches. Each batch
+ * applies the counter deltas, inserts or releases the reservation rows, records their events
+ * in the outbox and advances {@code inventory_stock_ledger_offset} in one transaction, and its
+ * stream entries are acknowledged only after that commit. Entries redelivered after a crash
+ * carry sequence numbers at or below the stored offset and are skipped. A transaction-scoped
+ * advisory lock lets one replica write at a time, which keeps movements in sequence order.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.redis-stock.enabled", havingValue = "true")
+@Slf4j
+public class StockMovementWriter {
+    
+    private static final String GROUP = "inventory-stock-writer";
+    // Only the lock holder reads, so every replica can use the same consumer and see its pending entries
+    private static final Consumer CONSUMER = Consumer.from(GROUP, "writer");
+    private static final int INSERT_CHUNK = 1000;
+    
+    // Movements were already checked by the ledger, so the database follows them unconditionally
+    private static final String WRITE_DELTAS =
+        "UPDATE inventory_items i " +
+        "SET quantity_available = i.quantity_available + d.available, " +
+        "quantity_reserved = i.quantity_reserved + d.reserved, " +
+        "updated_at = now() " +
+        "FROM unnest(CAST(:productIds AS VARCHAR[]), CAST(:available AS INTEGER[]), CAST(:reserved AS INTEGER[])) " +
+        "AS d(product_id, available, reserved) " +
+        "WHERE i.product_id = d.product_id";
+    
+    private final ReactiveStreamOperations<String, String, String> streams;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final DistributionSummary batchSizes;
+    private final Counter failedCounter;
+    
+    private volatile boolean groupReady;
+    private Disposable writer;
+    
+    public StockMovementWriter(@Value("${inventory.redis-stock.writer.batch-size:1000}") int batchSize,
+                               @Value("${inventory.redis-stock.writer.poll-interval:100ms}") Duration pollInterval,
+                               ReactiveStringRedisTemplate redisTemplate,
+                               DatabaseClient databaseClient,
+                               TransactionalOperator transactionalOperator,
+                               InventoryReservationRepository reservationRepository,
+                               InventoryEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.streams = redisTemplate.opsForStream();
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        
+        this.batchSizes = DistributionSummary.builder("inventory.ledger.writer.batch.size")
+            .description("Stock movements written to Postgres per batch")
+            .register(meterRegistry);
+        this.failedCounter = meterRegistry.counter("inventory.ledger.writer.failures");
+    }
+    
+    @PostConstruct
+    void start() {
+        writer = Flux.interval(Duration.ZERO, pollInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> drain(), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (writer != null) {
+            writer.dispose();
+        }
+    }
+    
+    private Mono<Void> drain() {
+        return ensureGroup()
+            .then(writeBatch())
+            .expand(written -> written == batchSize ? writeBatch() : Mono.empty())
+            .then()
+            .onErrorResume(error -> {
+                // The stream or group may be gone after a Redis restart
+                groupReady = false;
+                failedCounter.increment();
+                log.warn("Stock movement writer failed, retrying on next poll", error);
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Void> ensureGroup() {
+        if (groupReady) {
+            return Mono.empty();
+        }
+        return streams.createGroup(RedisStockLedger.MOVEMENTS_KEY, ReadOffset.from("0"), GROUP)
+            .then()
+            .onErrorResume(error -> String.valueOf(NestedExceptionUtils.getMostSpecificCause(error).getMessage())
+                .contains("BUSYGROUP") ? Mono.empty() : Mono.error(error))
+            .doOnSuccess(unused -> groupReady = true);
+    }
+    
+    private Mono<Integer> writeBatch() {
+        return transactionalOperator.transactional(
+                databaseClient.sql("SELECT pg_try_advisory_xact_lock(hashtext('inventory_stock_writer'))")
+                    .map(row -> row.get(0, Boolean.class))
+                    .one()
+                    .flatMap(locked -> locked ? readBatch().flatMap(this::apply) : Mono.just(List.<RecordId>of())))
+            .flatMap(ids -> ids.isEmpty()
+                ? Mono.just(0)
+                : streams.acknowledge(RedisStockLedger.MOVEMENTS_KEY, GROUP, ids.toArray(RecordId[]::new))
+                    .then(streams.delete(RedisStockLedger.MOVEMENTS_KEY, ids.toArray(RecordId[]::new)))
+                    .thenReturn(ids.size()));
+    }
+    
+    private Mono<List<MapRecord<String, String, String>>> readBatch() {
+        // Entries read before a crash, but never acknowledged, come first
+        return read(ReadOffset.from("0"))
+            .flatMap(pending -> pending.isEmpty() ? read(ReadOffset.lastConsumed()) : Mono.just(pending));
+    }
+    
+    private Mono<List<MapRecord<String, String, String>>> read(ReadOffset offset) {
+        return streams.read(CONSUMER, StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(RedisStockLedger.MOVEMENTS_KEY, offset))
+            .collectList();
+    }
+    
+    private Mono<List<RecordId>> apply(List<MapRecord<String, String, String>> records) {
+        if (records.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        
+        List<RecordId> ids = records.stream().map(MapRecord::getId).toList();
+        return databaseClient.sql("SELECT applied_seq FROM inventory_stock_ledger_offset WHERE id = 1")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(applied -> {
+                List<StockMovement> movements = records.stream()
+                    .map(record -> StockMovement.parse(record.getValue()))
+                    .filter(movement -> movement.seq() > applied)
+                    .toList();
+                return movements.isEmpty() ? Mono.empty() : write(movements);
+            })
+            .thenReturn(ids);
+    }
+    
+    private Mono<Void> write(List<StockMovement> movements) {
+        Map<String, int[]> deltas = new LinkedHashMap<>();
+        List<InventoryReservation> reserved = new ArrayList<>();
+        List<InventoryReservedEvent> reservedEvents = new ArrayList<>();
+        List<InventoryReleasedEvent> releasedEvents = new ArrayList<>();
+        
+        for (StockMovement movement : movements) {
+            for (MovementLine line : movement.lines()) {
+                int moved = movement.reserve() ? line.quantity() : -line.quantity();
+                int[] delta = deltas.computeIfAbsent(line.productId(), id -> new int[2]);
+                delta[0] -= moved;
+                delta[1] += moved;
+                
+                ProductId productId = ProductId.of(line.productId());
+                if (movement.reserve()) {
+                    reserved.add(new InventoryReservation(
+                        line.reservationId(), movement.orderId(), productId, line.quantity(), movement.expiresAt()));
+                    reservedEvents.add(new InventoryReservedEvent(
+                        movement.orderId(), productId, line.quantity(), line.reservationId()));
+                } else {
+                    releasedEvents.add(new InventoryReleasedEvent(
+                        movement.orderId(), productId, line.quantity(), line.reservationId(), ReservationStatus.RELEASED));
+                }
+            }
+        }
+        
+        long lastSeq = movements.get(movements.size() - 1).seq();
+        return writeDeltas(deltas)
+            .then(Flux.fromIterable(reserved)
+                .buffer(INSERT_CHUNK)
+                .concatMap(reservationRepository::insertAll)
+                .then())
+            .then(markReleased(releasedEvents))
+            .then(reservedEvents.isEmpty() ? Mono.empty() : eventPublisher.publishInventoryReserved(reservedEvents))
+            .then(releasedEvents.isEmpty() ? Mono.empty() : eventPublisher.publishInventoryReleased(releasedEvents))
+            .then(databaseClient.sql("UPDATE inventory_stock_ledger_offset SET applied_seq = :seq WHERE id = 1")
+                .bind("seq", lastSeq)
+                .then())
+            .doOnSuccess(unused -> {
+                batchSizes.record(movements.size());
+                log.debug("Wrote {} stock movements up to sequence {}", movements.size(), lastSeq);
+            });
+    }
+    
+    private Mono<Void> writeDeltas(Map<String, int[]> deltas) {
+        return databaseClient.sql(WRITE_DELTAS)
+            .bind("productIds", deltas.keySet().toArray(String[]::new))
+            .bind("available", deltas.values().stream().map(delta -> delta[0]).toArray(Integer[]::new))
+            .bind("reserved", deltas.values().stream().map(delta -> delta[1]).toArray(Integer[]::new))
+            .then();
+    }
+    
+    private Mono<Void> markReleased(List<InventoryReleasedEvent> released) {
+        if (released.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("UPDATE inventory_reservations SET status = 'RELEASED', released_at = now() " +
+                                  "WHERE reservation_id = ANY(:ids) AND status = 'ACTIVE'")
+            .bind("ids", released.stream().map(InventoryReleasedEvent::getReservationId).toArray(String[]::new))
+            .then();
+    }
+    
+    private record MovementLine(String reservationId, String productId, int quantity) {
+    }
+    
+    private record StockMovement(long seq, boolean reserve, OrderId orderId, Instant expiresAt,
+                                 List<MovementLine> lines) {
+        
+        static StockMovement parse(Map<String, String> fields) {
+            List<MovementLine> lines = Arrays.stream(fields.get("lines").split(";"))
+                .map(line -> line.split(","))
+                .map(parts -> new MovementLine(parts[0], parts[1], Integer.parseInt(parts[2])))
+                .toList();
+            return new StockMovement(
+                Long.parseLong(fields.get("seq")),
+                "reserve".equals(fields.get("type")),
+                OrderId.of(fields.get("order")),
+                Instant.ofEpochMilli(Long.parseLong(fields.get("expires"))),
+                lines);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/web/InventoryAdminController.java
+package com.ecommerce.inventory.infrastructure.web;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.usecase.ConfigureRedisStockUseCase;
+import com.ecommerce.inventory.application.usecase.ConfigureStockBucketsUseCase;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/admin/inventory")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory Administration", description = "Administrative inventory operations")
+public class InventoryAdminController {
+    
+    private final ConfigureStockBucketsUseCase configureStockBucketsUseCase;
+    private final ConfigureRedisStockUseCase configureRedisStockUseCase;
+    
+    @PutMapping("/{productId}/stock-buckets")
+    @Operation(summary = "Enable hot SKU mode",
+               description = "Splits the available stock of an item into buckets that are reserved from concurrently")
+    @ApiResponse(responseCode = "200", description = "Stock striped")
+    @ApiResponse(responseCode = "400", description = "Invalid bucket count or unknown product")
+    public Mono<ResponseEntity<InventoryItem>> stripeStock(@PathVariable String productId,
+                                                           @RequestParam int buckets) {
+        log.info("Striping stock of product {} into {} buckets", productId, buckets);
+        
+        return configureStockBucketsUseCase.stripe(ProductId.of(productId), buckets)
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to stripe stock of product {}", productId, error));
+    }
+    
+    @DeleteMapping("/{productId}/stock-buckets")
+    @Operation(summary = "Disable hot SKU mode",
+               description = "Folds the stock buckets of an item back into its row")
+    @ApiResponse(responseCode = "200", description = "Stock unstriped")
+    @ApiResponse(responseCode = "400", description = "Unknown product")
+    public Mono<ResponseEntity<InventoryItem>> unstripeStock(@PathVariable String productId) {
+        log.info("Unstriping stock of product {}", productId);
+        
+        return configureStockBucketsUseCase.unstripe(ProductId.of(productId))
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to unstripe stock of product {}", productId, error));
+    }
+    
+    @PutMapping("/categories/{category}/redis-stock")
+    @Operation(summary = "Move a category to the stock ledger",
+               description = "Reserves the items of a category from Redis counters that are written to the database asynchronously")
+    @ApiResponse(responseCode = "200", description = "Number of items moved")
+    @ApiResponse(responseCode = "400", description = "Redis stock mode is not enabled")
+    public Mono<ResponseEntity<Integer>> enableRedisStock(@PathVariable String category) {
+        log.info("Moving category {} to the stock ledger", category);
+        
+        return configureRedisStockUseCase.enable(category)
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to move category {} to the stock ledger", category, error));
+    }
+    
+    @DeleteMapping("/categories/{category}/redis-stock")
+    @Operation(summary = "Move a category back to the database",
+               description = "Reserves the items of a category with row locking again")
+    @ApiResponse(responseCode = "200", description = "Number of items moved")
+    @ApiResponse(responseCode = "400", description = "Redis stock mode is not enabled")
+    public Mono<ResponseEntity<Integer>> disableRedisStock(@PathVariable String category) {
+        log.info("Moving category {} back to the database", category);
+        
+        return configureRedisStockUseCase.disable(category)
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to move category {} back to the database", category, error));
+    }
+}
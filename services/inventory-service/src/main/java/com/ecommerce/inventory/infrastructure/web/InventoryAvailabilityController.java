@@ -0,0 +1,38 @@
+// services/inventory-service/src/main/java/com/ecommerce/inventory/infrastructure/web/InventoryAvailabilityController.java
+package com.ecommerce.inventory.infrastructure.web;
+
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.dto.ProductAvailability;
+import com.ecommerce.inventory.application.usecase.GetProductAvailabilityUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/inventory/availability")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory Availability", description = "Stock status for catalog and search pages")
+public class InventoryAvailabilityController {
+    
+    private final GetProductAvailabilityUseCase getProductAvailabilityUseCase;
+    
+    // POST because a page worth of product ids does not fit in a request line
+    @PostMapping
+    @Operation(summary = "Get availability of many products",
+               description = "Returns available quantity and low and out of stock flags for each known product")
+    @ApiResponse(responseCode = "200", description = "Availability of the products that have inventory")
+    @ApiResponse(responseCode = "400", description = "No products or too many products requested")
+    public Mono<ResponseEntity<List<ProductAvailability>>> getAvailability(@RequestBody List<String> productIds) {
+        return getProductAvailabilityUseCase.execute(productIds.stream().map(ProductId::of).toList())
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to get availability of {} products", productIds.size(), error));
+    }
+}
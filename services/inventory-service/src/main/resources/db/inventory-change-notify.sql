@@ -0,0 +1,82 @@
+-- Sends the product ids of items whose stock or thresholds changed on inventory_changes,
+-- whatever path made the change. The triggers fire once per statement and send one
+-- comma-separated notification for the rows a statement touched, so a batch update of many
+-- products queues one notification instead of one per row. Lists too long for the 8000 byte
+-- payload limit are sent as '*', which makes listeners reload everything.
+-- Transition tables allow one event per trigger, hence a trigger per event.
+-- The function body is quoted rather than dollar-quoted so the script splits on semicolons.
+CREATE OR REPLACE FUNCTION notify_inventory_changes() RETURNS trigger LANGUAGE plpgsql AS '
+DECLARE
+    changed TEXT;
+BEGIN
+    IF TG_OP = ''INSERT'' THEN
+        SELECT string_agg(DISTINCT product_id, '','') INTO changed FROM new_rows;
+    ELSIF TG_OP = ''DELETE'' THEN
+        SELECT string_agg(DISTINCT product_id, '','') INTO changed FROM old_rows;
+    ELSIF TG_TABLE_NAME = ''inventory_stock_buckets'' THEN
+        SELECT string_agg(DISTINCT n.product_id, '','') INTO changed
+        FROM new_rows n JOIN old_rows o ON o.product_id = n.product_id AND o.bucket = n.bucket
+        WHERE o.quantity_available IS DISTINCT FROM n.quantity_available
+           OR o.quantity_reserved IS DISTINCT FROM n.quantity_reserved;
+    ELSE
+        SELECT string_agg(DISTINCT n.product_id, '','') INTO changed
+        FROM new_rows n JOIN old_rows o ON o.product_id = n.product_id
+        WHERE o.quantity_available IS DISTINCT FROM n.quantity_available
+           OR o.quantity_reserved IS DISTINCT FROM n.quantity_reserved
+           OR o.reorder_level IS DISTINCT FROM n.reorder_level
+           OR o.is_active IS DISTINCT FROM n.is_active;
+    END IF;
+
+    IF changed IS NOT NULL THEN
+        PERFORM pg_notify(''inventory_changes'', CASE WHEN octet_length(changed) > 7900 THEN ''*'' ELSE changed END);
+    END IF;
+    RETURN NULL;
+END
+';
+
+DROP TRIGGER IF EXISTS inventory_items_added_or_removed ON inventory_items;
+DROP TRIGGER IF EXISTS inventory_items_changed ON inventory_items;
+DROP TRIGGER IF EXISTS inventory_stock_buckets_changed ON inventory_stock_buckets;
+DROP FUNCTION IF EXISTS notify_inventory_change();
+
+DROP TRIGGER IF EXISTS inventory_items_inserted ON inventory_items;
+
+CREATE TRIGGER inventory_items_inserted
+    AFTER INSERT ON inventory_items
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
+
+DROP TRIGGER IF EXISTS inventory_items_updated ON inventory_items;
+
+CREATE TRIGGER inventory_items_updated
+    AFTER UPDATE ON inventory_items
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
+
+DROP TRIGGER IF EXISTS inventory_items_deleted ON inventory_items;
+
+CREATE TRIGGER inventory_items_deleted
+    AFTER DELETE ON inventory_items
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
+
+DROP TRIGGER IF EXISTS inventory_stock_buckets_inserted ON inventory_stock_buckets;
+
+CREATE TRIGGER inventory_stock_buckets_inserted
+    AFTER INSERT ON inventory_stock_buckets
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
+
+DROP TRIGGER IF EXISTS inventory_stock_buckets_updated ON inventory_stock_buckets;
+
+CREATE TRIGGER inventory_stock_buckets_updated
+    AFTER UPDATE ON inventory_stock_buckets
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
+
+DROP TRIGGER IF EXISTS inventory_stock_buckets_deleted ON inventory_stock_buckets;
+
+CREATE TRIGGER inventory_stock_buckets_deleted
+    AFTER DELETE ON inventory_stock_buckets
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_inventory_changes();
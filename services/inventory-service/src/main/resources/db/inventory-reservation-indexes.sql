@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_reservation_id
+    ON inventory_reservations (reservation_id);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_active
+    ON inventory_reservations (product_id)
+    WHERE status = 'ACTIVE';
@@ -0,0 +1,8 @@
+-- Low stock alert state per product, shared by all replicas so a crossing is alerted once
+CREATE TABLE IF NOT EXISTS inventory_stock_alerts (
+    product_id VARCHAR(64) PRIMARY KEY,
+    alerted BOOLEAN NOT NULL,
+    last_alert_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_stock_alerts_alerted ON inventory_stock_alerts (product_id) WHERE alerted;
@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS inventory_stock_buckets (
+    product_id VARCHAR(64) NOT NULL,
+    bucket SMALLINT NOT NULL,
+    quantity_available INTEGER NOT NULL CHECK (quantity_available >= 0),
+    quantity_reserved INTEGER NOT NULL DEFAULT 0 CHECK (quantity_reserved >= 0),
+    PRIMARY KEY (product_id, bucket)
+);
+
+CREATE OR REPLACE VIEW inventory_item_stock AS
+SELECT i.*,
+       COALESCE(b.available, 0) AS striped_available,
+       COALESCE(b.reserved, 0) AS striped_reserved,
+       COALESCE(b.buckets, 0) AS stock_buckets
+FROM inventory_items i
+LEFT JOIN (
+    SELECT product_id,
+           CAST(SUM(quantity_available) AS INTEGER) AS available,
+           CAST(SUM(quantity_reserved) AS INTEGER) AS reserved,
+           CAST(COUNT(*) AS INTEGER) AS buckets
+    FROM inventory_stock_buckets
+    GROUP BY product_id
+) b ON b.product_id = i.product_id;
@@ -0,0 +1,7 @@
+-- Last Redis stock ledger movement written to inventory_items, advanced in the same transaction
+CREATE TABLE IF NOT EXISTS inventory_stock_ledger_offset (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    applied_seq BIGINT NOT NULL
+);
+
+INSERT INTO inventory_stock_ledger_offset (id, applied_seq) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
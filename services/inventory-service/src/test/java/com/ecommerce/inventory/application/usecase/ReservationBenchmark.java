@@ -0,0 +1,140 @@
+// services/inventory-service/src/test/java/com/ecommerce/inventory/application/usecase/ReservationBenchmark.java
+package com.ecommerce.inventory.application.usecase;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.InventoryServiceApplication;
+import com.ecommerce.inventory.application.dto.OrderReservationResult;
+import com.ecommerce.inventory.application.dto.ReservationLine;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import com.ecommerce.inventory.domain.repository.InventoryItemRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reservation throughput of each reservation path on the same hardware and data, with many
+ * concurrent callers: single-unit reservations of one hot product, and three-line orders
+ * over a small set of products that overlap the way carts do. The paths are the conditional
+ * update, the conditional update with the product striped into stock buckets, the
+ * partitioned in-memory engine and the Redis stock ledger.
+ * <p>
+ * It starts the service without its web server against the Postgres, Redis and Kafka the
+ * usual settings point at ({@code POSTGRES_HOST}, {@code REDIS_HOST}, {@code KAFKA_BROKERS}),
+ * creates fresh products with stock for the whole run and leaves the reservations to
+ * expire, so point it at a disposable environment. Run with
+ * {@code mvn -pl services/inventory-service test-compile}, then
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main ReservationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class ReservationBenchmark {
+    
+    private static final int STOCK = 10_000_000;
+    private static final int ORDER_PRODUCTS = 8;
+    private static final int ORDER_LINES = 3;
+    
+    @Param({"row-lock", "buckets-4", "buckets-16", "partitioned", "redis"})
+    private String path;
+    
+    private ConfigurableApplicationContext context;
+    private ReserveInventoryUseCase reserveInventoryUseCase;
+    private ReserveOrderUseCase reserveOrderUseCase;
+    private ProductId hotProduct;
+    private List<ProductId> orderProducts;
+    private final AtomicInteger orders = new AtomicInteger();
+    
+    @Setup
+    public void setUp() {
+        // Passed as arguments, as default properties would lose to application.yml
+        List<String> args = new ArrayList<>();
+        if ("partitioned".equals(path)) {
+            args.add("--inventory.reservation.engine=partitioned");
+        }
+        if ("redis".equals(path)) {
+            args.add("--inventory.redis-stock.enabled=true");
+        }
+        context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+        reserveInventoryUseCase = context.getBean(ReserveInventoryUseCase.class);
+        reserveOrderUseCase = context.getBean(ReserveOrderUseCase.class);
+        
+        String category = "benchmark-" + UUID.randomUUID();
+        hotProduct = createProduct(category);
+        orderProducts = new ArrayList<>(ORDER_PRODUCTS);
+        for (int i = 0; i < ORDER_PRODUCTS; i++) {
+            orderProducts.add(createProduct(category));
+        }
+        
+        if (path.startsWith("buckets-")) {
+            int buckets = Integer.parseInt(path.substring("buckets-".length()));
+            ConfigureStockBucketsUseCase stockBuckets = context.getBean(ConfigureStockBucketsUseCase.class);
+            stockBuckets.stripe(hotProduct, buckets).block();
+            orderProducts.forEach(productId -> stockBuckets.stripe(productId, buckets).block());
+        }
+        if ("redis".equals(path)) {
+            context.getBean(ConfigureRedisStockUseCase.class).enable(category).block();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public InventoryReservation hotProduct() {
+        return reserveInventoryUseCase.execute(newOrderId(), hotProduct, 1).block();
+    }
+    
+    @Benchmark
+    public OrderReservationResult order() {
+        // Consecutive products from a rotating start
+        int start = orders.getAndIncrement();
+        List<ReservationLine> lines = new ArrayList<>(ORDER_LINES);
+        for (int line = 0; line < ORDER_LINES; line++) {
+            lines.add(new ReservationLine(orderProducts.get((start + line) % ORDER_PRODUCTS), 1));
+        }
+        return reserveOrderUseCase.execute(newOrderId(), lines).block();
+    }
+    
+    private ProductId createProduct(String category) {
+        String id = UUID.randomUUID().toString();
+        InventoryItem item = new InventoryItem(ProductId.of(id), "Benchmark product " + id, "BENCH-" + id,
+            STOCK, 1, STOCK, BigDecimal.ONE, "BENCH");
+        item.setCategory(category);
+        context.getBean(InventoryItemRepository.class).save(item).block();
+        return item.getProductId();
+    }
+    
+    private static OrderId newOrderId() {
+        return OrderId.of(UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,128 @@
+// services/inventory-service/src/test/java/com/ecommerce/inventory/infrastructure/expiry/TimingWheelTest.java
+package com.ecommerce.inventory.infrastructure.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    
+    private static final Duration TICK = Duration.ofSeconds(1);
+    
+    @Test
+    void firesOnTheFirstTickAtOrAfterTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 0);
+        wheel.schedule("a", 1_500);
+        
+        assertThat(wheel.advance(1_000)).isEmpty();
+        assertThat(wheel.advance(1_999)).isEmpty();
+        assertThat(wheel.advance(2_000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void pastDeadlinesAreDueOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 10_000);
+        wheel.schedule("late", 3_000);
+        
+        assertThat(wheel.advance(10_000)).containsExactly("late");
+    }
+    
+    @Test
+    void cascadesFromHigherLevelsAndFiresExactlyOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 3, 0);
+        // Level 1 and level 2 deadlines that must drop through the lower levels
+        wheel.schedule("level1", 100_000);
+        wheel.schedule("level2", 5_000_000);
+        
+        Map<String, Long> firedAt = advanceTickByTick(wheel, 0, 6_000);
+        
+        assertThat(firedAt).containsEntry("level1", 100L).containsEntry("level2", 5_000L);
+    }
+    
+    @Test
+    void deadlinesBeyondTheTopLevelWaitInOverflow() {
+        // One level covers 64 ticks, so these deadlines start in the overflow set
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 1, 0);
+        wheel.schedule("overflow", 200_000);
+        wheel.schedule("far", 1_000_000);
+        
+        Map<String, Long> firedAt = advanceTickByTick(wheel, 0, 1_100);
+        
+        assertThat(firedAt).containsEntry("overflow", 200L).containsEntry("far", 1_000L);
+    }
+    
+    @Test
+    void cancelledKeysNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 0);
+        wheel.schedule("kept", 5_000);
+        wheel.schedule("cancelled", 5_000);
+        wheel.schedule("cancelled-in-overflow", 10_000_000);
+        
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled-in-overflow")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+        
+        assertThat(advanceTickByTick(wheel, 0, 11_000)).containsOnlyKeys("kept");
+    }
+    
+    @Test
+    void reschedulingReplacesTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 0);
+        wheel.schedule("a", 3_000);
+        wheel.schedule("a", 70_000);
+        
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advanceTickByTick(wheel, 0, 100)).containsExactly(Map.entry("a", 70L));
+    }
+    
+    @Test
+    void aLargeJumpFiresEverythingThatCameDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 0);
+        wheel.schedule("soon", 2_000);
+        wheel.schedule("later", 300_000);
+        wheel.schedule("overflow", 9_000_000);
+        
+        assertThat(wheel.advance(300_000)).containsExactlyInAnyOrder("soon", "later");
+        assertThat(wheel.advance(9_000_000)).containsExactly("overflow");
+    }
+    
+    @Test
+    void randomDeadlinesNeverFireEarlyOrLate() {
+        Random random = new Random(42);
+        long start = 1_234_567;
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 2, start);
+        Map<Integer, Long> dueTick = new HashMap<>();
+        for (int key = 0; key < 2_000; key++) {
+            long deadline = start + random.nextInt(10_000_000);
+            wheel.schedule(key, deadline);
+            dueTick.put(key, -Math.floorDiv(-deadline, TICK.toMillis()));
+        }
+        
+        Map<Integer, Long> firedAt = advanceTickByTick(wheel, start / TICK.toMillis(), 12_000);
+        
+        assertThat(firedAt).isEqualTo(dueTick);
+        assertThat(wheel.size()).isZero();
+    }
+    
+    /**
+     * Advances one tick at a time and records the tick on which each key came due.
+     */
+    private static <K> Map<K, Long> advanceTickByTick(TimingWheel<K> wheel, long fromTick, long ticks) {
+        Map<K, Long> firedAt = new HashMap<>();
+        for (long tick = fromTick; tick <= fromTick + ticks; tick++) {
+            List<K> due = wheel.advance(tick * TICK.toMillis());
+            for (K key : due) {
+                assertThat(firedAt.put(key, tick)).as("%s fired twice", key).isNull();
+            }
+        }
+        return firedAt;
+    }
+}
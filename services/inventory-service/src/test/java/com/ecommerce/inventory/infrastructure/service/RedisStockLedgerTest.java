@@ -0,0 +1,219 @@
+// services/inventory-service/src/test/java/com/ecommerce/inventory/infrastructure/service/RedisStockLedgerTest.java
+package com.ecommerce.inventory.infrastructure.service;
+
+import com.ecommerce.domain.common.valueobject.OrderId;
+import com.ecommerce.domain.common.valueobject.ProductId;
+import com.ecommerce.inventory.application.service.StockLedger.Status;
+import com.ecommerce.inventory.domain.entity.InventoryItem;
+import com.ecommerce.inventory.domain.entity.InventoryReservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class RedisStockLedgerTest {
+    
+    @Container
+    private static final GenericContainer<?> REDIS =
+        new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+    
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    private static LettuceConnectionFactory redisConnectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+    private static RedisStockLedger ledger;
+    
+    @BeforeAll
+    static void connect() throws Exception {
+        redisConnectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        redisConnectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveStringRedisTemplate(redisConnectionFactory);
+        
+        DatabaseClient databaseClient = DatabaseClient.create(new PostgresqlConnectionFactory(
+            PostgresqlConnectionConfiguration.builder()
+                .host(POSTGRES.getHost())
+                .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .database(POSTGRES.getDatabaseName())
+                .username(POSTGRES.getUsername())
+                .password(POSTGRES.getPassword())
+                .build()));
+        String script = new ClassPathResource("db/inventory-stock-ledger.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : script.split(";")) {
+            if (!statement.isBlank()) {
+                databaseClient.sql(statement).then().block();
+            }
+        }
+        
+        ledger = new RedisStockLedger(redisTemplate, databaseClient, new SimpleMeterRegistry());
+    }
+    
+    @AfterAll
+    static void disconnect() {
+        redisConnectionFactory.destroy();
+    }
+    
+    @Test
+    void reservesEveryLineOfAnOrderOrNone() {
+        InventoryItem first = managedItem(10);
+        InventoryItem second = managedItem(5);
+        OrderId orderId = newOrderId();
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, first, 4), line(orderId, second, 6))))
+            .assertNext(outcome -> {
+                assertThat(outcome.status()).isEqualTo(Status.UNAVAILABLE);
+                assertThat(outcome.unavailable()).containsExactly(second.getProductId());
+            })
+            .verifyComplete();
+        assertCounters(first, 10, 0);
+        assertCounters(second, 5, 0);
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, first, 4), line(orderId, second, 5))))
+            .assertNext(outcome -> assertThat(outcome.status()).isEqualTo(Status.RESERVED))
+            .verifyComplete();
+        assertCounters(first, 6, 4);
+        assertCounters(second, 0, 5);
+        assertThat(movementsOf(orderId)).containsExactly("reserve");
+    }
+    
+    @Test
+    void linesForTheSameProductAreCheckedTogether() {
+        InventoryItem item = managedItem(5);
+        OrderId orderId = newOrderId();
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, item, 3), line(orderId, item, 3))))
+            .assertNext(outcome -> assertThat(outcome.status()).isEqualTo(Status.UNAVAILABLE))
+            .verifyComplete();
+        assertCounters(item, 5, 0);
+    }
+    
+    @Test
+    void reportsProductsTheLedgerDoesNotManage() {
+        InventoryItem managed = managedItem(5);
+        InventoryItem unmanaged = item(5);
+        OrderId orderId = newOrderId();
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, managed, 1), line(orderId, unmanaged, 1))))
+            .assertNext(outcome -> {
+                assertThat(outcome.status()).isEqualTo(Status.RESERVED);
+                assertThat(outcome.unmanaged()).containsExactly(unmanaged.getProductId());
+            })
+            .verifyComplete();
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, unmanaged, 1))))
+            .assertNext(outcome -> {
+                assertThat(outcome.status()).isEqualTo(Status.UNMANAGED);
+                assertThat(outcome.unmanaged()).containsExactly(unmanaged.getProductId());
+            })
+            .verifyComplete();
+        assertCounters(managed, 4, 1);
+    }
+    
+    @Test
+    void releaseReturnsReservedStock() {
+        InventoryItem item = managedItem(8);
+        OrderId orderId = newOrderId();
+        List<InventoryReservation> lines = List.of(line(orderId, item, 3));
+        ledger.reserve(orderId, lines).block();
+        
+        StepVerifier.create(ledger.release(orderId, lines)).verifyComplete();
+        
+        assertCounters(item, 8, 0);
+        assertThat(movementsOf(orderId)).containsExactly("reserve", "release");
+    }
+    
+    @Test
+    void managingAgainKeepsTheLiveCounters() {
+        InventoryItem item = managedItem(10);
+        OrderId orderId = newOrderId();
+        ledger.reserve(orderId, List.of(line(orderId, item, 3))).block();
+        
+        StepVerifier.create(ledger.manage(List.of(item))).expectNext(0).verifyComplete();
+        assertCounters(item, 7, 3);
+    }
+    
+    @Test
+    void leavesStripedAndInactiveItemsUnmanaged() {
+        InventoryItem striped = item(10);
+        striped.setStockBuckets(4);
+        InventoryItem inactive = item(10);
+        inactive.setIsActive(false);
+        
+        StepVerifier.create(ledger.manage(List.of(striped, inactive))).expectNext(0).verifyComplete();
+        assertThat(redisTemplate.opsForHash().hasKey(RedisStockLedger.COUNTERS_KEY,
+            striped.getProductId().getValue() + ":available").block()).isFalse();
+    }
+    
+    @Test
+    void unmanagedProductsAreNoLongerReserved() {
+        InventoryItem item = managedItem(10);
+        OrderId orderId = newOrderId();
+        
+        StepVerifier.create(ledger.unmanage(List.of(item.getProductId()))).expectNext(1).verifyComplete();
+        
+        StepVerifier.create(ledger.reserve(orderId, List.of(line(orderId, item, 1))))
+            .assertNext(outcome -> assertThat(outcome.status()).isEqualTo(Status.UNMANAGED))
+            .verifyComplete();
+    }
+    
+    private static InventoryItem managedItem(int available) {
+        InventoryItem item = item(available);
+        assertThat(ledger.manage(List.of(item)).block()).isEqualTo(1);
+        return item;
+    }
+    
+    private static InventoryItem item(int available) {
+        String id = UUID.randomUUID().toString();
+        return new InventoryItem(ProductId.of(id), "Product " + id, "SKU-" + id, available, 1, 1_000,
+            BigDecimal.TEN, "A1");
+    }
+    
+    private static InventoryReservation line(OrderId orderId, InventoryItem item, int quantity) {
+        return new InventoryReservation(UUID.randomUUID().toString(), orderId, item.getProductId(), quantity,
+            Instant.now().plus(Duration.ofMinutes(15)));
+    }
+    
+    private static OrderId newOrderId() {
+        return OrderId.of(UUID.randomUUID().toString());
+    }
+    
+    private static void assertCounters(InventoryItem item, int available, int reserved) {
+        String productId = item.getProductId().getValue();
+        List<Object> counters = redisTemplate.opsForHash()
+            .multiGet(RedisStockLedger.COUNTERS_KEY, List.<Object>of(productId + ":available", productId + ":reserved"))
+            .block();
+        assertThat(counters).containsExactly(String.valueOf(available), String.valueOf(reserved));
+    }
+    
+    private static List<Object> movementsOf(OrderId orderId) {
+        return redisTemplate.opsForStream()
+            .range(RedisStockLedger.MOVEMENTS_KEY, Range.unbounded())
+            .filter(movement -> orderId.getValue().equals(movement.getValue().get("order")))
+            .map(movement -> movement.getValue().get("type"))
+            .collectList()
+            .block();
+    }
+}
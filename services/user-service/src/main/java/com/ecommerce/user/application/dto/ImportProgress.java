@@ -0,0 +1,29 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/ImportProgress.java
+package com.ecommerce.user.application.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportProgress {
+    
+    private final long chunk;
+    private final int received;
+    private final int imported;
+    private final int duplicates;
+    private final int existing;
+    private final int invalid;
+    private final long totalReceived;
+    private final long totalImported;
+    
+    public ImportProgress(long chunk, int received, int imported, int duplicates, int existing, int invalid,
+                          long totalReceived, long totalImported) {
+        this.chunk = chunk;
+        this.received = received;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.existing = existing;
+        this.invalid = invalid;
+        this.totalReceived = totalReceived;
+        this.totalImported = totalImported;
+    }
+}
@@ -0,0 +1,40 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/ImportUserRecord.java
+package com.ecommerce.user.application.dto;
+
+import lombok.Data;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One imported user. The constraints match {@link RegisterUserRequest}, so an import cannot
+ * create accounts that registration would reject.
+ */
+@Data
+public class ImportUserRecord {
+    
+    @NotBlank
+    @Size(min = 3, max = 50)
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]+$", message = "Username can only contain letters, numbers, dots, hyphens, and underscores")
+    private String username;
+    
+    @NotBlank
+    @Email
+    private String email;
+    
+    @NotBlank
+    private String passwordHash;
+    
+    @NotBlank
+    @Size(min = 1, max = 50)
+    private String firstName;
+    
+    @NotBlank
+    @Size(min = 1, max = 50)
+    private String lastName;
+    
+    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Invalid phone number format")
+    private String phoneNumber;
+}
@@ -0,0 +1,14 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/IntrospectTokensRequest.java
+package com.ecommerce.user.application.dto;
+
+import lombok.Data;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+public class IntrospectTokensRequest {
+    
+    @NotEmpty
+    private List<String> tokens;
+}
@@ -0,0 +1,41 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/TokenClaims.java
+package com.ecommerce.user.application.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class TokenClaims {
+    
+    private final String userId;
+    private final String tokenId;
+    private final String sessionId;
+    private final String tokenType;
+    private final String username;
+    private final String email;
+    private final String role;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    
+    public TokenClaims(String userId, String tokenId, String sessionId, String tokenType, String username,
+                       String email, String role, Instant issuedAt, Instant expiresAt) {
+        this.userId = userId;
+        this.tokenId = tokenId;
+        this.sessionId = sessionId;
+        this.tokenType = tokenType;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+    
+    public boolean isExpired() {
+        return expiresAt != null && !expiresAt.isAfter(Instant.now());
+    }
+}
\ No newline at end of file
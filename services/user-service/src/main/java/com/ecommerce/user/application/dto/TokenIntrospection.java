@@ -0,0 +1,36 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/TokenIntrospection.java
+package com.ecommerce.user.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospection {
+    
+    private static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null, null);
+    
+    private final boolean active;
+    private final String subject;
+    private final String username;
+    private final String role;
+    private final Instant expiresAt;
+    
+    public TokenIntrospection(boolean active, String subject, String username, String role, Instant expiresAt) {
+        this.active = active;
+        this.subject = subject;
+        this.username = username;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+    
+    public static TokenIntrospection active(TokenClaims claims) {
+        return new TokenIntrospection(true, claims.getUserId(), claims.getUsername(), claims.getRole(), claims.getExpiresAt());
+    }
+    
+    public static TokenIntrospection inactive() {
+        return INACTIVE;
+    }
+}
@@ -0,0 +1,22 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/dto/UserPage.java
+package com.ecommerce.user.application.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of users. {@code nextCursor} is the id to pass as {@code after} for the
+ * following page and is null on the last page.
+ */
+@Data
+public class UserPage {
+    
+    private final List<UserResponse> users;
+    private final String nextCursor;
+    
+    public UserPage(List<UserResponse> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -2,16 +2,43 @@
 package com.ecommerce.user.application.service;
 
 import com.ecommerce.user.application.dto.JwtTokens;
+import com.ecommerce.user.application.dto.TokenClaims;
+import com.ecommerce.user.application.dto.TokenIntrospection;
 import com.ecommerce.user.domain.entity.User;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface JwtService {
     
     Mono<JwtTokens> generateTokens(User user);
     
-    Mono<String> refreshAccessToken(String refreshToken);
+    /**
+     * Exchanges a refresh token for a new access and refresh token pair. The presented
+     * refresh token stops working; presenting it again ends its session.
+     */
+    Mono<JwtTokens> refreshTokens(String refreshToken);
+    
+    /**
+     * Revokes the access token and ends the device session it belongs to.
+     */
+    Mono<Void> logout(String accessToken);
+    
+    /**
+     * Ends every refresh session of the user. Access tokens already issued stay valid
+     * until they expire.
+     */
+    Mono<Void> revokeSessions(String userId);
+    
+    Mono<TokenClaims> verifyToken(String token);
     
     Mono<Boolean> validateToken(String token);
     
     Mono<String> getUserIdFromToken(String token);
+    
+    /**
+     * Verifies a batch of tokens and reports each one in request order. Revoked, expired and
+     * malformed tokens are reported as inactive rather than failing the batch.
+     */
+    Mono<List<TokenIntrospection>> introspect(List<String> tokens);
 }
\ No newline at end of file
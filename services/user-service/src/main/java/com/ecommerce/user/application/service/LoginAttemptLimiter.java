@@ -0,0 +1,18 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/service/LoginAttemptLimiter.java
+package com.ecommerce.user.application.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface LoginAttemptLimiter {
+    
+    Mono<Void> checkAllowed(String usernameOrEmail, String ipAddress);
+    
+    /**
+     * Emits the lock expiry when this failure pushed the account over its limit.
+     */
+    Mono<Instant> recordFailure(String usernameOrEmail, String ipAddress);
+    
+    Mono<Void> recordSuccess(String usernameOrEmail);
+}
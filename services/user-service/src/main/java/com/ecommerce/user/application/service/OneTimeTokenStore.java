@@ -0,0 +1,48 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/service/OneTimeTokenStore.java
+package com.ecommerce.user.application.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Short-lived, single-use tokens sent to users by email. Only a hash of each token is
+ * stored, and issuing a new token for a user and purpose revokes the previous one.
+ * <p>
+ * The raw token never goes into a domain event, because events are kept in the outbox table
+ * and on the Kafka topic. It is staged for the mail sender under a random delivery id instead,
+ * only that id travels in the event, and the mail sender takes the token when it sends the mail.
+ */
+public interface OneTimeTokenStore {
+    
+    enum Purpose {
+        EMAIL_VERIFICATION,
+        PASSWORD_RESET
+    }
+    
+    /**
+     * Issues a token and emits the delivery id under which the mail sender can take the raw
+     * token once, for a delivery window that is at most the token's lifetime.
+     */
+    Mono<String> issue(Purpose purpose, String userId);
+    
+    /**
+     * Removes the raw token staged under the delivery id and emits it, or completes empty if
+     * it was already taken or its delivery window has passed.
+     */
+    Mono<String> takeForDelivery(String deliveryId);
+    
+    /**
+     * Stages a taken token again after its mail could not be sent, so a retry can take it.
+     */
+    Mono<Void> restageForDelivery(String deliveryId, String token);
+    
+    /**
+     * Emits whether the token is currently redeemable, without redeeming it.
+     */
+    Mono<Boolean> isValid(Purpose purpose, String token);
+    
+    /**
+     * Atomically redeems the token and emits the user id it was issued for, or completes
+     * empty if the token is unknown, expired or already used.
+     */
+    Mono<String> consume(Purpose purpose, String token);
+}
@@ -1,11 +1,17 @@
 // services/user-service/src/main/java/com/ecommerce/user/application/service/PasswordService.java
 package com.ecommerce.user.application.service;
 
+import reactor.core.publisher.Mono;
+
 public interface PasswordService {
     
-    String hashPassword(String plainPassword);
+    Mono<String> hashPassword(String plainPassword);
+    
+    Mono<Boolean> verifyPassword(String plainPassword, String hashedPassword);
+    
+    boolean needsRehash(String hashedPassword);
     
-    boolean verifyPassword(String plainPassword, String hashedPassword);
+    boolean isEncodedPassword(String value);
     
     String generateRandomPassword();
 }
\ No newline at end of file
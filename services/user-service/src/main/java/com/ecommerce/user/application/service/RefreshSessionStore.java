@@ -0,0 +1,31 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/service/RefreshSessionStore.java
+package com.ecommerce.user.application.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * One entry per signed-in device, holding the digest of the only refresh token that may
+ * currently be exchanged for that session.
+ */
+public interface RefreshSessionStore {
+    
+    enum Rotation {
+        ROTATED,
+        // An already rotated token was presented again; the session has been ended
+        REUSED,
+        UNKNOWN
+    }
+    
+    Mono<Void> open(String userId, String sessionId, String tokenDigest, Instant expiresAt);
+    
+    /**
+     * Replaces the session's token digest if {@code presentedDigest} is the current one.
+     */
+    Mono<Rotation> rotate(String userId, String sessionId, String presentedDigest, String newDigest, Instant expiresAt);
+    
+    Mono<Void> close(String userId, String sessionId);
+    
+    Mono<Void> closeAll(String userId);
+}
@@ -0,0 +1,16 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/service/RegistrationFilter.java
+package com.ecommerce.user.application.service;
+
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+public interface RegistrationFilter {
+
+    Mono<Tuple2<Boolean, Boolean>> mightContain(String username, String email);
+
+    Mono<Void> add(String username, String email);
+
+    void recordFalsePositive(String field);
+
+    Mono<Long> rebuild();
+}
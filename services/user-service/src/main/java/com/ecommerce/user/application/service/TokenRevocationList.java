@@ -0,0 +1,28 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/service/TokenRevocationList.java
+package com.ecommerce.user.application.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Token ids ({@code jti}) revoked before their expiry. Entries only need to outlive the
+ * token they revoke.
+ */
+public interface TokenRevocationList {
+    
+    Mono<Void> revoke(String tokenId, Instant expiresAt);
+    
+    /**
+     * Emits the subset of the given token ids that are revoked, in a single round trip.
+     */
+    Mono<Set<String>> revokedAmong(Collection<String> tokenIds);
+    
+    /**
+     * Answers from this node's periodically synced copy of the list, without a round trip.
+     * Revocations made on other nodes become visible after at most one sync interval.
+     */
+    boolean isRevoked(String tokenId);
+}
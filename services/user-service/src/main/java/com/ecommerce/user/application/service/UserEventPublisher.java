@@ -1,12 +1,24 @@
 // services/user-service/src/main/java/com/ecommerce/user/application/service/UserEventPublisher.java
 package com.ecommerce.user.application.service;
 
+import com.ecommerce.user.domain.event.EmailVerificationRequestedEvent;
+import com.ecommerce.user.domain.event.PasswordResetRequestedEvent;
 import com.ecommerce.user.domain.event.UserLoggedInEvent;
 import com.ecommerce.user.domain.event.UserRegisteredEvent;
+import reactor.core.publisher.Mono;
 
+/**
+ * Records user events for delivery. Subscribe inside the transaction that makes the change
+ * so the event is stored if and only if the change commits. Login events are bookkeeping and
+ * are written behind in batches, outside any transaction.
+ */
 public interface UserEventPublisher {
     
-    void publishUserRegistered(UserRegisteredEvent event);
+    Mono<Void> publishUserRegistered(UserRegisteredEvent event);
     
-    void publishUserLoggedIn(UserLoggedInEvent event);
-}
\ No newline at end of file
+    Mono<Void> publishUserLoggedIn(UserLoggedInEvent event);
+    
+    Mono<Void> publishEmailVerificationRequested(EmailVerificationRequestedEvent event);
+    
+    Mono<Void> publishPasswordResetRequested(PasswordResetRequestedEvent event);
+}
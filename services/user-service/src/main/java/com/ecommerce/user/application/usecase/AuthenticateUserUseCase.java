@@ -6,6 +6,7 @@ import com.ecommerce.user.application.dto.AuthResponse;
 import com.ecommerce.user.application.dto.LoginRequest;
 import com.ecommerce.user.application.dto.UserResponse;
 import com.ecommerce.user.application.service.JwtService;
+import com.ecommerce.user.application.service.LoginAttemptLimiter;
 import com.ecommerce.user.application.service.PasswordService;
 import com.ecommerce.user.application.service.UserEventPublisher;
 import com.ecommerce.user.domain.entity.User;
@@ -26,13 +27,19 @@ public class AuthenticateUserUseCase {
     private final PasswordService passwordService;
     private final JwtService jwtService;
     private final UserEventPublisher eventPublisher;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final UserMapper userMapper;
     
     public Mono<AuthResponse> execute(LoginRequest request, String ipAddress, String userAgent) {
         log.info("Authenticating user: {}", request.getUsernameOrEmail());
         
-        return findUserByUsernameOrEmail(request.getUsernameOrEmail())
-            .flatMap(user -> validateUserAndPassword(user, request.getPassword()))
+        String usernameOrEmail = request.getUsernameOrEmail();
+        
+        // Throttled attempts are rejected before the user lookup and password hashing
+        return loginAttemptLimiter.checkAllowed(usernameOrEmail, ipAddress)
+            .then(findUserByUsernameOrEmail(usernameOrEmail, ipAddress))
+            .flatMap(user -> validateUserAndPassword(user, request.getPassword(), usernameOrEmail, ipAddress))
+            .flatMap(user -> loginAttemptLimiter.recordSuccess(usernameOrEmail).thenReturn(user))
             .flatMap(user -> recordSuccessfulLogin(user, ipAddress, userAgent))
             .flatMap(this::generateAuthResponse)
             .doOnSuccess(response -> log.info("User authenticated successfully: {}", 
@@ -41,37 +48,59 @@ public class AuthenticateUserUseCase {
                 request.getUsernameOrEmail(), error));
     }
     
-    private Mono<User> findUserByUsernameOrEmail(String usernameOrEmail) {
-        // Try to find by username first, then by email
-        return userRepository.findByUsername(usernameOrEmail)
-            .switchIfEmpty(userRepository.findByEmail(usernameOrEmail))
-            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Invalid credentials")));
+    private Mono<User> findUserByUsernameOrEmail(String usernameOrEmail, String ipAddress) {
+        return userRepository.findCredentialsByUsernameOrEmail(usernameOrEmail)
+            .switchIfEmpty(Mono.defer(() -> loginAttemptLimiter.recordFailure(usernameOrEmail, ipAddress)
+                .then(Mono.error(new BusinessRuleViolationException("Invalid credentials")))));
     }
     
-    private Mono<User> validateUserAndPassword(User user, String password) {
+    private Mono<User> validateUserAndPassword(User user, String password, String usernameOrEmail, String ipAddress) {
         if (!user.canLogin()) {
-            return recordFailedLogin(user)
+            return recordFailedLogin(user, usernameOrEmail, ipAddress)
                 .then(Mono.error(new BusinessRuleViolationException("Account is locked or inactive")));
         }
         
-        if (!passwordService.verifyPassword(password, user.getPasswordHash())) {
-            return recordFailedLogin(user)
-                .then(Mono.error(new BusinessRuleViolationException("Invalid credentials")));
+        return passwordService.verifyPassword(password, user.getPasswordHash())
+            .flatMap(matches -> matches
+                ? upgradePasswordHashIfNeeded(user, password)
+                : recordFailedLogin(user, usernameOrEmail, ipAddress)
+                    .then(Mono.error(new BusinessRuleViolationException("Invalid credentials"))));
+    }
+    
+    private Mono<User> upgradePasswordHashIfNeeded(User user, String password) {
+        if (!passwordService.needsRehash(user.getPasswordHash())) {
+            return Mono.just(user);
         }
         
-        return Mono.just(user);
+        // Persisted together with the login bookkeeping; a busy hasher just skips the upgrade
+        return passwordService.hashPassword(password)
+            .map(newHash -> {
+                user.rehashPassword(newHash);
+                log.info("Password hash upgraded for user: {}", user.getUsername());
+                return user;
+            })
+            .onErrorResume(error -> {
+                log.warn("Failed to upgrade password hash for user: {}", user.getUsername(), error);
+                return Mono.just(user);
+            });
     }
     
     private Mono<User> recordSuccessfulLogin(User user, String ipAddress, String userAgent) {
         user.recordSuccessfulLogin();
         
-        return userRepository.save(user)
-            .doOnSuccess(savedUser -> publishUserLoggedInEvent(savedUser, ipAddress, userAgent));
+        // last_login_at is written behind for a plain login; only a lock reset or rehash touches the row here
+        return publishUserLoggedInEvent(user, ipAddress, userAgent).then(userRepository.saveChanges(user));
     }
     
-    private Mono<User> recordFailedLogin(User user) {
-        user.recordFailedLogin();
-        return userRepository.save(user);
+    private Mono<Void> recordFailedLogin(User user, String usernameOrEmail, String ipAddress) {
+        // Failures are counted by the limiter; the row is only written when it locks the account
+        return loginAttemptLimiter.recordFailure(usernameOrEmail, ipAddress)
+            .flatMap(lockedUntil -> {
+                user.lock(lockedUntil);
+                log.warn("User locked until {} after repeated failed logins: {}", lockedUntil, user.getUsername());
+                return userRepository.saveChanges(user);
+            })
+            .then();
     }
     
     private Mono<AuthResponse> generateAuthResponse(User user) {
@@ -87,13 +116,13 @@ public class AuthenticateUserUseCase {
             });
     }
     
-    private void publishUserLoggedInEvent(User user, String ipAddress, String userAgent) {
+    private Mono<Void> publishUserLoggedInEvent(User user, String ipAddress, String userAgent) {
         UserLoggedInEvent event = new UserLoggedInEvent(
             user.getUserId(),
             user.getUsername(),
             ipAddress,
             userAgent
         );
-        eventPublisher.publishUserLoggedIn(event);
+        return eventPublisher.publishUserLoggedIn(event);
     }
 }
\ No newline at end of file
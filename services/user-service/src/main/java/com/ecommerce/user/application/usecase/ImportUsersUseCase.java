@@ -0,0 +1,184 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/usecase/ImportUsersUseCase.java
+package com.ecommerce.user.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.domain.common.valueobject.UserId;
+import com.ecommerce.user.application.dto.ImportProgress;
+import com.ecommerce.user.application.dto.ImportUserRecord;
+import com.ecommerce.user.application.service.PasswordService;
+import com.ecommerce.user.application.service.RegistrationFilter;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.repository.UserRepository;
+import com.ecommerce.user.domain.valueobject.UserRole;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads users with already hashed passwords, one chunk at a time so memory stays
+ * bounded by the chunk size. Each chunk is deduplicated in memory, checked against existing
+ * users with a single query and written with one multi-row insert.
+ * <p>
+ * Records are validated against the same constraints as registration. The chunk size is
+ * capped because the insert binds every column of every row, and Postgres accepts at most
+ * 65535 bind parameters per statement.
+ */
+@Service
+@Slf4j
+public class ImportUsersUseCase {
+    
+    private static final int FILTER_CONCURRENCY = 32;
+    // About 17 bound columns per user keeps a full chunk near half the bind parameter limit
+    static final int MAX_CHUNK_SIZE = 2000;
+    
+    private final UserRepository userRepository;
+    private final PasswordService passwordService;
+    private final RegistrationFilter registrationFilter;
+    private final Validator validator;
+    private final int chunkSize;
+    
+    public ImportUsersUseCase(@Value("${user-import.chunk-size:500}") int chunkSize,
+                              UserRepository userRepository,
+                              PasswordService passwordService,
+                              RegistrationFilter registrationFilter,
+                              Validator validator) {
+        if (chunkSize > MAX_CHUNK_SIZE) {
+            log.warn("user-import.chunk-size {} exceeds the maximum, using {}", chunkSize, MAX_CHUNK_SIZE);
+        }
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        this.userRepository = userRepository;
+        this.passwordService = passwordService;
+        this.registrationFilter = registrationFilter;
+        this.validator = validator;
+    }
+    
+    public Flux<ImportProgress> execute(Flux<ImportUserRecord> records) {
+        return Flux.defer(() -> {
+            AtomicLong chunks = new AtomicLong();
+            AtomicLong totalReceived = new AtomicLong();
+            AtomicLong totalImported = new AtomicLong();
+            
+            // A prefetch of one keeps at most the current and the next chunk in memory
+            return records
+                .buffer(chunkSize)
+                .concatMap(chunk -> importChunk(chunk)
+                    .map(result -> new ImportProgress(
+                        chunks.incrementAndGet(),
+                        chunk.size(),
+                        result.imported(),
+                        result.duplicates(),
+                        result.existing(),
+                        result.invalid(),
+                        totalReceived.addAndGet(chunk.size()),
+                        totalImported.addAndGet(result.imported()))), 1)
+                .doOnComplete(() -> log.info("User import finished: {} of {} records imported",
+                    totalImported.get(), totalReceived.get()));
+        });
+    }
+    
+    private Mono<ChunkResult> importChunk(List<ImportUserRecord> chunk) {
+        List<User> candidates = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        int invalid = 0;
+        int duplicates = 0;
+        
+        for (ImportUserRecord record : chunk) {
+            User user = toUser(record);
+            if (user == null) {
+                invalid++;
+            } else if (usernames.contains(user.getUsername()) || emails.contains(user.getEmail())) {
+                duplicates++;
+            } else {
+                usernames.add(user.getUsername());
+                emails.add(user.getEmail());
+                candidates.add(user);
+            }
+        }
+        
+        if (candidates.isEmpty()) {
+            return Mono.just(new ChunkResult(0, duplicates, 0, invalid));
+        }
+        
+        int chunkInvalid = invalid;
+        int chunkDuplicates = duplicates;
+        return userRepository.findByUsernamesOrEmails(usernames, emails)
+            .collectList()
+            .flatMap(existingUsers -> {
+                Set<String> takenUsernames = new HashSet<>();
+                Set<String> takenEmails = new HashSet<>();
+                existingUsers.forEach(existingUser -> {
+                    takenUsernames.add(existingUser.getUsername());
+                    takenEmails.add(existingUser.getEmail());
+                });
+                
+                List<User> newUsers = candidates.stream()
+                    .filter(user -> !takenUsernames.contains(user.getUsername())
+                        && !takenEmails.contains(user.getEmail()))
+                    .toList();
+                int existing = candidates.size() - newUsers.size();
+                
+                // Rows inserted concurrently by another import or a registration are skipped by the insert
+                return userRepository.insertAll(newUsers)
+                    .flatMap(user -> registrationFilter.add(user.getUsername(), user.getEmail())
+                        .thenReturn(user), FILTER_CONCURRENCY)
+                    .count()
+                    .map(imported -> new ChunkResult(imported.intValue(), chunkDuplicates,
+                        existing + newUsers.size() - imported.intValue(), chunkInvalid));
+            });
+    }
+    
+    private User toUser(ImportUserRecord record) {
+        trim(record);
+        Set<ConstraintViolation<ImportUserRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            log.debug("Skipping invalid import record {}: {}", record.getUsername(),
+                violations.iterator().next().getMessage());
+            return null;
+        }
+        if (!passwordService.isEncodedPassword(record.getPasswordHash())) {
+            return null;
+        }
+        
+        try {
+            return new User(
+                UserId.generate(),
+                record.getUsername(),
+                record.getEmail(),
+                record.getPasswordHash(),
+                record.getFirstName(),
+                record.getLastName(),
+                record.getPhoneNumber(),
+                UserRole.CUSTOMER
+            );
+        } catch (BusinessRuleViolationException e) {
+            log.debug("Skipping invalid import record {}: {}", record.getUsername(), e.getMessage());
+            return null;
+        }
+    }
+    
+    private static void trim(ImportUserRecord record) {
+        record.setUsername(trimmed(record.getUsername()));
+        record.setEmail(trimmed(record.getEmail()));
+        record.setFirstName(trimmed(record.getFirstName()));
+        record.setLastName(trimmed(record.getLastName()));
+        record.setPhoneNumber(trimmed(record.getPhoneNumber()));
+    }
+    
+    private static String trimmed(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+    
+    private record ChunkResult(int imported, int duplicates, int existing, int invalid) {
+    }
+}
@@ -0,0 +1,69 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/usecase/ListUsersUseCase.java
+package com.ecommerce.user.application.usecase;
+
+import com.ecommerce.user.application.dto.UserPage;
+import com.ecommerce.user.application.dto.UserResponse;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.repository.UserRepository;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import com.ecommerce.user.infrastructure.web.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin listing of users by status. Pages are keyed on the user id rather than an offset,
+ * so every page costs one index range scan no matter how deep it is, and exports stream the
+ * whole status from a database cursor without materializing it.
+ */
+@Service
+@Slf4j
+public class ListUsersUseCase {
+    
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final int maxPageSize;
+    
+    public ListUsersUseCase(@Value("${user-admin.max-page-size:500}") int maxPageSize,
+                            UserRepository userRepository,
+                            UserMapper userMapper) {
+        this.maxPageSize = maxPageSize;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+    }
+    
+    public Mono<UserPage> page(UserStatus status, String afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        
+        // One extra row tells whether another page exists without a count query
+        return userRepository.findByStatus(status, afterId, pageSize + 1)
+            .collectList()
+            .map(users -> {
+                boolean hasMore = users.size() > pageSize;
+                List<User> page = hasMore ? users.subList(0, pageSize) : users;
+                List<UserResponse> responses = page.stream().map(userMapper::toResponse).toList();
+                return new UserPage(responses, hasMore ? page.get(pageSize - 1).getId() : null);
+            });
+    }
+    
+    public Flux<UserResponse> export(UserStatus status) {
+        return Flux.defer(() -> {
+            log.info("Exporting users with status {}", status);
+            return userRepository.findByStatus(status).map(userMapper::toResponse);
+        });
+    }
+    
+    public Mono<Map<UserStatus, Long>> countByStatus() {
+        return userRepository.countAllByStatus();
+    }
+    
+    public Mono<Map<UserStatus, Long>> recountByStatus() {
+        log.info("Rebuilding user status counts");
+        return userRepository.recountByStatus();
+    }
+}
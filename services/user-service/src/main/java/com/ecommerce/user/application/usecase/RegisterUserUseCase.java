@@ -3,15 +3,20 @@ package com.ecommerce.user.application.usecase;
 import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
 import com.ecommerce.domain.common.valueobject.UserId;
 import com.ecommerce.user.application.dto.RegisterUserRequest;
+import com.ecommerce.user.application.service.OneTimeTokenStore;
 import com.ecommerce.user.application.service.UserEventPublisher;
 import com.ecommerce.user.application.service.PasswordService;
+import com.ecommerce.user.application.service.RegistrationFilter;
 import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.event.EmailVerificationRequestedEvent;
 import com.ecommerce.user.domain.event.UserRegisteredEvent;
 import com.ecommerce.user.domain.repository.UserRepository;
 import com.ecommerce.user.domain.valueobject.UserRole;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -22,42 +27,70 @@ public class RegisterUserUseCase {
     private final UserRepository userRepository;
     private final PasswordService passwordService;
     private final UserEventPublisher eventPublisher;
+    private final RegistrationFilter registrationFilter;
+    private final OneTimeTokenStore tokenStore;
+    private final TransactionalOperator transactionalOperator;
     
     public Mono<User> execute(RegisterUserRequest request) {
         log.info("Registering new user: {}", request.getUsername());
         
         return validateUniqueUserData(request)
-            .then(Mono.fromSupplier(() -> createUser(request)))
-            .flatMap(userRepository::save)
-            .doOnSuccess(user -> {
-                log.info("User registered successfully: {}", user.getUsername());
-                publishUserRegisteredEvent(user);
-            })
+            .then(passwordService.hashPassword(request.getPassword()))
+            .map(passwordHash -> createUser(request, passwordHash))
+            .flatMap(this::saveWithEvent)
+            // The filter can miss users it failed to record, so the unique indexes have the final word
+            .onErrorResume(DataIntegrityViolationException.class, error -> checkDatabase(request).then(Mono.error(error)))
+            .flatMap(user -> registrationFilter.add(user.getUsername(), user.getEmail()).thenReturn(user))
+            .doOnSuccess(user -> log.info("User registered successfully: {}", user.getUsername()))
             .doOnError(error -> log.error("Failed to register user: {}", request.getUsername(), error));
     }
     
     private Mono<Void> validateUniqueUserData(RegisterUserRequest request) {
+        return registrationFilter.mightContain(request.getUsername(), request.getEmail())
+            .flatMap(candidates -> Mono.zip(
+                candidates.getT1() ? checkUsernameExists(request.getUsername()) : Mono.just(false),
+                candidates.getT2() ? checkEmailExists(request.getEmail()) : Mono.just(false)
+            ))
+            .flatMap(tuple -> rejectExisting(request, tuple.getT1(), tuple.getT2()));
+    }
+    
+    private Mono<Void> checkDatabase(RegisterUserRequest request) {
         return Mono.zip(
-            userRepository.existsByUsername(request.getUsername()),
-            userRepository.existsByEmail(request.getEmail())
-        )
-        .flatMap(tuple -> {
-            boolean usernameExists = tuple.getT1();
-            boolean emailExists = tuple.getT2();
-            
-            if (usernameExists) {
-                return Mono.error(new BusinessRuleViolationException("Username already exists: " + request.getUsername()));
-            }
-            if (emailExists) {
-                return Mono.error(new BusinessRuleViolationException("Email already exists: " + request.getEmail()));
-            }
-            return Mono.empty();
-        });
+                userRepository.existsByUsername(request.getUsername()),
+                userRepository.existsByEmail(request.getEmail()))
+            .flatMap(tuple -> rejectExisting(request, tuple.getT1(), tuple.getT2()));
+    }
+    
+    private Mono<Void> rejectExisting(RegisterUserRequest request, boolean usernameExists, boolean emailExists) {
+        if (usernameExists) {
+            return Mono.error(new BusinessRuleViolationException("Username already exists: " + request.getUsername()));
+        }
+        if (emailExists) {
+            return Mono.error(new BusinessRuleViolationException("Email already exists: " + request.getEmail()));
+        }
+        return Mono.empty();
+    }
+    
+    private Mono<Boolean> checkUsernameExists(String username) {
+        return userRepository.existsByUsername(username)
+            .doOnNext(exists -> {
+                if (!exists) {
+                    registrationFilter.recordFalsePositive("username");
+                }
+            });
     }
     
-    private User createUser(RegisterUserRequest request) {
+    private Mono<Boolean> checkEmailExists(String email) {
+        return userRepository.existsByEmail(email)
+            .doOnNext(exists -> {
+                if (!exists) {
+                    registrationFilter.recordFalsePositive("email");
+                }
+            });
+    }
+    
+    private User createUser(RegisterUserRequest request, String passwordHash) {
         UserId userId = UserId.generate();
-        String passwordHash = passwordService.hashPassword(request.getPassword());
         
         return new User(
             userId,
@@ -71,7 +104,23 @@ public class RegisterUserUseCase {
         );
     }
     
-    private void publishUserRegisteredEvent(User user) {
+    private Mono<User> saveWithEvent(User user) {
+        // The cache cannot roll back, so the user is only cached once the transaction has committed
+        return publishUserRegisteredEvent(user)
+            .then(userRepository.insert(user))
+            .flatMap(savedUser -> requestEmailVerification(savedUser).thenReturn(savedUser))
+            .as(transactionalOperator::transactional)
+            .flatMap(userRepository::cache);
+    }
+    
+    private Mono<Void> requestEmailVerification(User user) {
+        // A token left behind by a rolled-back registration simply expires
+        return tokenStore.issue(OneTimeTokenStore.Purpose.EMAIL_VERIFICATION, user.getId())
+            .flatMap(deliveryId -> eventPublisher.publishEmailVerificationRequested(new EmailVerificationRequestedEvent(
+                user.getUserId(), user.getEmail(), user.getFirstName(), deliveryId)));
+    }
+    
+    private Mono<Void> publishUserRegisteredEvent(User user) {
         UserRegisteredEvent event = new UserRegisteredEvent(
             user.getUserId(),
             user.getUsername(),
@@ -80,6 +129,6 @@ public class RegisterUserUseCase {
             user.getLastName(),
             user.getRole()
         );
-        eventPublisher.publishUserRegistered(event);
+        return eventPublisher.publishUserRegistered(event);
     }
 }
@@ -0,0 +1,45 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/usecase/RequestPasswordResetUseCase.java
+package com.ecommerce.user.application.usecase;
+
+import com.ecommerce.user.application.service.OneTimeTokenStore;
+import com.ecommerce.user.application.service.UserEventPublisher;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.event.PasswordResetRequestedEvent;
+import com.ecommerce.user.domain.repository.UserRepository;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Issues a password reset token and hands it to the notification pipeline. Completes the
+ * same way whether or not the email belongs to a user, so the endpoint cannot be used to
+ * probe for accounts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RequestPasswordResetUseCase {
+    
+    private final UserRepository userRepository;
+    private final OneTimeTokenStore tokenStore;
+    private final UserEventPublisher eventPublisher;
+    
+    public Mono<Void> execute(String email) {
+        return userRepository.findByEmail(email)
+            .filter(user -> user.getStatus() != UserStatus.SUSPENDED && user.getStatus() != UserStatus.INACTIVE)
+            .flatMap(user -> tokenStore.issue(OneTimeTokenStore.Purpose.PASSWORD_RESET, user.getId())
+                .flatMap(deliveryId -> publishPasswordResetRequested(user, deliveryId))
+                .doOnSuccess(unused -> log.info("Password reset requested for user: {}", user.getUsername())))
+            .onErrorResume(error -> {
+                log.error("Failed to issue password reset for: {}", email, error);
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Void> publishPasswordResetRequested(User user, String deliveryId) {
+        return eventPublisher.publishPasswordResetRequested(new PasswordResetRequestedEvent(
+            user.getUserId(), user.getEmail(), user.getFirstName(), deliveryId));
+    }
+}
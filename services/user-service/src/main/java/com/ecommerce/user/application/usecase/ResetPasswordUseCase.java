@@ -0,0 +1,48 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/usecase/ResetPasswordUseCase.java
+package com.ecommerce.user.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.user.application.service.JwtService;
+import com.ecommerce.user.application.service.OneTimeTokenStore;
+import com.ecommerce.user.application.service.PasswordService;
+import com.ecommerce.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResetPasswordUseCase {
+    
+    private final UserRepository userRepository;
+    private final OneTimeTokenStore tokenStore;
+    private final PasswordService passwordService;
+    private final JwtService jwtService;
+    
+    public Mono<Void> execute(String token, String newPassword) {
+        // Unknown tokens are turned away before the expensive hash, and the token is redeemed
+        // only once the hash is ready, so a failed hash does not burn it
+        return tokenStore.isValid(OneTimeTokenStore.Purpose.PASSWORD_RESET, token)
+            .filter(Boolean::booleanValue)
+            .switchIfEmpty(Mono.error(() -> invalidToken()))
+            .then(Mono.defer(() -> passwordService.hashPassword(newPassword)))
+            .flatMap(passwordHash -> tokenStore.consume(OneTimeTokenStore.Purpose.PASSWORD_RESET, token)
+                .switchIfEmpty(Mono.error(() -> invalidToken()))
+                .flatMap(userRepository::findById)
+                .switchIfEmpty(Mono.error(() -> invalidToken()))
+                .flatMap(user -> {
+                    user.resetPassword(passwordHash);
+                    // Devices signed in with the old password must sign in again
+                    return userRepository.saveChanges(user)
+                        .flatMap(saved -> jwtService.revokeSessions(saved.getUserId().getValue()).thenReturn(saved));
+                }))
+            .doOnSuccess(user -> log.info("Password reset for user: {}", user.getUsername()))
+            .then();
+    }
+    
+    private static BusinessRuleViolationException invalidToken() {
+        return new BusinessRuleViolationException("Invalid or expired password reset token");
+    }
+}
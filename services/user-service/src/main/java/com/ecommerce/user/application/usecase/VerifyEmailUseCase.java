@@ -0,0 +1,31 @@
+// services/user-service/src/main/java/com/ecommerce/user/application/usecase/VerifyEmailUseCase.java
+package com.ecommerce.user.application.usecase;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.user.application.service.OneTimeTokenStore;
+import com.ecommerce.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VerifyEmailUseCase {
+    
+    private final UserRepository userRepository;
+    private final OneTimeTokenStore tokenStore;
+    
+    public Mono<Void> execute(String token) {
+        return tokenStore.consume(OneTimeTokenStore.Purpose.EMAIL_VERIFICATION, token)
+            .flatMap(userRepository::findById)
+            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Invalid or expired verification token")))
+            .flatMap(user -> {
+                user.verifyEmail();
+                return userRepository.saveChanges(user);
+            })
+            .doOnSuccess(user -> log.info("Email verified for user: {}", user.getUsername()))
+            .then();
+    }
+}
@@ -7,8 +7,12 @@ import com.ecommerce.domain.common.util.ValidationUtils;
 import com.ecommerce.domain.common.valueobject.UserId;
 import com.ecommerce.user.domain.valueobject.UserRole;
 import com.ecommerce.user.domain.valueobject.UserStatus;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -17,6 +21,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
 @Data
@@ -75,22 +81,29 @@ public class User extends BaseEntity {
     @Column("locked_until")
     private Instant lockedUntil;
     
-    @Column("email_verification_token")
-    private String emailVerificationToken;
-    
-    @Column("password_reset_token")
-    private String passwordResetToken;
-    
-    @Column("password_reset_expires_at")
-    private Instant passwordResetExpiresAt;
-    
     @Transient
     private Set<String> permissions;
     
+    // Columns changed by domain operations since the last load or save
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> dirtyColumns;
+    
     protected User() {
         super();
     }
     
+    /**
+     * Creates an empty user for mappers that rebuild an already persisted user field by
+     * field, such as the cache codec. Skips the validation done for new users.
+     */
+    public static User restore() {
+        return new User();
+    }
+    
     public User(UserId userId, String username, String email, String passwordHash,
                 String firstName, String lastName, String phoneNumber, UserRole role) {
         super();
@@ -111,35 +124,46 @@ public class User extends BaseEntity {
     }
     
     public void activate() {
-        this.status = UserStatus.ACTIVE;
+        changeStatus(UserStatus.ACTIVE);
         this.lockedUntil = null;
         this.failedLoginAttempts = 0;
+        markDirty("locked_until", "failed_login_attempts");
     }
     
     public void deactivate() {
-        this.status = UserStatus.INACTIVE;
+        changeStatus(UserStatus.INACTIVE);
     }
     
     public void suspend() {
-        this.status = UserStatus.SUSPENDED;
+        changeStatus(UserStatus.SUSPENDED);
     }
     
     public void lock(Instant until) {
-        this.status = UserStatus.LOCKED;
+        changeStatus(UserStatus.LOCKED);
         this.lockedUntil = until;
+        markDirty("locked_until");
     }
     
     public void recordSuccessfulLogin() {
         this.lastLoginAt = Instant.now();
-        this.failedLoginAttempts = 0;
-        this.lockedUntil = null;
+        markDirty("last_login_at");
+        
+        if (this.failedLoginAttempts == null || this.failedLoginAttempts != 0) {
+            this.failedLoginAttempts = 0;
+            markDirty("failed_login_attempts");
+        }
+        if (this.lockedUntil != null) {
+            this.lockedUntil = null;
+            markDirty("locked_until");
+        }
         if (this.status == UserStatus.LOCKED) {
-            this.status = UserStatus.ACTIVE;
+            changeStatus(UserStatus.ACTIVE);
         }
     }
     
     public void recordFailedLogin() {
         this.failedLoginAttempts = (this.failedLoginAttempts != null ? this.failedLoginAttempts : 0) + 1;
+        markDirty("failed_login_attempts");
         
         if (this.failedLoginAttempts >= 5) {
             lock(Instant.now().plusSeconds(300)); // Lock for 5 minutes
@@ -148,28 +172,63 @@ public class User extends BaseEntity {
     
     public void verifyEmail() {
         this.emailVerified = true;
-        this.emailVerificationToken = null;
+        markDirty("email_verified");
     }
     
     public void verifyPhone() {
         this.phoneVerified = true;
-    }
-    
-    public void setPasswordResetToken(String token, Instant expiresAt) {
-        this.passwordResetToken = token;
-        this.passwordResetExpiresAt = expiresAt;
+        markDirty("phone_verified");
     }
     
     public void resetPassword(String newPasswordHash) {
         this.passwordHash = newPasswordHash;
-        this.passwordResetToken = null;
-        this.passwordResetExpiresAt = null;
         this.failedLoginAttempts = 0;
+        markDirty("password_hash", "failed_login_attempts");
         if (this.status == UserStatus.LOCKED) {
-            this.status = UserStatus.ACTIVE;
+            changeStatus(UserStatus.ACTIVE);
         }
     }
     
+    public void rehashPassword(String newPasswordHash) {
+        this.passwordHash = newPasswordHash;
+        markDirty("password_hash");
+    }
+    
+    /**
+     * Returns a detached copy of the persisted state, without pending change tracking, so a
+     * shared instance such as a cached one is never mutated by the caller.
+     */
+    public User copy() {
+        User copy = new User();
+        copy.setId(getId());
+        copy.setCreatedAt(getCreatedAt());
+        copy.setUpdatedAt(getUpdatedAt());
+        copy.userId = userId;
+        copy.username = username;
+        copy.email = email;
+        copy.passwordHash = passwordHash;
+        copy.firstName = firstName;
+        copy.lastName = lastName;
+        copy.phoneNumber = phoneNumber;
+        copy.status = status;
+        copy.role = role;
+        copy.emailVerified = emailVerified;
+        copy.phoneVerified = phoneVerified;
+        copy.lastLoginAt = lastLoginAt;
+        copy.failedLoginAttempts = failedLoginAttempts;
+        copy.lockedUntil = lockedUntil;
+        copy.permissions = permissions != null ? new HashSet<>(permissions) : null;
+        return copy;
+    }
+    
+    public Set<String> dirtyColumns() {
+        return dirtyColumns != null ? Collections.unmodifiableSet(dirtyColumns) : Set.of();
+    }
+    
+    public void markClean() {
+        dirtyColumns = null;
+    }
+    
     public boolean isLocked() {
         return status == UserStatus.LOCKED && 
                (lockedUntil == null || lockedUntil.isAfter(Instant.now()));
@@ -180,13 +239,26 @@ public class User extends BaseEntity {
     }
     
     public boolean canLogin() {
-        return isActive() && status != UserStatus.SUSPENDED;
+        // A lock whose locked_until has passed no longer blocks login
+        return isActive() || (status == UserStatus.LOCKED && !isLocked());
     }
     
     public String getFullName() {
         return firstName + " " + lastName;
     }
     
+    private void changeStatus(UserStatus newStatus) {
+        this.status = newStatus;
+        markDirty("status");
+    }
+    
+    private void markDirty(String... columns) {
+        if (dirtyColumns == null) {
+            dirtyColumns = new HashSet<>();
+        }
+        Collections.addAll(dirtyColumns, columns);
+    }
+    
     private void validateUserData(String username, String email, String firstName, String lastName) {
         ValidationUtils.requireNonEmpty(username, "username");
         ValidationUtils.requireNonEmpty(firstName, "firstName");
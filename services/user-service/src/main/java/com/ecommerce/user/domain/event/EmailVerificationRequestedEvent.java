@@ -0,0 +1,34 @@
+// services/user-service/src/main/java/com/ecommerce/user/domain/event/EmailVerificationRequestedEvent.java
+package com.ecommerce.user.domain.event;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.ecommerce.domain.common.valueobject.UserId;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * The mail sender builds the verification link from the token staged under
+ * {@code tokenDeliveryId}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class EmailVerificationRequestedEvent extends DomainEvent {
+    
+    private final UserId userId;
+    private final String email;
+    private final String firstName;
+    private final String tokenDeliveryId;
+    
+    public EmailVerificationRequestedEvent(UserId userId, String email, String firstName, String tokenDeliveryId) {
+        super();
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.tokenDeliveryId = tokenDeliveryId;
+    }
+    
+    @Override
+    public String getAggregateId() {
+        return userId.getValue();
+    }
+}
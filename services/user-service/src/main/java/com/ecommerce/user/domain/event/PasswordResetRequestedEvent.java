@@ -0,0 +1,34 @@
+// services/user-service/src/main/java/com/ecommerce/user/domain/event/PasswordResetRequestedEvent.java
+package com.ecommerce.user.domain.event;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.ecommerce.domain.common.valueobject.UserId;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Carries the delivery id of the one-time token, never the token itself, because events are
+ * stored in the outbox and on Kafka. See {@code OneTimeTokenStore}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class PasswordResetRequestedEvent extends DomainEvent {
+    
+    private final UserId userId;
+    private final String email;
+    private final String firstName;
+    private final String tokenDeliveryId;
+    
+    public PasswordResetRequestedEvent(UserId userId, String email, String firstName, String tokenDeliveryId) {
+        super();
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.tokenDeliveryId = tokenDeliveryId;
+    }
+    
+    @Override
+    public String getAggregateId() {
+        return userId.getValue();
+    }
+}
@@ -7,10 +7,33 @@ import com.ecommerce.user.domain.valueobject.UserStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface UserRepository {
     
     Mono<User> save(User user);
     
+    /**
+     * Inserts the user without caching it, for saves inside a transaction. Call
+     * {@link #cache} once the transaction has committed.
+     */
+    Mono<User> insert(User user);
+    
+    /**
+     * Writes a committed user to the cache and its username and email indexes.
+     */
+    Mono<User> cache(User user);
+    
+    Mono<User> saveChanges(User user);
+    
+    /**
+     * Inserts the users in one statement, skipping any that collide with an existing row,
+     * and emits the ones that were inserted.
+     */
+    Flux<User> insertAll(List<User> users);
+    
     Mono<User> findById(String id);
     
     Mono<User> findByUserId(UserId userId);
@@ -19,17 +42,38 @@ public interface UserRepository {
     
     Mono<User> findByEmail(String email);
     
-    Mono<User> findByEmailVerificationToken(String token);
+    Mono<User> findByUsernameOrEmail(String usernameOrEmail);
     
-    Mono<User> findByPasswordResetToken(String token);
+    /**
+     * Loads the user with its password hash. The user is found like
+     * {@link #findByUsernameOrEmail}, then the password hash, status and lock columns are read
+     * from the database by primary key, because the cache does not hold credentials.
+     */
+    Mono<User> findCredentialsByUsernameOrEmail(String usernameOrEmail);
     
+    /**
+     * Streams every user with the status in id order, pulling rows from a database cursor
+     * only as fast as the subscriber consumes them.
+     */
     Flux<User> findByStatus(UserStatus status);
     
+    /**
+     * Returns the next page of users with the status whose id sorts after {@code afterId},
+     * or the first page when it is null.
+     */
+    Flux<User> findByStatus(UserStatus status, String afterId, int limit);
+    
     Mono<Boolean> existsByUsername(String username);
     
     Mono<Boolean> existsByEmail(String email);
     
+    Flux<User> findByUsernamesOrEmails(Collection<String> usernames, Collection<String> emails);
+    
     Mono<Void> deleteById(String id);
     
     Mono<Long> countByStatus(UserStatus status);
+    
+    Mono<Map<UserStatus, Long>> countAllByStatus();
+    
+    Mono<Map<UserStatus, Long>> recountByStatus();
 }
@@ -5,5 +5,7 @@ public enum UserRole {
     CUSTOMER,
     ADMIN,
     MODERATOR,
-    SUPPORT
+    SUPPORT,
+    // Gateways and sidecars calling internal endpoints such as token introspection
+    SERVICE
 }
\ No newline at end of file
@@ -0,0 +1,227 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/cache/CachedUserCodec.java
+package com.ecommerce.user.infrastructure.cache;
+
+import com.ecommerce.domain.common.valueobject.UserId;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.valueobject.UserRole;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Versioned binary encoding of the cached user projection stored under the {@code user:}
+ * Redis keys. The projection leaves out the password hash, verification and reset tokens
+ * and the transient permissions, so a cached user can serve profile reads but never
+ * credential checks.
+ *
+ * <p>Layout (version 1): a version byte, a presence bitmask for nullable fields, then the
+ * fields in declaration order. Strings are varint-length-prefixed UTF-8, enums their names,
+ * instants a zigzag varint of epoch seconds followed by a varint of nanos. A new field or a
+ * changed layout gets a new version; entries of an unknown version fail to decode and are
+ * treated as cache misses.
+ */
+@Component
+public class CachedUserCodec implements RedisSerializer<User> {
+    
+    static final byte VERSION = 1;
+    
+    private static final int HAS_ID = 1;
+    private static final int HAS_PHONE_NUMBER = 1 << 1;
+    private static final int EMAIL_VERIFIED = 1 << 2;
+    private static final int PHONE_VERIFIED = 1 << 3;
+    private static final int HAS_LAST_LOGIN_AT = 1 << 4;
+    private static final int HAS_LOCKED_UNTIL = 1 << 5;
+    private static final int HAS_CREATED_AT = 1 << 6;
+    private static final int HAS_UPDATED_AT = 1 << 7;
+    
+    @Override
+    public byte[] serialize(User user) {
+        if (user == null) {
+            return null;
+        }
+        
+        int flags = (user.getId() != null ? HAS_ID : 0)
+            | (user.getPhoneNumber() != null ? HAS_PHONE_NUMBER : 0)
+            | (Boolean.TRUE.equals(user.getEmailVerified()) ? EMAIL_VERIFIED : 0)
+            | (Boolean.TRUE.equals(user.getPhoneVerified()) ? PHONE_VERIFIED : 0)
+            | (user.getLastLoginAt() != null ? HAS_LAST_LOGIN_AT : 0)
+            | (user.getLockedUntil() != null ? HAS_LOCKED_UNTIL : 0)
+            | (user.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+            | (user.getUpdatedAt() != null ? HAS_UPDATED_AT : 0);
+        
+        Writer out = new Writer();
+        out.writeByte(VERSION);
+        out.writeVarInt(flags);
+        if (user.getId() != null) {
+            out.writeString(user.getId());
+        }
+        out.writeString(user.getUserId().getValue());
+        out.writeString(user.getUsername());
+        out.writeString(user.getEmail());
+        out.writeString(user.getFirstName());
+        out.writeString(user.getLastName());
+        if (user.getPhoneNumber() != null) {
+            out.writeString(user.getPhoneNumber());
+        }
+        out.writeString(user.getStatus().name());
+        out.writeString(user.getRole().name());
+        out.writeVarInt(user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0);
+        if (user.getLastLoginAt() != null) {
+            out.writeInstant(user.getLastLoginAt());
+        }
+        if (user.getLockedUntil() != null) {
+            out.writeInstant(user.getLockedUntil());
+        }
+        if (user.getCreatedAt() != null) {
+            out.writeInstant(user.getCreatedAt());
+        }
+        if (user.getUpdatedAt() != null) {
+            out.writeInstant(user.getUpdatedAt());
+        }
+        return out.toByteArray();
+    }
+    
+    @Override
+    public User deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION) {
+            throw new SerializationException("Unsupported cached user version: " + bytes[0]);
+        }
+        
+        try {
+            Reader in = new Reader(bytes, 1);
+            int flags = in.readVarInt();
+            
+            User user = User.restore();
+            if ((flags & HAS_ID) != 0) {
+                user.setId(in.readString());
+            }
+            user.setUserId(UserId.of(in.readString()));
+            user.setUsername(in.readString());
+            user.setEmail(in.readString());
+            user.setFirstName(in.readString());
+            user.setLastName(in.readString());
+            if ((flags & HAS_PHONE_NUMBER) != 0) {
+                user.setPhoneNumber(in.readString());
+            }
+            user.setStatus(UserStatus.valueOf(in.readString()));
+            user.setRole(UserRole.valueOf(in.readString()));
+            user.setEmailVerified((flags & EMAIL_VERIFIED) != 0);
+            user.setPhoneVerified((flags & PHONE_VERIFIED) != 0);
+            user.setFailedLoginAttempts(in.readVarInt());
+            if ((flags & HAS_LAST_LOGIN_AT) != 0) {
+                user.setLastLoginAt(in.readInstant());
+            }
+            if ((flags & HAS_LOCKED_UNTIL) != 0) {
+                user.setLockedUntil(in.readInstant());
+            }
+            if ((flags & HAS_CREATED_AT) != 0) {
+                user.setCreatedAt(in.readInstant());
+            }
+            if ((flags & HAS_UPDATED_AT) != 0) {
+                user.setUpdatedAt(in.readInstant());
+            }
+            return user;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Malformed cached user", e);
+        }
+    }
+    
+    private static final class Writer {
+        
+        private byte[] buffer = new byte[192];
+        private int position;
+        
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+        
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+        
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+        
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+        
+        void writeInstant(Instant value) {
+            long seconds = value.getEpochSecond();
+            writeVarLong((seconds << 1) ^ (seconds >> 63));
+            writeVarInt(value.getNano());
+        }
+        
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+        
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+    
+    private static final class Reader {
+        
+        private final byte[] buffer;
+        private int position;
+        
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+        
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+        
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Varint too long");
+        }
+        
+        String readString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalStateException("String length out of bounds: " + length);
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        
+        Instant readInstant() {
+            long zigzag = readVarLong();
+            long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+            return Instant.ofEpochSecond(seconds, readVarInt());
+        }
+    }
+}
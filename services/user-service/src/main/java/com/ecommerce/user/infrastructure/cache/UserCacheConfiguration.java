@@ -0,0 +1,24 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/cache/UserCacheConfiguration.java
+package com.ecommerce.user.infrastructure.cache;
+
+import com.ecommerce.user.domain.entity.User;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Configuration
+public class UserCacheConfiguration {
+    
+    @Bean
+    public ReactiveRedisTemplate<String, User> userRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                 CachedUserCodec codec) {
+        RedisSerializationContext<String, User> context = RedisSerializationContext
+            .<String, User>newSerializationContext(RedisSerializer.string())
+            .value(codec)
+            .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
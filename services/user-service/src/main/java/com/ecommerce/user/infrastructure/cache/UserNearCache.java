@@ -0,0 +1,104 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/cache/UserNearCache.java
+package com.ecommerce.user.infrastructure.cache;
+
+import com.ecommerce.user.domain.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process L1 cache in front of the {@code user:} Redis keys. Writes on one pod are
+ * broadcast over Redis pub/sub so every other pod drops its local copy.
+ *
+ * <p>Users are copied on the way in and out, so each caller gets its own instance to mutate
+ * and a failed save cannot leave a half applied change behind in the cache.
+ */
+@Component
+@Slf4j
+public class UserNearCache {
+
+    private static final String INVALIDATION_CHANNEL = "user-cache:invalidate";
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    private final Cache<String, User> cache;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private Disposable subscription;
+
+    public UserNearCache(@Value("${user-cache.local.maximum-size:10000}") long maximumSize,
+                         @Value("${user-cache.local.ttl:60s}") Duration ttl,
+                         ReactiveStringRedisTemplate redisTemplate,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.redisTemplate = redisTemplate;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.near-cache");
+    }
+
+    public User get(String id) {
+        User user = cache.getIfPresent(id);
+        return user != null ? user.copy() : null;
+    }
+
+    public void put(User user) {
+        cache.put(user.getId(), user.copy());
+    }
+
+    public void evictLocal(String id) {
+        cache.invalidate(id);
+    }
+
+    public Mono<Void> invalidate(String id) {
+        return Mono.fromRunnable(() -> cache.invalidate(id))
+            .then(publishInvalidation(id));
+    }
+
+    public Mono<Void> publishInvalidation(String id) {
+        return redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + MESSAGE_SEPARATOR + id)
+            .then()
+            .onErrorResume(error -> {
+                log.warn("Failed to broadcast near-cache invalidation for user: {}", id, error);
+                return Mono.empty();
+            });
+    }
+
+    @PostConstruct
+    void subscribe() {
+        subscription = redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+            .map(ReactiveSubscription.Message::getMessage)
+            .filter(message -> !message.startsWith(instanceId + MESSAGE_SEPARATOR))
+            .map(message -> message.substring(message.indexOf(MESSAGE_SEPARATOR) + 1))
+            .doOnNext(id -> {
+                cache.invalidate(id);
+                log.debug("User evicted from near-cache by remote invalidation: {}", id);
+            })
+            .doOnError(error -> log.warn("Near-cache invalidation subscription failed, resubscribing", error))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+            .subscribe();
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -1,48 +1,91 @@
 // services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/KafkaUserEventPublisher.java
 package com.ecommerce.user.infrastructure.messaging;
 
-import com.ecommerce.user.application.service.UserEventPublisher;
-import com.ecommerce.user.domain.event.UserLoggedInEvent;
-import com.ecommerce.user.domain.event.UserRegisteredEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.ecommerce.messaging.outbox.OutboxEvent;
+import com.ecommerce.messaging.outbox.OutboxPublisher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-@Service
-@RequiredArgsConstructor
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends batches of outbox events to Kafka keyed by user id, so each user's events stay
+ * ordered on one partition. A batch completes once every record in it is acknowledged and
+ * fails if any record fails, leaving the rows in the outbox for the next attempt.
+ */
+@Component
 @Slf4j
-public class KafkaUserEventPublisher implements UserEventPublisher {
+public class KafkaUserEventPublisher implements OutboxPublisher {
+    
+    static final String USER_EVENTS_TOPIC = "user-events";
+    private static final String EVENT_TYPE_HEADER = "event-type";
     
     private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler sendScheduler = Schedulers.newSingle("user-event-publisher", true);
+    private final DistributionSummary batchSizes;
     
-    private static final String USER_EVENTS_TOPIC = "user-events";
+    public KafkaUserEventPublisher(KafkaTemplate<String, String> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSizes = DistributionSummary.builder("user.events.batch.size")
+            .description("User events sent per publish batch")
+            .register(meterRegistry);
+    }
     
     @Override
-    public void publishUserRegistered(UserRegisteredEvent event) {
-        publishEvent(event, "UserRegistered")
-            .doOnSuccess(result -> log.info("Published UserRegistered event: {}", event.getUserId()))
-            .doOnError(error -> log.error("Failed to publish UserRegistered event: {}", event.getUserId(), error))
-            .subscribe();
+    public Mono<Void> publish(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        batchSizes.record(batch.size());
+        
+        // KafkaTemplate.send can block while the producer buffer is full, so keep it off the caller's thread
+        return Mono.defer(() -> Mono.fromFuture(CompletableFuture.allOf(batch.stream()
+                .map(this::send)
+                .toArray(CompletableFuture[]::new))))
+            .subscribeOn(sendScheduler)
+            .then();
     }
     
-    @Override
-    public void publishUserLoggedIn(UserLoggedInEvent event) {
-        publishEvent(event, "UserLoggedIn")
-            .doOnSuccess(result -> log.info("Published UserLoggedIn event: {}", event.getUserId()))
-            .doOnError(error -> log.error("Failed to publish UserLoggedIn event: {}", event.getUserId(), error))
-            .subscribe();
+    @PreDestroy
+    void stop() {
+        kafkaTemplate.flush();
+        sendScheduler.dispose();
     }
     
-    private Mono<Void> publishEvent(Object event, String eventType) {
-        return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
-            .flatMap(eventJson -> Mono.fromFuture(
-                kafkaTemplate.send(USER_EVENTS_TOPIC, event.toString(), eventJson)
-            ))
-            .then()
-            .onErrorMap(error -> new RuntimeException("Failed to publish " + eventType + " event", error));
+    private CompletableFuture<?> send(OutboxEvent event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(USER_EVENTS_TOPIC, event.aggregateId(), event.payload());
+        record.headers().add(EVENT_TYPE_HEADER, event.eventType().getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        
+        CompletableFuture<?> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                meterRegistry.counter("user.events.failed", "type", event.eventType()).increment();
+                log.warn("Failed to publish {} event: {}", event.eventType(), event.aggregateId(), error);
+            } else {
+                meterRegistry.timer("user.events.publish.latency", "type", event.eventType())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.debug("Published {} event: {}", event.eventType(), event.aggregateId());
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/LoginEventOutbox.java
+package com.ecommerce.user.infrastructure.messaging;
+
+import com.ecommerce.user.domain.event.UserLoggedInEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Appends login events to the outbox in groups. Each login waits until its event is stored,
+ * so login events survive crashes and broker outages like every other outbox event, while
+ * logins arriving together share one multi-row INSERT and one NOTIFY.
+ */
+@Component
+@Slf4j
+public class LoginEventOutbox {
+    
+    private static final String EVENT_TYPE = "UserLoggedIn";
+    
+    private final UserOutbox outbox;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final int concurrency;
+    private final Sinks.Many<PendingEvent> events = Sinks.many().unicast().onBackpressureBuffer();
+    private final DistributionSummary batchSizes;
+    
+    private Disposable pipeline;
+    
+    public LoginEventOutbox(@Value("${user-outbox.login-events.max-batch-size:200}") int maxBatchSize,
+                            @Value("${user-outbox.login-events.max-batch-delay:5ms}") Duration maxBatchDelay,
+                            @Value("${user-outbox.login-events.concurrency:4}") int concurrency,
+                            UserOutbox outbox,
+                            MeterRegistry meterRegistry) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelay = maxBatchDelay;
+        this.concurrency = concurrency;
+        this.outbox = outbox;
+        this.batchSizes = DistributionSummary.builder("user.outbox.login-events.batch.size")
+            .description("Login events appended to the outbox per statement")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void start() {
+        pipeline = events.asFlux()
+            .bufferTimeout(maxBatchSize, maxBatchDelay, true)
+            .flatMap(this::appendBatch, concurrency)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (pipeline != null) {
+            pipeline.dispose();
+        }
+    }
+    
+    /**
+     * Completes once the event is in the outbox, or fails if its group could not be appended.
+     */
+    public Mono<Void> append(UserLoggedInEvent event) {
+        return Mono.defer(() -> {
+            PendingEvent pending = new PendingEvent(event, Sinks.one());
+            events.emitNext(pending, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+            return pending.stored().asMono();
+        });
+    }
+    
+    private Mono<Void> appendBatch(List<PendingEvent> batch) {
+        return outbox.append(EVENT_TYPE, batch.stream().map(PendingEvent::event).toList())
+            .doOnSuccess(unused -> {
+                batchSizes.record(batch.size());
+                batch.forEach(pending -> pending.stored().tryEmitEmpty());
+            })
+            .onErrorResume(error -> {
+                log.warn("Failed to append {} login events to the outbox", batch.size(), error);
+                batch.forEach(pending -> pending.stored().tryEmitError(error));
+                return Mono.empty();
+            });
+    }
+    
+    private record PendingEvent(UserLoggedInEvent event, Sinks.One<Void> stored) {
+    }
+}
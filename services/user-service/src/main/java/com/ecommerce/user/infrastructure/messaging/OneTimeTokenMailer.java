@@ -0,0 +1,125 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/OneTimeTokenMailer.java
+package com.ecommerce.user.infrastructure.messaging;
+
+import com.ecommerce.user.application.service.OneTimeTokenStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Sends the email verification and password reset mails. It reads the request events from the
+ * user events topic, takes the raw token the event's delivery id points at out of the
+ * {@link OneTimeTokenStore} and mails the link. A failed send stages the token again and
+ * fails the record, so Kafka redelivers it.
+ */
+@Component
+@Slf4j
+public class OneTimeTokenMailer {
+    
+    private static final String EVENT_TYPE_HEADER = "event-type";
+    private static final Duration REDIS_TIMEOUT = Duration.ofSeconds(5);
+    
+    private final OneTimeTokenStore tokenStore;
+    private final JavaMailSender mailSender;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String from;
+    private final String linkBaseUrl;
+    
+    public OneTimeTokenMailer(@Value("${one-time-tokens.mail.from:no-reply@ecommerce.local}") String from,
+                              @Value("${one-time-tokens.mail.link-base-url:http://localhost:3000}") String linkBaseUrl,
+                              OneTimeTokenStore tokenStore,
+                              JavaMailSender mailSender,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.from = from;
+        this.linkBaseUrl = linkBaseUrl;
+        this.tokenStore = tokenStore;
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @KafkaListener(topics = KafkaUserEventPublisher.USER_EVENTS_TOPIC, groupId = "user-service-token-mailer")
+    public void onUserEvent(ConsumerRecord<String, String> record) throws IOException {
+        Mail mail = Mail.forEventType(eventType(record));
+        if (mail == null) {
+            return;
+        }
+        
+        JsonNode event = objectMapper.readTree(record.value());
+        String deliveryId = event.path("tokenDeliveryId").asText();
+        String token = tokenStore.takeForDelivery(deliveryId).block(REDIS_TIMEOUT);
+        if (token == null) {
+            // Already mailed by an earlier delivery of this record, or the delivery window has passed
+            meterRegistry.counter("user.token-mail.skipped", "type", mail.tag).increment();
+            log.info("No staged token for {} mail to user {}, skipping", mail.tag, record.key());
+            return;
+        }
+        
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(event.path("email").asText());
+        message.setSubject(mail.subject);
+        message.setText(String.format(mail.body, event.path("firstName").asText(),
+            linkBaseUrl + mail.path + URLEncoder.encode(token, StandardCharsets.UTF_8)));
+        try {
+            mailSender.send(message);
+        } catch (MailException e) {
+            meterRegistry.counter("user.token-mail.failed", "type", mail.tag).increment();
+            tokenStore.restageForDelivery(deliveryId, token).block(REDIS_TIMEOUT);
+            throw e;
+        }
+        meterRegistry.counter("user.token-mail.sent", "type", mail.tag).increment();
+        log.debug("Sent {} mail to user {}", mail.tag, record.key());
+    }
+    
+    private static String eventType(ConsumerRecord<String, String> record) {
+        Header header = record.headers().lastHeader(EVENT_TYPE_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+    
+    private enum Mail {
+        EMAIL_VERIFICATION("email-verification", "/verify-email?token=", "Verify your email address",
+            "Hi %s,%n%nPlease confirm your email address by opening this link:%n%s%n"),
+        PASSWORD_RESET("password-reset", "/reset-password?token=", "Reset your password",
+            "Hi %s,%n%nYou can choose a new password by opening this link:%n%s%n%n" +
+            "If you did not ask for a password reset, you can ignore this mail.%n");
+        
+        private final String tag;
+        private final String path;
+        private final String subject;
+        private final String body;
+        
+        Mail(String tag, String path, String subject, String body) {
+            this.tag = tag;
+            this.path = path;
+            this.subject = subject;
+            this.body = body;
+        }
+        
+        static Mail forEventType(String eventType) {
+            if ("EmailVerificationRequested".equals(eventType)) {
+                return EMAIL_VERIFICATION;
+            }
+            if ("PasswordResetRequested".equals(eventType)) {
+                return PASSWORD_RESET;
+            }
+            return null;
+        }
+    }
+}
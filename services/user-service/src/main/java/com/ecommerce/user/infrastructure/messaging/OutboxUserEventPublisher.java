@@ -0,0 +1,57 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/OutboxUserEventPublisher.java
+package com.ecommerce.user.infrastructure.messaging;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.ecommerce.user.application.service.UserEventPublisher;
+import com.ecommerce.user.domain.event.EmailVerificationRequestedEvent;
+import com.ecommerce.user.domain.event.PasswordResetRequestedEvent;
+import com.ecommerce.user.domain.event.UserLoggedInEvent;
+import com.ecommerce.user.domain.event.UserRegisteredEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Writes user events to the {@code user_outbox} table on the caller's R2DBC connection, so
+ * they commit or roll back with the surrounding transaction. Login events are not part of a
+ * transaction, so they go through {@link LoginEventOutbox}, which groups concurrent logins
+ * into one INSERT and one NOTIFY.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxUserEventPublisher implements UserEventPublisher {
+    
+    private final UserOutbox outbox;
+    private final LoginEventOutbox loginEventOutbox;
+    
+    @Override
+    public Mono<Void> publishUserRegistered(UserRegisteredEvent event) {
+        return append(event, "UserRegistered");
+    }
+    
+    @Override
+    public Mono<Void> publishUserLoggedIn(UserLoggedInEvent event) {
+        return loginEventOutbox.append(event)
+            .onErrorMap(error -> new RuntimeException("Failed to append UserLoggedIn event to outbox", error));
+    }
+    
+    @Override
+    public Mono<Void> publishEmailVerificationRequested(EmailVerificationRequestedEvent event) {
+        return append(event, "EmailVerificationRequested");
+    }
+    
+    @Override
+    public Mono<Void> publishPasswordResetRequested(PasswordResetRequestedEvent event) {
+        return append(event, "PasswordResetRequested");
+    }
+    
+    private Mono<Void> append(DomainEvent event, String eventType) {
+        return outbox.append(eventType, List.of(event))
+            .doOnSuccess(unused -> log.debug("Appended {} event to outbox: {}", eventType, event.getAggregateId()))
+            .onErrorMap(error -> new RuntimeException("Failed to append " + eventType + " event to outbox", error));
+    }
+}
@@ -0,0 +1,18 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/UserOutbox.java
+package com.ecommerce.user.infrastructure.messaging;
+
+import com.ecommerce.messaging.outbox.Outbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code user_outbox} table, relayed to Kafka by {@link UserOutboxRelay}.
+ */
+@Component
+public class UserOutbox extends Outbox {
+    
+    public UserOutbox(DatabaseClient databaseClient, ObjectMapper objectMapper) {
+        super("user_outbox", databaseClient, objectMapper);
+    }
+}
@@ -0,0 +1,28 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/messaging/UserOutboxRelay.java
+package com.ecommerce.user.infrastructure.messaging;
+
+import com.ecommerce.messaging.outbox.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Relays {@link UserOutbox} to the user events topic.
+ */
+@Component
+public class UserOutboxRelay extends OutboxRelay {
+    
+    public UserOutboxRelay(@Value("${user-outbox.relay.batch-size:1000}") int batchSize,
+                           @Value("${user-outbox.relay.poll-interval:5s}") Duration pollInterval,
+                           UserOutbox outbox,
+                           ConnectionFactory connectionFactory,
+                           DatabaseClient databaseClient,
+                           KafkaUserEventPublisher kafkaPublisher,
+                           MeterRegistry meterRegistry) {
+        super(outbox, batchSize, pollInterval, connectionFactory, databaseClient, kafkaPublisher, meterRegistry);
+    }
+}
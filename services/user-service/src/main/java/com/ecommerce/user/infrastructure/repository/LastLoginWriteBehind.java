@@ -0,0 +1,139 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/repository/LastLoginWriteBehind.java
+package com.ecommerce.user.infrastructure.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers {@code last_login_at} writes and flushes them in batched UPDATEs. Repeated logins
+ * by the same user between flushes collapse into a single row update, and the login
+ * response no longer waits on the database for this column.
+ */
+@Component
+@Slf4j
+public class LastLoginWriteBehind {
+    
+    private final DatabaseClient databaseClient;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    
+    private Disposable flusher;
+    
+    public LastLoginWriteBehind(@Value("${user-write-behind.flush-interval:1s}") Duration flushInterval,
+                                @Value("${user-write-behind.batch-size:500}") int batchSize,
+                                DatabaseClient databaseClient,
+                                MeterRegistry meterRegistry) {
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.databaseClient = databaseClient;
+        
+        Gauge.builder("user.write-behind.pending", pending, Map::size)
+            .description("Users with a buffered last-login update")
+            .register(meterRegistry);
+        this.flushedCounter = meterRegistry.counter("user.write-behind.flushed");
+        this.failedCounter = meterRegistry.counter("user.write-behind.failed");
+        this.flushTimer = meterRegistry.timer("user.write-behind.flush");
+    }
+    
+    public void record(String id, Instant lastLoginAt) {
+        pending.merge(id, lastLoginAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+    
+    @PostConstruct
+    void start() {
+        flusher = Flux.interval(flushInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> flush(), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        // Drain whatever is left so a graceful shutdown does not lose logins
+        flush().block(Duration.ofSeconds(10));
+    }
+    
+    Mono<Void> flush() {
+        return Flux.fromIterable(partition(drain()))
+            .concatMap(this::writeBatch)
+            .then();
+    }
+    
+    private List<Map.Entry<String, Instant>> drain() {
+        List<Map.Entry<String, Instant>> drained = new ArrayList<>();
+        for (String id : pending.keySet()) {
+            Instant lastLoginAt = pending.remove(id);
+            if (lastLoginAt != null) {
+                drained.add(Map.entry(id, lastLoginAt));
+            }
+        }
+        return drained;
+    }
+    
+    private Mono<Void> writeBatch(List<Map.Entry<String, Instant>> batch) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            values.append(i == 0 ? "" : ", ")
+                .append("(:id").append(i).append(", CAST(:at").append(i).append(" AS TIMESTAMPTZ))");
+        }
+        
+        // Never move last_login_at backwards if a full-row save raced ahead of the flush
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+            "UPDATE users SET last_login_at = v.last_login_at " +
+            "FROM (VALUES " + values + ") AS v(id, last_login_at) " +
+            "WHERE users.id = v.id AND (users.last_login_at IS NULL OR users.last_login_at < v.last_login_at)");
+        for (int i = 0; i < batch.size(); i++) {
+            spec = spec.bind("id" + i, batch.get(i).getKey())
+                .bind("at" + i, batch.get(i).getValue());
+        }
+        
+        long start = System.nanoTime();
+        return spec.fetch().rowsUpdated()
+            .doOnNext(updated -> {
+                flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                flushedCounter.increment(batch.size());
+                log.debug("Flushed {} last-login updates ({} rows changed)", batch.size(), updated);
+            })
+            .then()
+            .onErrorResume(error -> {
+                // Put the batch back; a newer login recorded meanwhile still wins the merge
+                failedCounter.increment(batch.size());
+                batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+                log.warn("Failed to flush {} last-login updates, will retry", batch.size(), error);
+                return Mono.empty();
+            });
+    }
+    
+    private <T> List<List<T>> partition(List<T> entries) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            batches.add(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        return batches;
+    }
+}
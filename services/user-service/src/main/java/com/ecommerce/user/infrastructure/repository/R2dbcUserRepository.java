@@ -5,17 +5,33 @@ import com.ecommerce.domain.common.valueobject.UserId;
 import com.ecommerce.user.domain.entity.User;
 import com.ecommerce.user.domain.repository.UserRepository;
 import com.ecommerce.user.domain.valueobject.UserStatus;
+import com.ecommerce.user.infrastructure.cache.UserNearCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -24,24 +40,119 @@ public class R2dbcUserRepository implements UserRepository {
     
     private final R2dbcEntityTemplate template;
     private final ReactiveRedisTemplate<String, User> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final UserNearCache nearCache;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final UserStatusCounts statusCounts;
     
     private static final String CACHE_PREFIX = "user:";
+    private static final String USERNAME_INDEX_PREFIX = "user-index:username:";
+    private static final String EMAIL_INDEX_PREFIX = "user-index:email:";
     private static final Duration CACHE_TTL = Duration.ofHours(2);
+    private static final String LAST_LOGIN_AT = "last_login_at";
+    private static final List<String> CREDENTIAL_COLUMNS =
+        List.of("password_hash", "status", "failed_login_attempts", "locked_until");
+    private static final int EXPORT_FETCH_SIZE = 500;
     
     @Override
     public Mono<User> save(User user) {
+        return insert(user).flatMap(this::cache);
+    }
+    
+    @Override
+    public Mono<User> insert(User user) {
         return template.insert(user)
-            .flatMap(savedUser -> cacheUser(savedUser).then(Mono.just(savedUser)))
             .doOnSuccess(savedUser -> log.debug("User saved: {}", savedUser.getUsername()))
-            .doOnError(error -> log.error("Failed to save user: {}", user.getUsername(), error));
+            .doOnError(error -> {
+                if (user.getId() != null) {
+                    nearCache.evictLocal(user.getId());
+                }
+                log.error("Failed to save user: {}", user.getUsername(), error);
+            });
+    }
+    
+    @Override
+    public Mono<User> cache(User user) {
+        return cacheUser(user)
+            .then(nearCache.publishInvalidation(user.getId()))
+            .thenReturn(user);
+    }
+    
+    @Override
+    public Mono<User> saveChanges(User user) {
+        Set<String> dirtyColumns = Set.copyOf(user.dirtyColumns());
+        
+        return updateColumns(user, dirtyColumns)
+            .then(Mono.fromRunnable(() -> {
+                // last_login_at is bookkeeping only, so it is written behind in batches
+                if (dirtyColumns.contains(LAST_LOGIN_AT)) {
+                    lastLoginWriteBehind.record(user.getId(), user.getLastLoginAt());
+                }
+                user.markClean();
+            }))
+            .then(cacheUser(user))
+            .then(nearCache.publishInvalidation(user.getId()))
+            .thenReturn(user)
+            .doOnSuccess(savedUser -> log.debug("User changes saved: {} {}", savedUser.getUsername(), dirtyColumns))
+            .doOnError(error -> {
+                nearCache.evictLocal(user.getId());
+                log.error("Failed to save user changes: {}", user.getUsername(), error);
+            });
+    }
+    
+    @Override
+    public Flux<User> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        List<OutboundRow> rows = users.stream()
+            .map(user -> template.getDataAccessStrategy().getOutboundRow(user))
+            .toList();
+        SqlIdentifier idColumn = template.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(User.class).getIdColumn();
+        // Same rule as template.insert: a null id is left for the database to generate
+        List<SqlIdentifier> columns = rows.get(0).keySet().stream()
+            .filter(column -> !column.equals(idColumn) || rows.get(0).get(column).hasValue())
+            .toList();
+        
+        StringBuilder sql = new StringBuilder("INSERT INTO users (")
+            .append(columns.stream().map(column -> column.toSql(IdentifierProcessing.NONE)).collect(Collectors.joining(", ")))
+            .append(") VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "(" : ", (");
+            for (int j = 0; j < columns.size(); j++) {
+                sql.append(j == 0 ? ":p" : ", :p").append(i).append('_').append(j);
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING user_id");
+        
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            for (int j = 0; j < columns.size(); j++) {
+                spec = spec.bind("p" + i + "_" + j, rows.get(i).get(columns.get(j)));
+            }
+        }
+        
+        Map<String, User> usersByUserId = users.stream()
+            .collect(Collectors.toMap(user -> user.getUserId().getValue(), Function.identity()));
+        return spec.map(row -> String.valueOf(row.get("user_id")))
+            .all()
+            .mapNotNull(usersByUserId::get)
+            .doOnError(error -> log.error("Failed to insert batch of {} users", users.size(), error));
     }
     
     @Override
     public Mono<User> findById(String id) {
         String cacheKey = CACHE_PREFIX + id;
         
-        return redisTemplate.opsForValue().get(cacheKey)
-            .doOnNext(cached -> log.debug("User found in cache: {}", id))
+        return Mono.defer(() -> Mono.justOrEmpty(nearCache.get(id)))
+            .switchIfEmpty(readCached(cacheKey)
+                .doOnNext(cached -> {
+                    nearCache.put(cached);
+                    log.debug("User found in cache: {}", id);
+                }))
             .switchIfEmpty(
                 template.selectOne(Query.query(Criteria.where("id").is(id)), User.class)
                     .flatMap(user -> cacheUser(user).then(Mono.just(user)))
@@ -64,47 +175,72 @@ public class R2dbcUserRepository implements UserRepository {
     public Mono<User> findByUsername(String username) {
         Query query = Query.query(Criteria.where("username").is(username));
         
-        return template.selectOne(query, User.class)
-            .flatMap(user -> cacheUser(user).then(Mono.just(user)))
+        return findByIndex(USERNAME_INDEX_PREFIX + username, user -> username.equals(user.getUsername()))
+            .switchIfEmpty(Mono.defer(() -> template.selectOne(query, User.class)
+                .flatMap(user -> cacheUser(user).then(Mono.just(user)))))
             .doOnSuccess(user -> log.debug("User found by username: {}", username))
             .doOnError(error -> log.error("Failed to find user by username: {}", username, error));
     }
     
     @Override
     public Mono<User> findByEmail(String email) {
-        Query query = Query.query(Criteria.where("email").is(email.toLowerCase()));
+        String normalizedEmail = email.toLowerCase();
+        Query query = Query.query(Criteria.where("email").is(normalizedEmail));
         
-        return template.selectOne(query, User.class)
-            .flatMap(user -> cacheUser(user).then(Mono.just(user)))
+        return findByIndex(EMAIL_INDEX_PREFIX + normalizedEmail, user -> normalizedEmail.equals(user.getEmail()))
+            .switchIfEmpty(Mono.defer(() -> template.selectOne(query, User.class)
+                .flatMap(user -> cacheUser(user).then(Mono.just(user)))))
             .doOnSuccess(user -> log.debug("User found by email: {}", email))
             .doOnError(error -> log.error("Failed to find user by email: {}", email, error));
     }
     
     @Override
-    public Mono<User> findByEmailVerificationToken(String token) {
-        Query query = Query.query(Criteria.where("email_verification_token").is(token));
-        
-        return template.selectOne(query, User.class)
-            .doOnSuccess(user -> log.debug("User found by email verification token"))
-            .doOnError(error -> log.error("Failed to find user by email verification token", error));
+    public Mono<User> findByUsernameOrEmail(String usernameOrEmail) {
+        // Usernames cannot contain '@', so the identifier alone tells us which index to use
+        return usernameOrEmail.contains("@")
+            ? findByEmail(usernameOrEmail)
+            : findByUsername(usernameOrEmail);
     }
     
     @Override
-    public Mono<User> findByPasswordResetToken(String token) {
-        Query query = Query.query(Criteria.where("password_reset_token").is(token));
-        
-        return template.selectOne(query, User.class)
-            .doOnSuccess(user -> log.debug("User found by password reset token"))
-            .doOnError(error -> log.error("Failed to find user by password reset token", error));
+    public Mono<User> findCredentialsByUsernameOrEmail(String usernameOrEmail) {
+        // The identifier resolves through the index and the user cache. Cached users carry no
+        // password hash, so only the columns that decide a login are read by primary key
+        return findByUsernameOrEmail(usernameOrEmail)
+            .flatMap(user -> template.selectOne(Query.query(Criteria.where("id").is(user.getId()))
+                        .columns(CREDENTIAL_COLUMNS), User.class)
+                .map(credentials -> {
+                    user.setPasswordHash(credentials.getPasswordHash());
+                    user.setStatus(credentials.getStatus());
+                    user.setFailedLoginAttempts(credentials.getFailedLoginAttempts());
+                    user.setLockedUntil(credentials.getLockedUntil());
+                    return user;
+                }))
+            .doOnError(error -> log.error("Failed to load credentials for: {}", usernameOrEmail, error));
     }
     
     @Override
     public Flux<User> findByStatus(UserStatus status) {
-        Query query = Query.query(Criteria.where("status").is(status));
+        // A bounded fetch size makes the driver read through a portal, so demand reaches the cursor
+        return template.getDatabaseClient()
+            .sql("SELECT * FROM users WHERE status = :status ORDER BY id")
+            .bind("status", status.name())
+            .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+            .map((row, metadata) -> template.getConverter().read(User.class, row, metadata))
+            .all()
+            .doOnError(error -> log.error("Failed to stream users by status: {}", status, error));
+    }
+    
+    @Override
+    public Flux<User> findByStatus(UserStatus status, String afterId, int limit) {
+        Criteria criteria = Criteria.where("status").is(status);
+        if (afterId != null) {
+            criteria = criteria.and("id").greaterThan(afterId);
+        }
+        Query query = Query.query(criteria).sort(Sort.by("id")).limit(limit);
         
         return template.select(query, User.class)
-            .doOnNext(user -> log.debug("User found with status: {}", status))
-            .doOnError(error -> log.error("Failed to find users by status: {}", status, error));
+            .doOnError(error -> log.error("Failed to page users by status: {} after {}", status, afterId, error));
     }
     
     @Override
@@ -125,9 +261,23 @@ public class R2dbcUserRepository implements UserRepository {
             .doOnError(error -> log.error("Failed to check email existence: {}", email, error));
     }
     
+    @Override
+    public Flux<User> findByUsernamesOrEmails(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        Query query = Query.query(Criteria.where("username").in(usernames).or("email").in(emails))
+            .columns("id", "username", "email");
+        
+        return template.select(query, User.class)
+            .doOnError(error -> log.error("Failed to find users by usernames or emails", error));
+    }
+    
     @Override
     public Mono<Void> deleteById(String id) {
-        return template.delete(Query.query(Criteria.where("id").is(id)), User.class)
+        return evictIndexes(id)
+            .then(template.delete(Query.query(Criteria.where("id").is(id)), User.class))
             .then(invalidateCache(id))
             .doOnSuccess(unused -> log.debug("User deleted: {}", id))
             .doOnError(error -> log.error("Failed to delete user: {}", id, error));
@@ -135,24 +285,91 @@ public class R2dbcUserRepository implements UserRepository {
     
     @Override
     public Mono<Long> countByStatus(UserStatus status) {
-        Query query = Query.query(Criteria.where("status").is(status));
-        
-        return template.count(query, User.class)
+        return statusCounts.get(status)
             .doOnSuccess(count -> log.debug("Count for status {}: {}", status, count))
             .doOnError(error -> log.error("Failed to count users by status: {}", status, error));
     }
     
+    @Override
+    public Mono<Map<UserStatus, Long>> countAllByStatus() {
+        return statusCounts.all()
+            .doOnError(error -> log.error("Failed to count users by status", error));
+    }
+    
+    @Override
+    public Mono<Map<UserStatus, Long>> recountByStatus() {
+        return statusCounts.rebuild()
+            .doOnError(error -> log.error("Failed to recount users by status", error));
+    }
+    
+    private Mono<Void> updateColumns(User user, Set<String> columns) {
+        Update update = null;
+        OutboundRow row = null;
+        for (String column : columns) {
+            if (LAST_LOGIN_AT.equals(column)) {
+                continue;
+            }
+            if (row == null) {
+                // Reuse the entity mapping so enums and value objects are converted as on insert
+                row = template.getDataAccessStrategy().getOutboundRow(user);
+            }
+            Object value = row.get(SqlIdentifier.unquoted(column));
+            update = update == null ? Update.update(column, value) : update.set(column, value);
+        }
+        
+        if (update == null) {
+            return Mono.empty();
+        }
+        return template.update(Query.query(Criteria.where("id").is(user.getId())), update, User.class)
+            .then();
+    }
+    
     private Mono<Void> cacheUser(User user) {
         String cacheKey = CACHE_PREFIX + user.getId();
-        return redisTemplate.opsForValue()
-            .set(cacheKey, user, CACHE_TTL)
-            .then()
+        nearCache.put(user);
+        return Mono.when(
+                redisTemplate.opsForValue().set(cacheKey, user, CACHE_TTL),
+                stringRedisTemplate.opsForValue().set(USERNAME_INDEX_PREFIX + user.getUsername(), user.getId(), CACHE_TTL),
+                stringRedisTemplate.opsForValue().set(EMAIL_INDEX_PREFIX + user.getEmail(), user.getId(), CACHE_TTL))
             .onErrorResume(error -> {
                 log.warn("Failed to cache user: {}", user.getId(), error);
                 return Mono.empty();
             });
     }
     
+    private Mono<User> readCached(String cacheKey) {
+        // Entries in an older or unknown encoding are dropped and reloaded from the database
+        return redisTemplate.opsForValue().get(cacheKey)
+            .onErrorResume(SerializationException.class, error -> {
+                log.debug("Discarding undecodable cache entry: {}", cacheKey, error);
+                return redisTemplate.delete(cacheKey).then(Mono.empty());
+            });
+    }
+    
+    private Mono<User> findByIndex(String indexKey, Predicate<User> matches) {
+        // A stale index entry (renamed or deleted user) fails the match and falls through to the database
+        return stringRedisTemplate.opsForValue().get(indexKey)
+            .onErrorResume(error -> {
+                log.warn("Failed to read user index: {}", indexKey, error);
+                return Mono.empty();
+            })
+            .flatMap(this::findById)
+            .filter(matches);
+    }
+    
+    private Mono<Void> evictIndexes(String id) {
+        return Mono.defer(() -> Mono.justOrEmpty(nearCache.get(id)))
+            .switchIfEmpty(readCached(CACHE_PREFIX + id))
+            .flatMap(user -> stringRedisTemplate.delete(
+                USERNAME_INDEX_PREFIX + user.getUsername(),
+                EMAIL_INDEX_PREFIX + user.getEmail()))
+            .then()
+            .onErrorResume(error -> {
+                log.warn("Failed to evict user indexes: {}", id, error);
+                return Mono.empty();
+            });
+    }
+    
     private Mono<Void> invalidateCache(String id) {
         String cacheKey = CACHE_PREFIX + id;
         return redisTemplate.delete(cacheKey)
@@ -160,6 +377,7 @@ public class R2dbcUserRepository implements UserRepository {
             .onErrorResume(error -> {
                 log.warn("Failed to invalidate cache for user: {}", id, error);
                 return Mono.empty();
-            });
+            })
+            .then(nearCache.invalidate(id));
     }
 }
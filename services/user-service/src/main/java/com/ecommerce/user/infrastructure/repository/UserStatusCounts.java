@@ -0,0 +1,150 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/repository/UserStatusCounts.java
+package com.ecommerce.user.infrastructure.repository;
+
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-status user counts, so admin counts never scan the users table. Triggers from
+ * {@code db/user-status-counts.sql} record a delta in the same transaction as every insert,
+ * delete and status change, so a rolled back change never counts. Committed deltas are folded
+ * into one total per status in the background, and reads add the deltas not folded yet, which
+ * keeps every read exact.
+ * <p>
+ * The totals are seeded from a single GROUP BY the first time they are read and can be rebuilt
+ * the same way. Seeding blocks writes to users while it counts, so no delta is counted twice
+ * or lost.
+ */
+@Component
+@Slf4j
+public class UserStatusCounts {
+    
+    private static final String READ_COUNTS =
+        "SELECT status, CAST(SUM(total) AS BIGINT) AS total, bool_or(folded) AS seeded FROM (" +
+        "SELECT status, total, true AS folded FROM user_status_counts " +
+        "UNION ALL SELECT status, delta, false FROM user_status_count_deltas) counts " +
+        "GROUP BY status";
+    
+    // Nothing is folded before the totals are seeded, the seed counts those deltas itself
+    private static final String FOLD_DELTAS =
+        "WITH folded AS (" +
+        "DELETE FROM user_status_count_deltas WHERE id IN (" +
+        "SELECT id FROM user_status_count_deltas " +
+        "WHERE EXISTS (SELECT 1 FROM user_status_counts) " +
+        "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+        "RETURNING status, delta) " +
+        "INSERT INTO user_status_counts AS counts (status, total) " +
+        "SELECT status, SUM(delta) FROM folded GROUP BY status " +
+        "ON CONFLICT (status) DO UPDATE SET total = counts.total + EXCLUDED.total";
+    
+    private static final String SEED_COUNTS =
+        "INSERT INTO user_status_counts (status, total) " +
+        "SELECT s.status, COUNT(u.id) FROM unnest(CAST(:statuses AS VARCHAR[])) AS s(status) " +
+        "LEFT JOIN users u ON u.status = s.status GROUP BY s.status";
+    
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration foldInterval;
+    private final int foldBatchSize;
+    private Disposable folder;
+    
+    public UserStatusCounts(@Value("${user-status-counts.fold-interval:5s}") Duration foldInterval,
+                            @Value("${user-status-counts.fold-batch-size:10000}") int foldBatchSize,
+                            DatabaseClient databaseClient,
+                            TransactionalOperator transactionalOperator) {
+        this.foldInterval = foldInterval;
+        this.foldBatchSize = foldBatchSize;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+    
+    @PostConstruct
+    void start() {
+        folder = Flux.interval(foldInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> fold(), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (folder != null) {
+            folder.dispose();
+        }
+    }
+    
+    public Mono<Long> get(UserStatus status) {
+        return all().map(counts -> counts.getOrDefault(status, 0L));
+    }
+    
+    public Mono<Map<UserStatus, Long>> all() {
+        return databaseClient.sql(READ_COUNTS)
+            .map(row -> new StatusCount(row.get("status", String.class), row.get("total", Long.class),
+                Boolean.TRUE.equals(row.get("seeded", Boolean.class))))
+            .all()
+            .collectList()
+            .flatMap(rows -> {
+                if (rows.stream().noneMatch(StatusCount::seeded)) {
+                    return rebuild();
+                }
+                Map<UserStatus, Long> counts = new EnumMap<>(UserStatus.class);
+                rows.forEach(row -> counts.put(UserStatus.valueOf(row.status()), row.total()));
+                return Mono.just(withAllStatuses(counts));
+            });
+    }
+    
+    public Mono<Map<UserStatus, Long>> rebuild() {
+        String[] statuses = Arrays.stream(UserStatus.values()).map(Enum::name).toArray(String[]::new);
+        
+        // Lock order matches writers (users, then deltas) and the fold (deltas, then totals)
+        return databaseClient.sql("LOCK TABLE users IN SHARE MODE").then()
+            .then(databaseClient.sql("LOCK TABLE user_status_count_deltas, user_status_counts IN EXCLUSIVE MODE").then())
+            .then(databaseClient.sql("DELETE FROM user_status_count_deltas").then())
+            .then(databaseClient.sql("DELETE FROM user_status_counts").then())
+            .then(databaseClient.sql(SEED_COUNTS).bind("statuses", statuses).then())
+            .as(transactionalOperator::transactional)
+            .then(databaseClient.sql("SELECT status, total FROM user_status_counts")
+                .map(row -> Map.entry(UserStatus.valueOf(row.get("status", String.class)), row.get("total", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue))
+            .map(this::withAllStatuses)
+            .doOnNext(counts -> log.info("User status counts seeded: {}", counts));
+    }
+    
+    private Mono<Void> fold() {
+        return databaseClient.sql(FOLD_DELTAS)
+            .bind("limit", foldBatchSize)
+            .fetch()
+            .rowsUpdated()
+            .then()
+            .onErrorResume(error -> {
+                log.warn("Failed to fold user status count deltas, retrying on next tick", error);
+                return Mono.empty();
+            });
+    }
+    
+    private Map<UserStatus, Long> withAllStatuses(Map<UserStatus, Long> counts) {
+        Map<UserStatus, Long> complete = new EnumMap<>(UserStatus.class);
+        for (UserStatus status : UserStatus.values()) {
+            complete.put(status, counts.getOrDefault(status, 0L));
+        }
+        return complete;
+    }
+    
+    private record StatusCount(String status, Long total, boolean seeded) {
+    }
+}
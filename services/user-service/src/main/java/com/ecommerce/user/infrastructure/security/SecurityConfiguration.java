@@ -0,0 +1,67 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/security/SecurityConfiguration.java
+package com.ecommerce.user.infrastructure.security;
+
+import com.ecommerce.security.jwt.JwksAuthentication;
+import com.ecommerce.user.application.service.JwtService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Authenticates bearer access tokens with the local {@link JwtService}, so revoked tokens are
+ * rejected here as well. Refresh tokens are not accepted as credentials. The auth endpoints and
+ * the JWKS document stay public; the admin API needs the {@code ADMIN} role, and token
+ * introspection a {@code SERVICE} or {@code ADMIN} caller.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfiguration {
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtService jwtService) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterAt(bearerAuthentication(jwtService), SecurityWebFiltersOrder.AUTHENTICATION)
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .pathMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/webjars/**").permitAll()
+                .pathMatchers("/api/auth/introspect").hasAnyRole("SERVICE", "ADMIN")
+                .pathMatchers("/api/auth/**", "/.well-known/**").permitAll()
+                .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                .anyExchange().authenticated())
+            .build();
+    }
+    
+    private static AuthenticationWebFilter bearerAuthentication(JwtService jwtService) {
+        ReactiveAuthenticationManager authenticationManager = authentication -> {
+            String token = (String) authentication.getCredentials();
+            return jwtService.verifyToken(token)
+                .filter(claims -> !claims.isRefreshToken())
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid access token")))
+                .map(claims -> UsernamePasswordAuthenticationToken.authenticated(claims, token,
+                    claims.getRole() != null
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + claims.getRole()))
+                        : List.of()));
+        };
+        return JwksAuthentication.webFilter(authenticationManager);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/security/SigningKeyCipher.java
+package com.ecommerce.user.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts JWT signing private keys with AES-GCM before they are written to Redis, so a
+ * Redis dump or replica does not expose them. The key id is bound as associated data, so
+ * a ciphertext cannot be moved to another key's entry.
+ */
+@Component
+@Slf4j
+public class SigningKeyCipher {
+    
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    
+    private final SecretKey key;
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    public SigningKeyCipher(@Value("${jwt.signing.key-encryption-key:}") String keyEncryptionKey,
+                            @Value("${jwt.secret}") String secret) {
+        if (keyEncryptionKey.isBlank()) {
+            log.warn("jwt.signing.key-encryption-key is not set, deriving it from jwt.secret");
+            this.key = new SecretKeySpec(sha256(secret), "AES");
+        } else {
+            byte[] decoded = Base64.getDecoder().decode(keyEncryptionKey);
+            if (decoded.length != 32) {
+                throw new IllegalStateException("jwt.signing.key-encryption-key must be 32 bytes, base64 encoded");
+            }
+            this.key = new SecretKeySpec(decoded, "AES");
+        }
+    }
+    
+    public byte[] encrypt(String keyId, byte[] plaintext) {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt JWT signing key: " + keyId, e);
+        }
+    }
+    
+    public byte[] decrypt(String keyId, byte[] sealed) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_LENGTH));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(sealed, IV_LENGTH, sealed.length - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt JWT signing key: " + keyId, e);
+        }
+    }
+    
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
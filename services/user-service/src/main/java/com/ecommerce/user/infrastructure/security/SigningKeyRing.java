@@ -0,0 +1,272 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/security/SigningKeyRing.java
+package com.ecommerce.user.infrastructure.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * ES256 signing keys shared by all user-service replicas through Redis. A rotated key is
+ * published (and served in the JWKS) for two refresh intervals before it is used for
+ * signing, so every replica and downstream verifier can learn it first. Retired keys stay
+ * published until every token they could have signed has expired. Private keys are stored
+ * encrypted with the {@link SigningKeyCipher}.
+ * <p>
+ * The ring also holds the cutoff for HS256 tokens from before the switch to ES256. Unless
+ * one is configured, the first replica to start records now plus the longest token lifetime,
+ * after which no legitimately issued HS256 token can still be valid.
+ */
+@Component
+@Slf4j
+public class SigningKeyRing {
+    
+    private static final String KEYS_KEY = "jwt:signing-keys";
+    private static final String ROTATION_LOCK_KEY = "jwt:signing-keys:rotation-lock";
+    private static final String LEGACY_CUTOFF_KEY = "jwt:legacy-tokens:accept-until";
+    private static final Duration ROTATION_LOCK_TTL = Duration.ofSeconds(30);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final SigningKeyCipher cipher;
+    private final Instant configuredLegacyCutoff;
+    private final Duration rotationPeriod;
+    private final Duration refreshInterval;
+    private final Duration retention;
+    
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile SigningKey current;
+    private volatile Instant legacyCutoff = Instant.EPOCH;
+    private Disposable refresher;
+    
+    public SigningKeyRing(@Value("${jwt.signing.rotation-period:7d}") Duration rotationPeriod,
+                          @Value("${jwt.signing.refresh-interval:1m}") Duration refreshInterval,
+                          @Value("${jwt.refresh-token-expiration:86400}") long refreshTokenExpiration,
+                          @Value("${jwt.legacy-tokens.accept-until:}") String legacyAcceptUntil,
+                          ReactiveStringRedisTemplate redisTemplate,
+                          SigningKeyCipher cipher) {
+        this.rotationPeriod = rotationPeriod;
+        this.refreshInterval = refreshInterval;
+        this.retention = Duration.ofSeconds(refreshTokenExpiration);
+        this.configuredLegacyCutoff = legacyAcceptUntil.isBlank() ? null : Instant.parse(legacyAcceptUntil);
+        this.redisTemplate = redisTemplate;
+        this.cipher = cipher;
+    }
+    
+    public SigningKey current() {
+        SigningKey signingKey = current;
+        if (signingKey == null) {
+            throw new IllegalStateException("No active JWT signing key");
+        }
+        return signingKey;
+    }
+    
+    /**
+     * Whether HS256 tokens signed with the old shared secret are still accepted.
+     */
+    public boolean acceptsLegacyTokens() {
+        return Instant.now().isBefore(legacyCutoff);
+    }
+    
+    public Instant legacyCutoff() {
+        return legacyCutoff;
+    }
+    
+    public PublicKey publicKey(String keyId) {
+        SigningKey signingKey = keys.get(keyId);
+        return signingKey != null ? signingKey.getPublicKey() : null;
+    }
+    
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = keys.values().stream()
+            .sorted(Comparator.comparing(SigningKey::getActivatesAt).reversed())
+            .map(signingKey -> (Map<String, Object>) new LinkedHashMap<String, Object>(Jwks.builder()
+                .key((ECPublicKey) signingKey.getPublicKey())
+                .id(signingKey.getKeyId())
+                .algorithm(Jwts.SIG.ES256.getId())
+                .publicKeyUse("sig")
+                .build()))
+            .collect(Collectors.toList());
+        return Map.of("keys", jwks);
+    }
+    
+    @PostConstruct
+    void initialize() {
+        // Tokens cannot be issued or checked without keys, so the first load is synchronous.
+        // A replica that loses the bootstrap race waits for the winner to publish its key.
+        loadLegacyCutoff()
+            .then(rotateIfDue())
+            .then(reload())
+            .then(Mono.defer(() -> current == null
+                ? Mono.error(new IllegalStateException("No active JWT signing key yet"))
+                : Mono.empty()))
+            .retryWhen(Retry.fixedDelay(5, Duration.ofSeconds(1)))
+            .block(Duration.ofSeconds(15));
+        
+        refresher = Flux.interval(refreshInterval)
+            .concatMap(tick -> rotateIfDue()
+                .then(reload())
+                .onErrorResume(error -> {
+                    log.warn("Failed to refresh JWT signing keys", error);
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+    
+    private Mono<Void> loadLegacyCutoff() {
+        if (configuredLegacyCutoff != null) {
+            return Mono.fromRunnable(() -> legacyCutoff = configuredLegacyCutoff);
+        }
+        
+        String proposed = String.valueOf(Instant.now().plus(retention).getEpochSecond());
+        return redisTemplate.opsForValue().setIfAbsent(LEGACY_CUTOFF_KEY, proposed)
+            .then(redisTemplate.opsForValue().get(LEGACY_CUTOFF_KEY))
+            .doOnNext(cutoff -> {
+                legacyCutoff = Instant.ofEpochSecond(Long.parseLong(cutoff));
+                log.info("HS256 tokens from before the switch to ES256 are accepted until {}", legacyCutoff);
+            })
+            .then();
+    }
+    
+    private Mono<Void> reload() {
+        return redisTemplate.<String, String>opsForHash().entries(KEYS_KEY)
+            .concatMap(entry -> {
+                SigningKey signingKey = SigningKey.decode(entry.getKey(), entry.getValue(), cipher);
+                // Keys written before private keys were encrypted are sealed on first sight
+                return SigningKey.isSealed(entry.getValue())
+                    ? Mono.just(signingKey)
+                    : redisTemplate.opsForHash().put(KEYS_KEY, signingKey.getKeyId(), signingKey.encode(cipher))
+                        .thenReturn(signingKey);
+            })
+            .collectMap(SigningKey::getKeyId)
+            .doOnNext(loaded -> {
+                Instant now = Instant.now();
+                keys = Map.copyOf(loaded);
+                current = loaded.values().stream()
+                    .filter(signingKey -> !signingKey.getActivatesAt().isAfter(now))
+                    .max(Comparator.comparing(SigningKey::getActivatesAt))
+                    .orElse(null);
+                log.debug("Loaded {} JWT signing keys, active: {}", loaded.size(),
+                    current != null ? current.getKeyId() : "none");
+            })
+            .then();
+    }
+    
+    private Mono<Void> rotateIfDue() {
+        Instant now = Instant.now();
+        
+        return redisTemplate.<String, String>opsForHash().entries(KEYS_KEY)
+            .map(entry -> SigningKey.decode(entry.getKey(), entry.getValue(), cipher))
+            .collectList()
+            .flatMap(existing -> {
+                Instant newest = existing.stream()
+                    .map(SigningKey::getActivatesAt)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+                if (newest != null && newest.plus(rotationPeriod).isAfter(now)) {
+                    return Mono.empty();
+                }
+                // With no key at all there is nothing to sign with yet, so activate immediately
+                Instant activatesAt = newest == null ? now : now.plus(refreshInterval.multipliedBy(2));
+                return rotate(existing, activatesAt);
+            });
+    }
+    
+    private Mono<Void> rotate(List<SigningKey> existing, Instant activatesAt) {
+        return redisTemplate.opsForValue().setIfAbsent(ROTATION_LOCK_KEY, "1", ROTATION_LOCK_TTL)
+            .filter(Boolean::booleanValue)
+            .flatMap(locked -> {
+                KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+                SigningKey signingKey = new SigningKey(UUID.randomUUID().toString(), activatesAt,
+                    keyPair.getPublic(), keyPair.getPrivate());
+                
+                Instant expiredBefore = Instant.now().minus(rotationPeriod).minus(retention);
+                Object[] retired = existing.stream()
+                    .filter(key -> key.getActivatesAt().isBefore(expiredBefore))
+                    .map(SigningKey::getKeyId)
+                    .toArray();
+                
+                log.info("Rotating JWT signing key, new key {} activates at {}", signingKey.getKeyId(), activatesAt);
+                return redisTemplate.opsForHash().put(KEYS_KEY, signingKey.getKeyId(), signingKey.encode(cipher))
+                    .then(retired.length > 0
+                        ? redisTemplate.opsForHash().remove(KEYS_KEY, retired).then()
+                        : Mono.empty());
+            });
+    }
+    
+    @Getter
+    @RequiredArgsConstructor
+    public static final class SigningKey {
+        
+        private final String keyId;
+        private final Instant activatesAt;
+        private final PublicKey publicKey;
+        private final PrivateKey privateKey;
+        
+        private static final String SEALED_PREFIX = "gcm:";
+        
+        String encode(SigningKeyCipher cipher) {
+            Base64.Encoder encoder = Base64.getEncoder();
+            return activatesAt.getEpochSecond()
+                + "." + encoder.encodeToString(publicKey.getEncoded())
+                + "." + SEALED_PREFIX + encoder.encodeToString(cipher.encrypt(keyId, privateKey.getEncoded()));
+        }
+        
+        static boolean isSealed(String encoded) {
+            return encoded.contains("." + SEALED_PREFIX);
+        }
+        
+        static SigningKey decode(String keyId, String encoded, SigningKeyCipher cipher) {
+            String[] parts = encoded.split("\\.");
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] privateKey = parts[2].startsWith(SEALED_PREFIX)
+                ? cipher.decrypt(keyId, decoder.decode(parts[2].substring(SEALED_PREFIX.length())))
+                : decoder.decode(parts[2]);
+            try {
+                KeyFactory keyFactory = KeyFactory.getInstance("EC");
+                return new SigningKey(
+                    keyId,
+                    Instant.ofEpochSecond(Long.parseLong(parts[0])),
+                    keyFactory.generatePublic(new X509EncodedKeySpec(decoder.decode(parts[1]))),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKey))
+                );
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Invalid JWT signing key: " + keyId, e);
+            }
+        }
+    }
+}
@@ -2,34 +2,117 @@
 package com.ecommerce.user.infrastructure.service;
 
 import com.ecommerce.user.application.service.PasswordService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * BCrypt is deliberately CPU-heavy, so all hashing runs on a fixed pool sized to the
+ * available cores rather than on the Netty event loop. The pool has a bounded queue;
+ * when it is full new requests fail fast with 503 instead of piling up.
+ * <p>
+ * The work factor is one fleet-wide setting, so every node hashes at the same cost and a
+ * stored hash is only upgraded once, when its cost is below the setting. At startup the
+ * node still measures the highest cost that fits the latency budget and warns when the
+ * configured one does not.
+ */
 @Service
 @Slf4j
 public class BcryptPasswordService implements PasswordService {
     
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+    private static final int MAX_STRENGTH = 16;
+    private static final int CALIBRATION_SAMPLES = 5;
+    
+    private final int strength;
     private final BCryptPasswordEncoder passwordEncoder;
     private final SecureRandom secureRandom;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejections;
     
-    public BcryptPasswordService() {
-        this.passwordEncoder = new BCryptPasswordEncoder(12);
+    public BcryptPasswordService(@Value("${password-hashing.threads:0}") int threads,
+                                 @Value("${password-hashing.queue-capacity:256}") int queueCapacity,
+                                 @Value("${password-hashing.strength:12}") int strength,
+                                 @Value("${password-hashing.min-strength:10}") int minStrength,
+                                 @Value("${password-hashing.target-latency:250ms}") Duration targetLatency,
+                                 MeterRegistry meterRegistry) {
+        this.strength = strength;
+        int affordable = calibrateStrength(minStrength, targetLatency);
+        if (affordable < strength) {
+            log.warn("BCrypt strength {} exceeds the {} ms budget on this node, which affords {}",
+                strength, targetLatency.toMillis(), affordable);
+        }
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
         this.secureRandom = new SecureRandom();
+        this.meterRegistry = meterRegistry;
+        
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        meterRegistry.gauge("user.password.queue.depth", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("user.password.active", executor, ThreadPoolExecutor::getActiveCount);
+        this.rejections = meterRegistry.counter("user.password.rejected");
+        Gauge.builder("user.password.strength", () -> strength).strongReference(true).register(meterRegistry);
+        Gauge.builder("user.password.affordable-strength", () -> affordable).strongReference(true).register(meterRegistry);
     }
     
     @Override
-    public String hashPassword(String plainPassword) {
+    public Mono<String> hashPassword(String plainPassword) {
         log.debug("Hashing password");
-        return passwordEncoder.encode(plainPassword);
+        return submit("hash", () -> passwordEncoder.encode(plainPassword));
     }
     
     @Override
-    public boolean verifyPassword(String plainPassword, String hashedPassword) {
+    public Mono<Boolean> verifyPassword(String plainPassword, String hashedPassword) {
         log.debug("Verifying password");
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        return submit("verify", () -> passwordEncoder.matches(plainPassword, hashedPassword));
+    }
+    
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        if (hashedPassword == null) {
+            return false;
+        }
+        // Only upgrades: a stronger hash from an earlier, higher setting is kept as is
+        Matcher matcher = BCRYPT_PATTERN.matcher(hashedPassword);
+        return !matcher.matches() || Integer.parseInt(matcher.group(1)) < strength;
+    }
+    
+    @Override
+    public boolean isEncodedPassword(String value) {
+        return value != null && BCRYPT_PATTERN.matcher(value).matches();
     }
     
     @Override
@@ -43,4 +126,64 @@ public class BcryptPasswordService implements PasswordService {
         
         return password.toString();
     }
-}
\ No newline at end of file
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    private static int calibrateStrength(int minStrength, Duration targetLatency) {
+        // Each additional cost step doubles the work, so one measurement at the floor is enough
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration-warmup");
+        
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode("calibration-sample-" + i);
+            samples[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(samples);
+        long baseNanos = samples[CALIBRATION_SAMPLES / 2];
+        
+        int selected = minStrength;
+        for (int candidate = minStrength; candidate <= MAX_STRENGTH; candidate++) {
+            long estimatedNanos = baseNanos << (candidate - minStrength);
+            log.info("BCrypt strength {} costs ~{} ms on this node", candidate, estimatedNanos / 1_000_000);
+            if (estimatedNanos <= targetLatency.toNanos()) {
+                selected = candidate;
+            }
+        }
+        
+        log.info("BCrypt strength {} fits a {} ms budget on this node", selected, targetLatency.toMillis());
+        return selected;
+    }
+    
+    private <T> Mono<T> submit(String operation, Callable<T> work) {
+        Timer waitTimer = meterRegistry.timer("user.password.wait", "operation", operation);
+        Timer workTimer = meterRegistry.timer("user.password.work", "operation", operation);
+        
+        return Mono.create(sink -> {
+            long enqueuedAt = System.nanoTime();
+            try {
+                Future<?> future = executor.submit(() -> {
+                    long startedAt = System.nanoTime();
+                    waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        T result = work.call();
+                        workTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        sink.success(result);
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                });
+                sink.onCancel(() -> future.cancel(false));
+            } catch (RejectedExecutionException e) {
+                rejections.increment();
+                log.warn("Password {} rejected, hashing queue is full", operation);
+                sink.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Authentication service is busy, please retry"));
+            }
+        });
+    }
+}
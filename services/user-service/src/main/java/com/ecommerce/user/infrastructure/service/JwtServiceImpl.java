@@ -1,155 +1,345 @@
 // services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/JwtServiceImpl.java
 package com.ecommerce.user.infrastructure.service;
 
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
 import com.ecommerce.user.application.dto.JwtTokens;
+import com.ecommerce.user.application.dto.TokenClaims;
+import com.ecommerce.user.application.dto.TokenIntrospection;
 import com.ecommerce.user.application.service.JwtService;
+import com.ecommerce.user.application.service.RefreshSessionStore;
+import com.ecommerce.user.application.service.TokenRevocationList;
 import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.infrastructure.security.SigningKeyRing;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class JwtServiceImpl implements JwtService {
     
-    private final SecretKey secretKey;
-    private final ReactiveStringRedisTemplate redisTemplate;
+    private final SecretKey legacySecretKey;
+    private final SigningKeyRing signingKeyRing;
+    private final JwtParser jwtParser;
+    private final Cache<String, TokenClaims> verifiedTokens;
+    private final RefreshSessionStore sessionStore;
+    private final TokenRevocationList revocationList;
+    private final Scheduler introspectionScheduler;
+    private final int introspectionParallelism;
+    private final int introspectionMaxBatchSize;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     
     public JwtServiceImpl(@Value("${jwt.secret}") String secret,
                          @Value("${jwt.access-token-expiration:3600}") long accessTokenExpiration,
                          @Value("${jwt.refresh-token-expiration:86400}") long refreshTokenExpiration,
-                         ReactiveStringRedisTemplate redisTemplate) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+                         @Value("${jwt.verified-cache.maximum-size:100000}") long verifiedCacheSize,
+                         @Value("${jwt.introspection.parallelism:0}") int introspectionParallelism,
+                         @Value("${jwt.introspection.max-batch-size:256}") int introspectionMaxBatchSize,
+                         SigningKeyRing signingKeyRing,
+                         RefreshSessionStore sessionStore,
+                         TokenRevocationList revocationList,
+                         MeterRegistry meterRegistry) {
+        this.legacySecretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.signingKeyRing = signingKeyRing;
+        this.jwtParser = Jwts.parser().keyLocator(this::locateVerificationKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new Expiry<String, TokenClaims>() {
+                @Override
+                public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+                }
+                
+                @Override
+                public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+                
+                @Override
+                public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
-        this.redisTemplate = redisTemplate;
+        this.sessionStore = sessionStore;
+        this.revocationList = revocationList;
+        this.introspectionParallelism = introspectionParallelism > 0
+            ? introspectionParallelism
+            : Runtime.getRuntime().availableProcessors();
+        this.introspectionMaxBatchSize = introspectionMaxBatchSize;
+        // Signature checks are CPU-bound, so they get a fixed pool instead of the event loop
+        this.introspectionScheduler = Schedulers.newParallel("jwt-introspection", this.introspectionParallelism);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
     }
     
     @Override
     public Mono<JwtTokens> generateTokens(User user) {
         log.debug("Generating JWT tokens for user: {}", user.getUsername());
         
-        return Mono.fromCallable(() -> {
-            String accessToken = generateAccessToken(user);
-            String refreshToken = generateRefreshToken(user);
-            
-            return new JwtTokens(accessToken, refreshToken, accessTokenExpiration);
-        })
-        .flatMap(tokens -> storeRefreshToken(user.getUserId().getValue(), tokens.getRefreshToken())
-            .then(Mono.just(tokens)));
+        String subject = user.getUserId().getValue();
+        String sessionId = UUID.randomUUID().toString();
+        Instant refreshExpiresAt = Instant.now().plusSeconds(refreshTokenExpiration);
+        
+        return Mono.fromCallable(() -> issueTokens(subject, user.getUsername(), user.getEmail(), user.getRole().name(),
+                sessionId, refreshExpiresAt))
+            .flatMap(tokens -> sessionStore.open(subject, sessionId, digest(tokens.getRefreshToken()), refreshExpiresAt)
+                .thenReturn(tokens));
+    }
+    
+    @Override
+    public Mono<JwtTokens> refreshTokens(String refreshToken) {
+        return verifyToken(refreshToken)
+            .filter(claims -> claims.isRefreshToken() && claims.getSessionId() != null)
+            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Invalid refresh token")))
+            .flatMap(claims -> {
+                Instant refreshExpiresAt = Instant.now().plusSeconds(refreshTokenExpiration);
+                JwtTokens tokens = issueTokens(claims.getUserId(), claims.getUsername(), claims.getEmail(),
+                    claims.getRole(), claims.getSessionId(), refreshExpiresAt);
+                
+                return sessionStore.rotate(claims.getUserId(), claims.getSessionId(), digest(refreshToken),
+                        digest(tokens.getRefreshToken()), refreshExpiresAt)
+                    .flatMap(rotation -> switch (rotation) {
+                        case ROTATED -> Mono.just(tokens);
+                        case REUSED -> {
+                            log.warn("Refresh token replayed, session {} of user {} ended",
+                                claims.getSessionId(), claims.getUserId());
+                            yield Mono.error(new BusinessRuleViolationException("Invalid refresh token"));
+                        }
+                        case UNKNOWN -> Mono.error(new BusinessRuleViolationException("Invalid refresh token"));
+                    });
+            });
+    }
+    
+    @Override
+    public Mono<Void> logout(String accessToken) {
+        return verifyToken(accessToken)
+            .filter(claims -> !claims.isRefreshToken())
+            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Invalid token")))
+            // Both writes are issued together and share one pipelined round trip
+            .flatMap(claims -> Mono.when(
+                claims.getTokenId() != null
+                    ? revocationList.revoke(claims.getTokenId(), claims.getExpiresAt())
+                    : Mono.empty(),
+                claims.getSessionId() != null
+                    ? sessionStore.close(claims.getUserId(), claims.getSessionId())
+                    : Mono.empty()))
+            .doOnSuccess(unused -> log.debug("Access token revoked on logout"));
+    }
+    
+    @Override
+    public Mono<Void> revokeSessions(String userId) {
+        return sessionStore.closeAll(userId);
     }
     
     @Override
-    public Mono<String> refreshAccessToken(String refreshToken) {
-        return validateRefreshToken(refreshToken)
-            .flatMap(userId -> 
-                Mono.fromCallable(() -> {
-                    Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(secretKey)
-                        .build()
-                        .parseClaimsJws(refreshToken)
-                        .getBody();
-                    
-                    return Jwts.builder()
-                        .setSubject(userId)
-                        .setIssuedAt(new Date())
-                        .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration * 1000))
-                        .claim("username", claims.get("username"))
-                        .claim("role", claims.get("role"))
-                        .signWith(secretKey, SignatureAlgorithm.HS256)
-                        .compact();
-                })
-            );
+    public Mono<TokenClaims> verifyToken(String token) {
+        return Mono.fromCallable(() -> verify(token));
     }
     
     @Override
     public Mono<Boolean> validateToken(String token) {
-        return Mono.fromCallable(() -> {
-            try {
-                Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-                return true;
-            } catch (JwtException | IllegalArgumentException e) {
-                log.debug("Invalid JWT token: {}", e.getMessage());
-                return false;
-            }
-        });
+        return verifyToken(token).hasElement();
     }
     
     @Override
     public Mono<String> getUserIdFromToken(String token) {
-        return Mono.fromCallable(() -> {
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifyToken(token)
+            .map(TokenClaims::getUserId)
+            .switchIfEmpty(Mono.error(new BusinessRuleViolationException("Invalid token")));
+    }
+    
+    @Override
+    public Mono<List<TokenIntrospection>> introspect(List<String> tokens) {
+        if (tokens.size() > introspectionMaxBatchSize) {
+            return Mono.error(new BusinessRuleViolationException(
+                "At most " + introspectionMaxBatchSize + " tokens can be introspected per request"));
+        }
+        
+        return Flux.fromIterable(tokens)
+            .flatMapSequential(token -> Mono.fromCallable(() -> Optional.ofNullable(verify(token)))
+                .subscribeOn(introspectionScheduler), introspectionParallelism)
+            .collectList()
+            .flatMap(verified -> revokedAmong(verified)
+                .map(revoked -> verified.stream()
+                    .map(claims -> claims
+                        .filter(tokenClaims -> !tokenClaims.isRefreshToken())
+                        .filter(tokenClaims -> tokenClaims.getTokenId() == null || !revoked.contains(tokenClaims.getTokenId()))
+                        .map(TokenIntrospection::active)
+                        .orElseGet(TokenIntrospection::inactive))
+                    .toList()));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        introspectionScheduler.dispose();
+    }
+    
+    private Mono<Set<String>> revokedAmong(List<Optional<TokenClaims>> verified) {
+        Set<String> tokenIds = verified.stream()
+            .flatMap(Optional::stream)
+            .map(TokenClaims::getTokenId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        
+        // Availability over strictness: an unreachable revocation list does not fail every caller
+        return revocationList.revokedAmong(tokenIds)
+            .onErrorResume(error -> {
+                log.warn("Revocation check failed for {} tokens, treating them as not revoked", tokenIds.size(), error);
+                return Mono.just(Set.of());
+            });
+    }
+    
+    private TokenClaims verify(String token) {
+        TokenClaims claims = parse(token);
+        // Checked on every call, because a revoked token can still sit in the verified cache
+        if (claims != null && claims.getTokenId() != null && revocationList.isRevoked(claims.getTokenId())) {
+            log.debug("Rejecting revoked JWT token: {}", claims.getTokenId());
+            return null;
+        }
+        return claims;
+    }
+    
+    private TokenClaims parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        
+        String digest = digest(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        
+        try {
+            Jws<Claims> jws = jwtParser.parseSignedClaims(token);
+            Claims payload = jws.getPayload();
+            if (payload.getExpiration() == null) {
+                log.debug("Rejecting JWT token without expiration");
+                return null;
+            }
+            // No HS256 token issued before the switch can outlive the cutoff, so one that does was minted later
+            if (jws.getHeader().getKeyId() == null
+                && payload.getExpiration().toInstant().isAfter(signingKeyRing.legacyCutoff())) {
+                log.warn("Rejecting HS256 token that expires after the legacy cutoff");
+                return null;
+            }
             
-            return claims.getSubject();
-        });
+            TokenClaims claims = toTokenClaims(payload);
+            verifiedTokens.put(digest, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
     }
     
-    private String generateAccessToken(User user) {
-        return Jwts.builder()
-            .setSubject(user.getUserId().getValue())
-            .setIssuedAt(new Date())
-            .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration * 1000))
-            .claim("username", user.getUsername())
-            .claim("email", user.getEmail())
-            .claim("role", user.getRole().name())
-            .signWith(secretKey, SignatureAlgorithm.HS256)
-            .compact();
+    private TokenClaims toTokenClaims(Claims claims) {
+        return new TokenClaims(
+            claims.getSubject(),
+            claims.getId(),
+            claims.get("sid", String.class),
+            claims.get("token_type", String.class),
+            claims.get("username", String.class),
+            claims.get("email", String.class),
+            claims.get("role", String.class),
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration().toInstant()
+        );
     }
     
-    private String generateRefreshToken(User user) {
+    private JwtBuilder signedBuilder() {
+        SigningKeyRing.SigningKey signingKey = signingKeyRing.current();
         return Jwts.builder()
-            .setSubject(user.getUserId().getValue())
-            .setId(UUID.randomUUID().toString())
-            .setIssuedAt(new Date())
-            .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration * 1000))
-            .claim("username", user.getUsername())
-            .claim("role", user.getRole().name())
-            .signWith(secretKey, SignatureAlgorithm.HS256)
-            .compact();
+            .header().keyId(signingKey.getKeyId()).and()
+            .signWith(signingKey.getPrivateKey(), Jwts.SIG.ES256);
     }
     
-    private Mono<Void> storeRefreshToken(String userId, String refreshToken) {
-        String key = "refresh_token:" + userId;
-        return redisTemplate.opsForValue()
-            .set(key, refreshToken, Duration.ofSeconds(refreshTokenExpiration))
-            .then();
+    private Key locateVerificationKey(Header header) {
+        String keyId = header instanceof JwsHeader jwsHeader ? jwsHeader.getKeyId() : null;
+        if (keyId == null) {
+            // HS256 tokens issued before the switch to ES256 are only accepted up to the cutoff
+            if (!signingKeyRing.acceptsLegacyTokens()) {
+                throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+            }
+            return legacySecretKey;
+        }
+        
+        Key publicKey = signingKeyRing.publicKey(keyId);
+        if (publicKey == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + keyId);
+        }
+        return publicKey;
     }
     
-    private Mono<String> validateRefreshToken(String refreshToken) {
-        return Mono.fromCallable(() -> {
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(refreshToken)
-                .getBody();
-            
-            return claims.getSubject();
-        })
-        .flatMap(userId -> {
-            String key = "refresh_token:" + userId;
-            return redisTemplate.opsForValue().get(key)
-                .filter(storedToken -> storedToken.equals(refreshToken))
-                .map(token -> userId)
-                .switchIfEmpty(Mono.error(new RuntimeException("Invalid refresh token")));
-        });
-    }
-}
\ No newline at end of file
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private JwtTokens issueTokens(String subject, String username, String email, String role,
+                                  String sessionId, Instant refreshExpiresAt) {
+        Date now = new Date();
+        
+        // The jti lets an access token be revoked before it expires; sid ties it to its device session
+        String accessToken = signedBuilder()
+            .setSubject(subject)
+            .setId(UUID.randomUUID().toString())
+            .setIssuedAt(now)
+            .setExpiration(new Date(now.getTime() + accessTokenExpiration * 1000))
+            .claim("sid", sessionId)
+            .claim("username", username)
+            .claim("email", email)
+            .claim("role", role)
+            .compact();
+        
+        String refreshToken = signedBuilder()
+            .setSubject(subject)
+            .setId(UUID.randomUUID().toString())
+            .setIssuedAt(now)
+            .setExpiration(Date.from(refreshExpiresAt))
+            .claim("sid", sessionId)
+            .claim("token_type", "refresh")
+            .claim("username", username)
+            .claim("email", email)
+            .claim("role", role)
+            .compact();
+        
+        return new JwtTokens(accessToken, refreshToken, accessTokenExpiration);
+    }
+}
@@ -0,0 +1,285 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/RedisBloomRegistrationFilter.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.domain.common.exception.BusinessRuleViolationException;
+import com.ecommerce.user.application.service.RegistrationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bloom filter over registered usernames and emails, stored as Redis bitmaps so every
+ * replica shares one copy. A negative answer skips the existence query; a positive one
+ * still needs it. A negative is not authoritative: a failed add, a registration racing a
+ * rebuild or two concurrent registrations of one name all leave users the filter does not
+ * know, so the unique indexes on the users table remain the final check. Once more users
+ * are added than the filter was sized for it is rebuilt from the users table at twice the
+ * current population.
+ */
+@Service
+@Slf4j
+public class RedisBloomRegistrationFilter implements RegistrationFilter {
+    
+    private static final String USERNAME_KEY = "{user-bloom}:username";
+    private static final String EMAIL_KEY = "{user-bloom}:email";
+    private static final String META_KEY = "{user-bloom}:meta";
+    private static final String REBUILD_LOCK_KEY = "{user-bloom}:rebuild-lock";
+    private static final String STAGING_SUFFIX = ":staging";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+    private static final Duration REPLAY_CLOCK_SKEW = Duration.ofMinutes(1);
+    private static final long MAX_BITS = (1L << 32) - 1;
+    
+    private static final RedisScript<Long> CHECK_SCRIPT = RedisScript.of("""
+        local bits = tonumber(redis.call('HGET', KEYS[3], 'bits'))
+        local hashes = tonumber(redis.call('HGET', KEYS[3], 'hashes'))
+        if not bits or not hashes then
+          return -1
+        end
+        local result = 0
+        for field = 0, 1 do
+          local h1 = tonumber(ARGV[field * 2 + 1])
+          local h2 = tonumber(ARGV[field * 2 + 2])
+          local present = 1
+          for i = 0, hashes - 1 do
+            if redis.call('GETBIT', KEYS[field + 1], (h1 + i * h2) % bits) == 0 then
+              present = 0
+              break
+            end
+          end
+          result = result + present * (field + 1)
+        end
+        return result
+        """, Long.class);
+    
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+        local bits = tonumber(redis.call('HGET', KEYS[3], 'bits'))
+        local hashes = tonumber(redis.call('HGET', KEYS[3], 'hashes'))
+        if not bits or not hashes then
+          return -1
+        end
+        for field = 0, 1 do
+          local h1 = tonumber(ARGV[field * 2 + 1])
+          local h2 = tonumber(ARGV[field * 2 + 2])
+          for i = 0, hashes - 1 do
+            redis.call('SETBIT', KEYS[field + 1], (h1 + i * h2) % bits, 1)
+          end
+        end
+        local count = redis.call('HINCRBY', KEYS[3], 'count', 1)
+        if count > tonumber(redis.call('HGET', KEYS[3], 'capacity')) then
+          return 1
+        end
+        return 0
+        """, Long.class);
+    
+    private static final RedisScript<Long> SWAP_SCRIPT = RedisScript.of("""
+        redis.call('RENAME', KEYS[1], KEYS[2])
+        redis.call('RENAME', KEYS[3], KEYS[4])
+        redis.call('HSET', KEYS[5], 'bits', ARGV[1], 'hashes', ARGV[2], 'capacity', ARGV[3], 'count', ARGV[4])
+        return 1
+        """, Long.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    
+    public RedisBloomRegistrationFilter(@Value("${user-registration-filter.expected-insertions:1000000}") long expectedInsertions,
+                                        @Value("${user-registration-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                        ReactiveStringRedisTemplate redisTemplate,
+                                        DatabaseClient databaseClient,
+                                        MeterRegistry meterRegistry) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.redisTemplate = redisTemplate;
+        this.databaseClient = databaseClient;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Mono<Tuple2<Boolean, Boolean>> mightContain(String username, String email) {
+        return redisTemplate.execute(CHECK_SCRIPT, List.of(USERNAME_KEY, EMAIL_KEY, META_KEY),
+                hashArguments(username, email))
+            .next()
+            .filter(result -> result >= 0)
+            .map(result -> {
+                boolean usernameMayExist = (result & 1) != 0;
+                boolean emailMayExist = (result & 2) != 0;
+                recordCheck("username", usernameMayExist);
+                recordCheck("email", emailMayExist);
+                return Tuples.of(usernameMayExist, emailMayExist);
+            })
+            .onErrorResume(error -> {
+                log.warn("Registration filter unavailable, falling back to database checks", error);
+                return Mono.empty();
+            })
+            .defaultIfEmpty(Tuples.of(true, true));
+    }
+    
+    @Override
+    public Mono<Void> add(String username, String email) {
+        return redisTemplate.execute(ADD_SCRIPT, List.of(USERNAME_KEY, EMAIL_KEY, META_KEY),
+                hashArguments(username, email))
+            .next()
+            .doOnNext(saturated -> {
+                if (saturated == 1) {
+                    log.info("Registration filter exceeded its capacity, rebuilding");
+                    rebuild().subscribe(
+                        count -> log.info("Registration filter rebuilt with {} users", count),
+                        error -> log.debug("Registration filter rebuild skipped: {}", error.getMessage()));
+                }
+            })
+            .then()
+            .onErrorResume(error -> {
+                // The user is still protected by the unique indexes, only the existence query is skipped
+                log.warn("Failed to add user to registration filter: {}", username, error);
+                return Mono.empty();
+            });
+    }
+    
+    @Override
+    public void recordFalsePositive(String field) {
+        meterRegistry.counter("user.registration.filter.false-positives", "field", field).increment();
+    }
+    
+    @Override
+    public Mono<Long> rebuild() {
+        Instant startedAt = Instant.now();
+        
+        return redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, startedAt.toString(), REBUILD_LOCK_TTL)
+            .flatMap(acquired -> {
+                if (!acquired) {
+                    return Mono.error(new BusinessRuleViolationException(
+                        "Registration filter rebuild already in progress"));
+                }
+                return buildFromDatabase()
+                    .flatMap(count -> replayRegistrationsSince(startedAt.minus(REPLAY_CLOCK_SKEW))
+                        .thenReturn(count))
+                    .doFinally(signal -> redisTemplate.delete(REBUILD_LOCK_KEY).subscribe());
+            })
+            .doOnSuccess(count -> log.info("Registration filter rebuilt from {} users in {}",
+                count, Duration.between(startedAt, Instant.now())));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        redisTemplate.hasKey(META_KEY)
+            .flatMap(built -> built ? Mono.<Long>empty() : rebuild())
+            .subscribe(
+                count -> log.info("Registration filter initialized with {} users", count),
+                error -> log.warn("Registration filter not initialized at startup: {}", error.getMessage()));
+    }
+    
+    private Mono<Long> buildFromDatabase() {
+        return databaseClient.sql("SELECT COUNT(*) FROM users")
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .flatMap(population -> {
+                long capacity = Math.max(expectedInsertions, population * 2);
+                long bits = optimalBits(capacity, falsePositiveRate);
+                int hashes = optimalHashes(capacity, bits);
+                byte[] usernameBitmap = new byte[(int) ((bits + 7) / 8)];
+                byte[] emailBitmap = new byte[(int) ((bits + 7) / 8)];
+                
+                return databaseClient.sql("SELECT username, email FROM users")
+                    .map(row -> Tuples.of(row.get("username", String.class), row.get("email", String.class)))
+                    .all()
+                    .doOnNext(identity -> {
+                        setBits(usernameBitmap, hash(identity.getT1()), bits, hashes);
+                        setBits(emailBitmap, hash(identity.getT2().toLowerCase()), bits, hashes);
+                    })
+                    .count()
+                    .flatMap(count -> writeBitmap(USERNAME_KEY + STAGING_SUFFIX, usernameBitmap)
+                        .then(writeBitmap(EMAIL_KEY + STAGING_SUFFIX, emailBitmap))
+                        .then(redisTemplate.execute(SWAP_SCRIPT,
+                            List.of(USERNAME_KEY + STAGING_SUFFIX, USERNAME_KEY,
+                                EMAIL_KEY + STAGING_SUFFIX, EMAIL_KEY, META_KEY),
+                            List.of(String.valueOf(bits), String.valueOf(hashes),
+                                String.valueOf(capacity), String.valueOf(count))).then())
+                        .thenReturn(count));
+            });
+    }
+    
+    private Mono<Void> replayRegistrationsSince(Instant since) {
+        // Users registered while the snapshot was being built were added to the old bitmaps
+        return databaseClient.sql("SELECT username, email FROM users WHERE created_at >= :since")
+            .bind("since", since)
+            .map(row -> Tuples.of(row.get("username", String.class), row.get("email", String.class)))
+            .all()
+            .concatMap(identity -> add(identity.getT1(), identity.getT2()))
+            .then();
+    }
+    
+    private Mono<Void> writeBitmap(String key, byte[] bitmap) {
+        return redisTemplate.execute(connection -> connection.stringCommands()
+                .set(ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8)), ByteBuffer.wrap(bitmap)))
+            .then();
+    }
+    
+    private void recordCheck(String field, boolean mayExist) {
+        meterRegistry.counter("user.registration.filter.checks",
+            "field", field, "result", mayExist ? "positive" : "negative").increment();
+    }
+    
+    private static List<String> hashArguments(String username, String email) {
+        long usernameHash = hash(username);
+        long emailHash = hash(email.toLowerCase());
+        return List.of(
+            String.valueOf(firstHash(usernameHash)), String.valueOf(secondHash(usernameHash)),
+            String.valueOf(firstHash(emailHash)), String.valueOf(secondHash(emailHash)));
+    }
+    
+    private static void setBits(byte[] bitmap, long hash, long bits, int hashes) {
+        for (int i = 0; i < hashes; i++) {
+            long offset = (firstHash(hash) + i * secondHash(hash)) % bits;
+            // Redis numbers bitmap offsets from the most significant bit of each byte
+            bitmap[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+        }
+    }
+    
+    private static long firstHash(long hash) {
+        return hash & 0xffffffffL;
+    }
+    
+    private static long secondHash(long hash) {
+        return (hash >>> 32) | 1;
+    }
+    
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+    private static long optimalBits(long capacity, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return Math.min(Math.max(bits, 64), MAX_BITS);
+    }
+    
+    private static int optimalHashes(long capacity, long bits) {
+        return Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+    }
+}
@@ -0,0 +1,216 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/RedisLoginAttemptLimiter.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.user.application.service.LoginAttemptLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Sliding-window limits on failed logins, per login identifier and per client IP, kept in
+ * Redis sorted sets so all replicas share them. An identifier that exceeds its limit is
+ * locked for the configured duration, mirroring {@code User.lock}. Keys this node already
+ * knows to be blocked are rejected from a local cache without a Redis round trip.
+ */
+@Service
+@Slf4j
+public class RedisLoginAttemptLimiter implements LoginAttemptLimiter {
+    
+    private static final String ATTEMPTS_PREFIX = "login-attempts:";
+    private static final String LOCK_PREFIX = "login-lock:";
+    
+    // Returns the milliseconds until the key may try again, or 0 if it is allowed now
+    private static final RedisScript<Long> CHECK_SCRIPT = RedisScript.of("""
+        local lockTtl = redis.call('PTTL', KEYS[2])
+        if lockTtl > 0 then
+          return lockTtl
+        end
+        local now = tonumber(ARGV[1])
+        local window = tonumber(ARGV[2])
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+        if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then
+          return 0
+        end
+        local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+        return math.max(1, tonumber(oldest[2]) + window - now)
+        """, Long.class);
+    
+    // Returns the lock expiry in epoch milliseconds if this failure locked the key, otherwise 0
+    private static final RedisScript<Long> FAILURE_SCRIPT = RedisScript.of("""
+        local now = tonumber(ARGV[1])
+        local window = tonumber(ARGV[2])
+        local lockMillis = tonumber(ARGV[4])
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+        redis.call('ZADD', KEYS[1], now, ARGV[5])
+        redis.call('PEXPIRE', KEYS[1], window)
+        if lockMillis > 0 and redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[3]) then
+          if redis.call('SET', KEYS[2], now + lockMillis, 'PX', lockMillis, 'NX') then
+            redis.call('DEL', KEYS[1])
+            return now + lockMillis
+          end
+        end
+        return 0
+        """, Long.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final Duration lockDuration;
+    private final Cache<String, Instant> blockedKeys;
+    
+    public RedisLoginAttemptLimiter(@Value("${login-limiter.window:5m}") Duration window,
+                                    @Value("${login-limiter.max-failures-per-user:5}") int maxFailuresPerUser,
+                                    @Value("${login-limiter.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                    @Value("${login-limiter.lock-duration:5m}") Duration lockDuration,
+                                    @Value("${login-limiter.local.maximum-size:100000}") long localMaximumSize,
+                                    ReactiveStringRedisTemplate redisTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.window = window;
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.lockDuration = lockDuration;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.blockedKeys = Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(window.compareTo(lockDuration) > 0 ? window : lockDuration)
+            .build();
+    }
+    
+    @Override
+    public Mono<Void> checkAllowed(String usernameOrEmail, String ipAddress) {
+        String userKey = userKey(usernameOrEmail);
+        String ipKey = ipKey(ipAddress);
+        
+        Instant now = Instant.now();
+        Instant blockedUntil = latest(localBlock(userKey, now), localBlock(ipKey, now));
+        if (blockedUntil != null) {
+            meterRegistry.counter("user.login.limiter.rejected", "source", "local").increment();
+            return Mono.error(tooManyAttempts(Duration.between(now, blockedUntil)));
+        }
+        
+        return Mono.zip(
+                check(userKey, maxFailuresPerUser),
+                check(ipKey, maxFailuresPerIp))
+            .flatMap(retryAfter -> {
+                long userRetryAfter = retryAfter.getT1();
+                long ipRetryAfter = retryAfter.getT2();
+                if (userRetryAfter == 0 && ipRetryAfter == 0) {
+                    return Mono.<Void>empty();
+                }
+                rememberBlock(userKey, userRetryAfter);
+                rememberBlock(ipKey, ipRetryAfter);
+                meterRegistry.counter("user.login.limiter.rejected", "source", "redis").increment();
+                return Mono.error(tooManyAttempts(Duration.ofMillis(Math.max(userRetryAfter, ipRetryAfter))));
+            });
+    }
+    
+    @Override
+    public Mono<Instant> recordFailure(String usernameOrEmail, String ipAddress) {
+        String userKey = userKey(usernameOrEmail);
+        String ipKey = ipKey(ipAddress);
+        
+        return Mono.zip(
+                recordFailure(userKey, maxFailuresPerUser, lockDuration),
+                recordFailure(ipKey, maxFailuresPerIp, Duration.ZERO))
+            .flatMap(result -> {
+                long lockedUntil = result.getT1();
+                if (lockedUntil == 0) {
+                    return Mono.<Instant>empty();
+                }
+                blockedKeys.put(userKey, Instant.ofEpochMilli(lockedUntil));
+                meterRegistry.counter("user.login.limiter.locks").increment();
+                return Mono.just(Instant.ofEpochMilli(lockedUntil));
+            });
+    }
+    
+    @Override
+    public Mono<Void> recordSuccess(String usernameOrEmail) {
+        String userKey = userKey(usernameOrEmail);
+        
+        return redisTemplate.delete(ATTEMPTS_PREFIX + userKey)
+            .then()
+            .onErrorResume(error -> {
+                log.warn("Failed to reset login attempts for: {}", usernameOrEmail, error);
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<Long> check(String key, int maxFailures) {
+        return redisTemplate.execute(CHECK_SCRIPT, List.of(ATTEMPTS_PREFIX + key, LOCK_PREFIX + key),
+                List.of(String.valueOf(System.currentTimeMillis()), String.valueOf(window.toMillis()),
+                    String.valueOf(maxFailures)))
+            .next()
+            .defaultIfEmpty(0L)
+            .onErrorResume(error -> {
+                // Fail open: an unavailable limiter must not take logins down with it
+                log.warn("Login limiter unavailable, allowing attempt for: {}", key, error);
+                return Mono.just(0L);
+            });
+    }
+    
+    private Mono<Long> recordFailure(String key, int maxFailures, Duration lock) {
+        return redisTemplate.execute(FAILURE_SCRIPT, List.of(ATTEMPTS_PREFIX + key, LOCK_PREFIX + key),
+                List.of(String.valueOf(System.currentTimeMillis()), String.valueOf(window.toMillis()),
+                    String.valueOf(maxFailures), String.valueOf(lock.toMillis()), UUID.randomUUID().toString()))
+            .next()
+            .defaultIfEmpty(0L)
+            .onErrorResume(error -> {
+                log.warn("Failed to record login failure for: {}", key, error);
+                return Mono.just(0L);
+            });
+    }
+    
+    private Instant localBlock(String key, Instant now) {
+        Instant blockedUntil = blockedKeys.getIfPresent(key);
+        if (blockedUntil != null && !blockedUntil.isAfter(now)) {
+            blockedKeys.invalidate(key);
+            return null;
+        }
+        return blockedUntil;
+    }
+    
+    private void rememberBlock(String key, long retryAfterMillis) {
+        if (retryAfterMillis > 0) {
+            blockedKeys.put(key, Instant.now().plusMillis(retryAfterMillis));
+        }
+    }
+    
+    private static Instant latest(Instant first, Instant second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+    
+    private static ResponseStatusException tooManyAttempts(Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+            "Too many login attempts, retry in " + seconds + "s");
+    }
+    
+    // Hash tags keep each attempts/lock key pair in one cluster slot for the scripts
+    private static String userKey(String usernameOrEmail) {
+        return "{user:" + usernameOrEmail.trim().toLowerCase(Locale.ROOT) + "}";
+    }
+    
+    private static String ipKey(String ipAddress) {
+        return "{ip:" + ipAddress + "}";
+    }
+}
@@ -0,0 +1,158 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/RedisOneTimeTokenStore.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.user.application.service.OneTimeTokenStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Keeps one-time tokens in Redis under the SHA-256 of the token, so a leaked keyspace does
+ * not reveal usable tokens, and lets Redis expire them. A per-user pointer to the current
+ * token hash lets a new token revoke the previous one. Every operation touches a single key
+ * at a time, so the store works unchanged on Redis Cluster.
+ * <p>
+ * The raw token is staged under {@code one-time-token:delivery:<deliveryId>} for the short
+ * {@code delivery-ttl}. The mail sender takes it with GETDEL when it handles the event, so the
+ * token sits in Redis only until the email goes out. A token whose event is not handled within
+ * the delivery window is never mailed, and the user has to request a new one.
+ */
+@Service
+@Slf4j
+public class RedisOneTimeTokenStore implements OneTimeTokenStore {
+    
+    private static final String TOKEN_PREFIX = "one-time-token:";
+    private static final String DELIVERY_PREFIX = TOKEN_PREFIX + "delivery:";
+    private static final int TOKEN_BYTES = 32;
+    
+    // Deletes the user's pointer only while it still names this token; returns 0 if a newer token replaced it
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+        if redis.call('GET', KEYS[1]) == ARGV[1] then
+          return redis.call('DEL', KEYS[1])
+        end
+        return 0
+        """, Long.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration emailVerificationTtl;
+    private final Duration passwordResetTtl;
+    private final Duration deliveryTtl;
+    private final SecureRandom random = new SecureRandom();
+    
+    public RedisOneTimeTokenStore(@Value("${one-time-tokens.email-verification-ttl:24h}") Duration emailVerificationTtl,
+                                  @Value("${one-time-tokens.password-reset-ttl:30m}") Duration passwordResetTtl,
+                                  @Value("${one-time-tokens.delivery-ttl:15m}") Duration deliveryTtl,
+                                  ReactiveStringRedisTemplate redisTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.emailVerificationTtl = emailVerificationTtl;
+        this.passwordResetTtl = passwordResetTtl;
+        this.deliveryTtl = deliveryTtl;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Mono<String> issue(Purpose purpose, String userId) {
+        return Mono.defer(() -> {
+            byte[] bytes = new byte[TOKEN_BYTES];
+            random.nextBytes(bytes);
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            String tokenHash = hash(token);
+            String deliveryId = UUID.randomUUID().toString();
+            Duration ttl = ttl(purpose);
+            
+            // The token key is written first so the pointer never names a token that does not exist
+            return redisTemplate.opsForValue().set(tokenKey(purpose, tokenHash), userId, ttl)
+                .then(redisTemplate.opsForValue().set(userKey(purpose, userId), tokenHash, ttl))
+                .then(redisTemplate.opsForValue().set(DELIVERY_PREFIX + deliveryId, token, min(deliveryTtl, ttl)))
+                .doOnSuccess(issued -> meterRegistry.counter("user.one-time-tokens.issued", "purpose", tag(purpose)).increment())
+                .thenReturn(deliveryId);
+        });
+    }
+    
+    @Override
+    public Mono<String> takeForDelivery(String deliveryId) {
+        return redisTemplate.opsForValue().getAndDelete(DELIVERY_PREFIX + deliveryId);
+    }
+    
+    @Override
+    public Mono<Void> restageForDelivery(String deliveryId, String token) {
+        return redisTemplate.opsForValue().set(DELIVERY_PREFIX + deliveryId, token, deliveryTtl).then();
+    }
+    
+    @Override
+    public Mono<Boolean> isValid(Purpose purpose, String token) {
+        if (token == null || token.isBlank()) {
+            return Mono.just(false);
+        }
+        return redisTemplate.hasKey(tokenKey(purpose, hash(token)));
+    }
+    
+    @Override
+    public Mono<String> consume(Purpose purpose, String token) {
+        if (token == null || token.isBlank()) {
+            return Mono.empty();
+        }
+        
+        String tokenHash = hash(token);
+        // GETDEL makes the token single-use; a token superseded by a newer one is rejected afterwards
+        return redisTemplate.opsForValue().getAndDelete(tokenKey(purpose, tokenHash))
+            .filterWhen(userId -> redisTemplate.execute(RELEASE_SCRIPT, List.of(userKey(purpose, userId)), List.of(tokenHash))
+                .next()
+                .map(released -> released == 1))
+            .doOnNext(userId -> record(purpose, "valid"))
+            .switchIfEmpty(Mono.fromRunnable(() -> record(purpose, "invalid")));
+    }
+    
+    private void record(Purpose purpose, String result) {
+        meterRegistry.counter("user.one-time-tokens.consumed", "purpose", tag(purpose), "result", result).increment();
+    }
+    
+    private Duration ttl(Purpose purpose) {
+        return switch (purpose) {
+            case EMAIL_VERIFICATION -> emailVerificationTtl;
+            case PASSWORD_RESET -> passwordResetTtl;
+        };
+    }
+    
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+    
+    private static String tokenKey(Purpose purpose, String tokenHash) {
+        return TOKEN_PREFIX + tag(purpose) + ":" + tokenHash;
+    }
+    
+    private static String userKey(Purpose purpose, String userId) {
+        return TOKEN_PREFIX + tag(purpose) + ":user:" + userId;
+    }
+    
+    private static String tag(Purpose purpose) {
+        return purpose.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
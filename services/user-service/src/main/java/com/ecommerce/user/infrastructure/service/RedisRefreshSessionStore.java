@@ -0,0 +1,124 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/RedisRefreshSessionStore.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.user.application.service.RefreshSessionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps each user's refresh sessions in one Redis hash, {@code refresh-sessions:<userId>},
+ * mapping session id to {@code <token digest>|<expiry millis>}. Opening and rotating a
+ * session are single Lua calls, so each is one round trip and cannot interleave with a
+ * concurrent refresh of the same session.
+ */
+@Service
+@Slf4j
+public class RedisRefreshSessionStore implements RefreshSessionStore {
+    
+    private static final String SESSIONS_PREFIX = "refresh-sessions:";
+    
+    // Drops expired sessions, evicts the soonest-expiring ones beyond the cap, then adds the new one
+    private static final RedisScript<Long> OPEN_SCRIPT = RedisScript.of("""
+        local now = tonumber(ARGV[1])
+        local maxSessions = tonumber(ARGV[4])
+        local entries = redis.call('HGETALL', KEYS[1])
+        local live = {}
+        for i = 1, #entries, 2 do
+          local expiry = tonumber(string.match(entries[i + 1], '|(%d+)$'))
+          if expiry == nil or expiry <= now then
+            redis.call('HDEL', KEYS[1], entries[i])
+          else
+            table.insert(live, {entries[i], expiry})
+          end
+        end
+        if #live >= maxSessions then
+          table.sort(live, function(a, b) return a[2] < b[2] end)
+          for i = 1, #live - maxSessions + 1 do
+            redis.call('HDEL', KEYS[1], live[i][1])
+          end
+        end
+        redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+        local ttl = redis.call('PTTL', KEYS[1])
+        local lifetime = tonumber(ARGV[5])
+        if ttl < lifetime then
+          redis.call('PEXPIRE', KEYS[1], lifetime)
+        end
+        return 1
+        """, Long.class);
+    
+    // Returns 1 when rotated, -1 when a stale token was replayed (the session is ended), 0 when unknown
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of("""
+        local current = redis.call('HGET', KEYS[1], ARGV[1])
+        if not current then
+          return 0
+        end
+        if string.sub(current, 1, #ARGV[2] + 1) ~= ARGV[2] .. '|' then
+          redis.call('HDEL', KEYS[1], ARGV[1])
+          return -1
+        end
+        redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+        local ttl = redis.call('PTTL', KEYS[1])
+        local lifetime = tonumber(ARGV[4])
+        if ttl < lifetime then
+          redis.call('PEXPIRE', KEYS[1], lifetime)
+        end
+        return 1
+        """, Long.class);
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final int maxSessionsPerUser;
+    
+    public RedisRefreshSessionStore(@Value("${jwt.sessions.max-per-user:10}") int maxSessionsPerUser,
+                                    ReactiveStringRedisTemplate redisTemplate) {
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.redisTemplate = redisTemplate;
+    }
+    
+    @Override
+    public Mono<Void> open(String userId, String sessionId, String tokenDigest, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        return redisTemplate.execute(OPEN_SCRIPT,
+                List.of(SESSIONS_PREFIX + userId),
+                List.of(String.valueOf(now), sessionId, entry(tokenDigest, expiresAt),
+                    String.valueOf(maxSessionsPerUser), String.valueOf(expiresAt.toEpochMilli() - now)))
+            .then()
+            .doOnSuccess(unused -> log.debug("Refresh session opened for user {}: {}", userId, sessionId));
+    }
+    
+    @Override
+    public Mono<Rotation> rotate(String userId, String sessionId, String presentedDigest, String newDigest,
+                                 Instant expiresAt) {
+        return redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(SESSIONS_PREFIX + userId),
+                List.of(sessionId, presentedDigest, entry(newDigest, expiresAt),
+                    String.valueOf(expiresAt.toEpochMilli() - System.currentTimeMillis())))
+            .next()
+            .map(result -> result == 1 ? Rotation.ROTATED : result == -1 ? Rotation.REUSED : Rotation.UNKNOWN)
+            .defaultIfEmpty(Rotation.UNKNOWN);
+    }
+    
+    @Override
+    public Mono<Void> close(String userId, String sessionId) {
+        return redisTemplate.opsForHash().remove(SESSIONS_PREFIX + userId, sessionId)
+            .doOnSuccess(removed -> log.debug("Refresh session closed for user {}: {}", userId, sessionId))
+            .then();
+    }
+    
+    @Override
+    public Mono<Void> closeAll(String userId) {
+        return redisTemplate.delete(SESSIONS_PREFIX + userId)
+            .doOnSuccess(removed -> log.debug("All refresh sessions closed for user {}", userId))
+            .then();
+    }
+    
+    private static String entry(String tokenDigest, Instant expiresAt) {
+        return tokenDigest + "|" + expiresAt.toEpochMilli();
+    }
+}
@@ -0,0 +1,131 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/service/RedisTokenRevocationList.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.user.application.service.TokenRevocationList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids in a Redis sorted set scored by token expiry, mirrored into a local map
+ * that is refreshed on a fixed interval. Per-request checks read the local map; batch
+ * introspection asks Redis with one ZMSCORE. Expired entries are pruned on both sides, so
+ * the list stays as small as the set of live revoked tokens.
+ */
+@Service
+@Slf4j
+public class RedisTokenRevocationList implements TokenRevocationList {
+    
+    private static final String REVOKED_KEY = "revoked-tokens";
+    
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Duration syncInterval;
+    private final Map<String, Long> localRevoked = new ConcurrentHashMap<>();
+    private final Counter syncFailures;
+    
+    private Disposable syncer;
+    
+    public RedisTokenRevocationList(@Value("${jwt.revocation.sync-interval:5s}") Duration syncInterval,
+                                    ReactiveStringRedisTemplate redisTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.syncInterval = syncInterval;
+        this.redisTemplate = redisTemplate;
+        
+        Gauge.builder("jwt.revocations.local-size", localRevoked, Map::size)
+            .description("Revoked token ids mirrored on this node")
+            .register(meterRegistry);
+        this.syncFailures = meterRegistry.counter("jwt.revocations.sync-failures");
+    }
+    
+    @PostConstruct
+    void start() {
+        syncer = Flux.interval(Duration.ZERO, syncInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> sync(), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (syncer != null) {
+            syncer.dispose();
+        }
+    }
+    
+    @Override
+    public Mono<Void> revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return Mono.empty();
+        }
+        
+        return redisTemplate.opsForZSet().add(REVOKED_KEY, tokenId, expiresAtMillis)
+            .doOnSuccess(added -> {
+                localRevoked.put(tokenId, expiresAtMillis);
+                log.debug("Token revoked: {}", tokenId);
+            })
+            .then();
+    }
+    
+    @Override
+    public Mono<Set<String>> revokedAmong(Collection<String> tokenIds) {
+        if (tokenIds.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        
+        List<String> ids = List.copyOf(tokenIds);
+        return redisTemplate.opsForZSet().score(REVOKED_KEY, ids.toArray())
+            .map(scores -> {
+                long now = System.currentTimeMillis();
+                Set<String> revoked = new HashSet<>();
+                for (int i = 0; i < ids.size(); i++) {
+                    Double expiresAt = scores.get(i);
+                    if (expiresAt != null && expiresAt > now) {
+                        revoked.add(ids.get(i));
+                    }
+                }
+                return revoked;
+            });
+    }
+    
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Long expiresAt = localRevoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+    
+    private Mono<Void> sync() {
+        long now = System.currentTimeMillis();
+        
+        // Entries are only ever added remotely, so merging never drops a local revocation
+        return redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Range.leftUnbounded(Range.Bound.inclusive((double) now)))
+            .thenMany(redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_KEY, Range.rightUnbounded(Range.Bound.exclusive((double) now))))
+            .doOnNext(entry -> localRevoked.put(entry.getValue(), entry.getScore().longValue()))
+            .then(Mono.fromRunnable(() -> localRevoked.values().removeIf(expiresAt -> expiresAt <= now)))
+            .then()
+            .onErrorResume(error -> {
+                syncFailures.increment();
+                log.warn("Failed to sync token revocation list, serving the last known copy", error);
+                return Mono.empty();
+            });
+    }
+}
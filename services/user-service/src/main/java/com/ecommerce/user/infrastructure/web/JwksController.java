@@ -0,0 +1,33 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/web/JwksController.java
+package com.ecommerce.user.infrastructure.web;
+
+import com.ecommerce.user.infrastructure.security.SigningKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Token Keys", description = "Public keys for verifying issued tokens")
+public class JwksController {
+    
+    private final SigningKeyRing signingKeyRing;
+    
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Returns the public keys used to sign access and refresh tokens")
+    @ApiResponse(responseCode = "200", description = "Current key set")
+    public Mono<ResponseEntity<Map<String, Object>>> jwks() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+            .body(signingKeyRing.toJwks()));
+    }
+}
\ No newline at end of file
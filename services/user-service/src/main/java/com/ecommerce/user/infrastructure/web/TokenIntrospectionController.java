@@ -0,0 +1,41 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/web/TokenIntrospectionController.java
+package com.ecommerce.user.infrastructure.web;
+
+import com.ecommerce.user.application.dto.IntrospectTokensRequest;
+import com.ecommerce.user.application.dto.TokenIntrospection;
+import com.ecommerce.user.application.service.JwtService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/auth/introspect")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Token Introspection", description = "Batch token validation for gateways and sidecars")
+public class TokenIntrospectionController {
+    
+    private final JwtService jwtService;
+    
+    @PostMapping
+    @Operation(summary = "Introspect tokens",
+               description = "Verifies a batch of bearer tokens and returns validity, subject, role and expiry for each, in request order")
+    @ApiResponse(responseCode = "200", description = "One result per token")
+    @ApiResponse(responseCode = "400", description = "Empty batch or more tokens than allowed")
+    public Mono<ResponseEntity<List<TokenIntrospection>>> introspect(@Valid @RequestBody IntrospectTokensRequest request) {
+        return jwtService.introspect(request.getTokens())
+            .map(ResponseEntity::ok)
+            .doOnSuccess(response -> log.debug("Introspected {} tokens", request.getTokens().size()));
+    }
+}
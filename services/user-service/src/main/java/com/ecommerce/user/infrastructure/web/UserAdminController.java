@@ -0,0 +1,104 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/web/UserAdminController.java
+package com.ecommerce.user.infrastructure.web;
+
+import com.ecommerce.user.application.dto.ImportProgress;
+import com.ecommerce.user.application.dto.UserPage;
+import com.ecommerce.user.application.dto.UserResponse;
+import com.ecommerce.user.application.service.RegistrationFilter;
+import com.ecommerce.user.application.usecase.ImportUsersUseCase;
+import com.ecommerce.user.application.usecase.ListUsersUseCase;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import com.ecommerce.user.infrastructure.web.mapper.UserImportParser;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "User Administration", description = "Administrative user management operations")
+public class UserAdminController {
+
+    private final RegistrationFilter registrationFilter;
+    private final ListUsersUseCase listUsersUseCase;
+    private final ImportUsersUseCase importUsersUseCase;
+    private final UserImportParser userImportParser;
+    
+    @GetMapping
+    @Operation(summary = "List users by status",
+               description = "Returns one keyset page of users ordered by id; pass nextCursor as 'after' for the next page")
+    @ApiResponse(responseCode = "200", description = "Page returned")
+    public Mono<ResponseEntity<UserPage>> listUsers(@RequestParam UserStatus status,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        return listUsersUseCase.page(status, after, limit)
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to list users with status {}", status, error));
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users by status",
+               description = "Streams every user with the status as NDJSON, reading from a database cursor")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    public Flux<UserResponse> exportUsers(@RequestParam UserStatus status) {
+        return listUsersUseCase.export(status)
+            .doOnError(error -> log.error("Failed to export users with status {}", status, error));
+    }
+    
+    @PostMapping(value = "/import",
+                 consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import users",
+               description = "Streams NDJSON or CSV user records with pre-hashed passwords and reports progress per chunk")
+    @ApiResponse(responseCode = "200", description = "One progress line per imported chunk")
+    public Flux<ImportProgress> importUsers(ServerHttpRequest httpRequest) {
+        MediaType contentType = httpRequest.getHeaders().getContentType();
+        log.info("User import started with content type: {}", contentType);
+        
+        return importUsersUseCase.execute(userImportParser.parse(httpRequest.getBody(), contentType))
+            .doOnError(error -> log.error("User import failed", error));
+    }
+    
+    @GetMapping("/status-counts")
+    @Operation(summary = "Count users by status",
+               description = "Returns incrementally maintained user counts per status")
+    @ApiResponse(responseCode = "200", description = "Counts returned")
+    public Mono<ResponseEntity<Map<UserStatus, Long>>> statusCounts() {
+        return listUsersUseCase.countByStatus()
+            .map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/status-counts/rebuild")
+    @Operation(summary = "Rebuild status counts",
+               description = "Recounts users per status from the users table to correct any drift")
+    @ApiResponse(responseCode = "200", description = "Counts rebuilt")
+    public Mono<ResponseEntity<Map<UserStatus, Long>>> rebuildStatusCounts() {
+        return listUsersUseCase.recountByStatus()
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to rebuild user status counts", error));
+    }
+
+    @PostMapping("/registration-filter/rebuild")
+    @Operation(summary = "Rebuild registration filter",
+               description = "Rebuilds the username/email Bloom filter from the users table")
+    @ApiResponse(responseCode = "200", description = "Filter rebuilt, returns the number of users indexed")
+    @ApiResponse(responseCode = "400", description = "A rebuild is already in progress")
+    public Mono<ResponseEntity<Long>> rebuildRegistrationFilter() {
+        log.info("Registration filter rebuild requested");
+
+        return registrationFilter.rebuild()
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.error("Failed to rebuild registration filter", error));
+    }
+}
@@ -2,11 +2,16 @@
 package com.ecommerce.user.infrastructure.web;
 
 import com.ecommerce.user.application.dto.AuthResponse;
+import com.ecommerce.user.application.dto.JwtTokens;
 import com.ecommerce.user.application.dto.LoginRequest;
 import com.ecommerce.user.application.dto.RegisterUserRequest;
 import com.ecommerce.user.application.dto.UserResponse;
+import com.ecommerce.user.application.service.JwtService;
 import com.ecommerce.user.application.usecase.AuthenticateUserUseCase;
 import com.ecommerce.user.application.usecase.RegisterUserUseCase;
+import com.ecommerce.user.application.usecase.RequestPasswordResetUseCase;
+import com.ecommerce.user.application.usecase.ResetPasswordUseCase;
+import com.ecommerce.user.application.usecase.VerifyEmailUseCase;
 import com.ecommerce.user.infrastructure.web.mapper.UserMapper;
 import com.ecommerce.user.infrastructure.web.util.IpAddressUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +20,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.validation.annotation.Validated;
@@ -22,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -33,6 +41,10 @@ public class UserController {
     
     private final RegisterUserUseCase registerUserUseCase;
     private final AuthenticateUserUseCase authenticateUserUseCase;
+    private final RequestPasswordResetUseCase requestPasswordResetUseCase;
+    private final ResetPasswordUseCase resetPasswordUseCase;
+    private final VerifyEmailUseCase verifyEmailUseCase;
+    private final JwtService jwtService;
     private final UserMapper userMapper;
     
     @PostMapping("/register")
@@ -76,42 +88,50 @@ public class UserController {
     @Operation(summary = "Refresh access token", description = "Generates new access token using refresh token")
     @ApiResponse(responseCode = "200", description = "Token refreshed successfully")
     @ApiResponse(responseCode = "401", description = "Invalid refresh token")
-    public Mono<ResponseEntity<String>> refreshToken(@RequestParam String refreshToken) {
-        // Implementation for token refresh
-        return Mono.just(ResponseEntity.ok("Token refreshed"));
+    public Mono<ResponseEntity<JwtTokens>> refreshToken(@RequestParam String refreshToken) {
+        return jwtService.refreshTokens(refreshToken)
+            .map(ResponseEntity::ok)
+            .doOnError(error -> log.warn("Token refresh failed", error));
     }
     
     @PostMapping("/logout")
     @Operation(summary = "Logout user", description = "Invalidates user tokens")
     @ApiResponse(responseCode = "200", description = "Logout successful")
     public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") String authHeader) {
-        // Implementation for logout
-        return Mono.just(ResponseEntity.ok().build());
+        String accessToken = authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+        
+        return jwtService.logout(accessToken)
+            .then(Mono.just(ResponseEntity.ok().<Void>build()))
+            .doOnError(error -> log.warn("Logout failed", error));
     }
     
     @PostMapping("/forgot-password")
     @Operation(summary = "Request password reset", description = "Sends password reset email")
-    @ApiResponse(responseCode = "200", description = "Password reset email sent")
-    public Mono<ResponseEntity<Void>> forgotPassword(@RequestParam String email) {
-        // Implementation for password reset request
-        return Mono.just(ResponseEntity.ok().build());
+    @ApiResponse(responseCode = "200", description = "Password reset email sent if the account exists")
+    public Mono<ResponseEntity<Void>> forgotPassword(@RequestParam @Email String email) {
+        return requestPasswordResetUseCase.execute(email)
+            .then(Mono.just(ResponseEntity.ok().<Void>build()));
     }
     
     @PostMapping("/reset-password")
     @Operation(summary = "Reset password", description = "Resets password using reset token")
     @ApiResponse(responseCode = "200", description = "Password reset successful")
+    @ApiResponse(responseCode = "400", description = "Invalid, expired or already used token")
     public Mono<ResponseEntity<Void>> resetPassword(
             @RequestParam String token,
-            @RequestParam String newPassword) {
-        // Implementation for password reset
-        return Mono.just(ResponseEntity.ok().build());
+            @RequestParam @Size(min = 8, max = 100) String newPassword) {
+        return resetPasswordUseCase.execute(token, newPassword)
+            .then(Mono.just(ResponseEntity.ok().<Void>build()))
+            .doOnError(error -> log.warn("Password reset failed", error));
     }
     
     @PostMapping("/verify-email")
     @Operation(summary = "Verify email", description = "Verifies user email using verification token")
     @ApiResponse(responseCode = "200", description = "Email verified successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid, expired or already used token")
     public Mono<ResponseEntity<Void>> verifyEmail(@RequestParam String token) {
-        // Implementation for email verification
-        return Mono.just(ResponseEntity.ok().build());
+        return verifyEmailUseCase.execute(token)
+            .then(Mono.just(ResponseEntity.ok().<Void>build()))
+            .doOnError(error -> log.warn("Email verification failed", error));
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+// services/user-service/src/main/java/com/ecommerce/user/infrastructure/web/mapper/UserImportParser.java
+package com.ecommerce.user.infrastructure.web.mapper;
+
+import com.ecommerce.user.application.dto.ImportUserRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns an NDJSON or CSV request body into import records line by line, so the body is
+ * never held in memory as a whole. CSV input needs a header row; quoted fields may contain
+ * commas and doubled quotes but not line breaks. Unparseable lines become empty records,
+ * which the import counts as invalid.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportParser {
+    
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes(List.of("\n"), true);
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+    
+    private final ObjectMapper objectMapper;
+    
+    public Flux<ImportUserRecord> parse(Flux<DataBuffer> body, MediaType contentType) {
+        Flux<String> lines = LINE_DECODER.decode(body, STRING_TYPE, contentType, Map.of())
+            .map(line -> line.endsWith("\r") ? line.substring(0, line.length() - 1) : line)
+            .filter(line -> !line.isBlank());
+        
+        return contentType != null && TEXT_CSV.isCompatibleWith(contentType)
+            ? parseCsv(lines)
+            : lines.map(this::parseJson);
+    }
+    
+    private ImportUserRecord parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ImportUserRecord.class);
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping malformed import line: {}", e.getOriginalMessage());
+            return new ImportUserRecord();
+        }
+    }
+    
+    private Flux<ImportUserRecord> parseCsv(Flux<String> lines) {
+        return lines.switchOnFirst((first, all) -> {
+            if (!first.hasValue()) {
+                return all.map(line -> new ImportUserRecord());
+            }
+            List<String> header = splitCsv(first.get()).stream()
+                .map(name -> name.replaceAll("[_\\-\\s]", "").toLowerCase(Locale.ROOT))
+                .toList();
+            return all.skip(1).map(line -> toRecord(header, splitCsv(line)));
+        });
+    }
+    
+    private static ImportUserRecord toRecord(List<String> header, List<String> values) {
+        ImportUserRecord record = new ImportUserRecord();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header.get(i)) {
+                case "username" -> record.setUsername(value);
+                case "email" -> record.setEmail(value);
+                case "passwordhash" -> record.setPasswordHash(value);
+                case "firstname" -> record.setFirstName(value);
+                case "lastname" -> record.setLastName(value);
+                case "phonenumber" -> record.setPhoneNumber(value);
+                default -> {
+                    // Extra partner columns are ignored
+                }
+            }
+        }
+        return record;
+    }
+    
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,7 @@
+-- Keyset pages and status exports read this index in id order within one status
+CREATE INDEX IF NOT EXISTS idx_users_status_id ON users (status, id);
+
+-- Registration and import rely on these for uniqueness; the names match the ones Postgres
+-- gives UNIQUE column constraints, so nothing is created where the table already has them
+CREATE UNIQUE INDEX IF NOT EXISTS users_username_key ON users (username);
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_key ON users (email);
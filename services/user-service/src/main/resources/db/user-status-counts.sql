@@ -0,0 +1,53 @@
+-- Per-status user counts. Triggers record a delta row in the same transaction as every insert,
+-- delete and status change, so rolled back changes never count. UserStatusCounts folds committed
+-- deltas into user_status_counts in the background; reads add the deltas not folded yet.
+-- Function bodies are quoted rather than dollar-quoted so the script splits on semicolons.
+CREATE TABLE IF NOT EXISTS user_status_counts (
+    status VARCHAR(20) PRIMARY KEY,
+    total BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_status_count_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    delta BIGINT NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION record_user_status_delta() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''INSERT'' THEN
+        INSERT INTO user_status_count_deltas (status, delta)
+        SELECT status, COUNT(*) FROM inserted_users GROUP BY status;
+    ELSIF TG_OP = ''DELETE'' THEN
+        INSERT INTO user_status_count_deltas (status, delta)
+        SELECT status, -COUNT(*) FROM deleted_users GROUP BY status;
+    ELSE
+        INSERT INTO user_status_count_deltas (status, delta)
+        VALUES (OLD.status, -1), (NEW.status, 1);
+    END IF;
+    RETURN NULL;
+END
+';
+
+-- Bulk imports and deletes add one delta per status and statement, not one per row
+DROP TRIGGER IF EXISTS users_status_inserted ON users;
+
+CREATE TRIGGER users_status_inserted
+    AFTER INSERT ON users
+    REFERENCING NEW TABLE AS inserted_users
+    FOR EACH STATEMENT EXECUTE FUNCTION record_user_status_delta();
+
+DROP TRIGGER IF EXISTS users_status_deleted ON users;
+
+CREATE TRIGGER users_status_deleted
+    AFTER DELETE ON users
+    REFERENCING OLD TABLE AS deleted_users
+    FOR EACH STATEMENT EXECUTE FUNCTION record_user_status_delta();
+
+DROP TRIGGER IF EXISTS users_status_changed ON users;
+
+CREATE TRIGGER users_status_changed
+    AFTER UPDATE OF status ON users
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION record_user_status_delta();
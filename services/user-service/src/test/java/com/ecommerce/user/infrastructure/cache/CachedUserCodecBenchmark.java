@@ -0,0 +1,117 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/cache/CachedUserCodecBenchmark.java
+package com.ecommerce.user.infrastructure.cache;
+
+import com.ecommerce.domain.common.valueobject.UserId;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.valueobject.UserRole;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode of one cached user with {@link CachedUserCodec} against the Jackson JSON
+ * serializer on the full entity. Run it with {@code -prof gc} for the bytes allocated per
+ * operation; the payload sizes are printed once per fork.
+ * <p>
+ * Run with {@code mvn -pl services/user-service test-compile}, then
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main CachedUserCodecBenchmark -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CachedUserCodecBenchmark {
+    
+    private CachedUserCodec codec;
+    private Jackson2JsonRedisSerializer<User> json;
+    private User user;
+    private byte[] codecBytes;
+    private byte[] jsonBytes;
+    
+    @Setup
+    public void setUp() {
+        codec = new CachedUserCodec();
+        // UserId has no Jackson creator, so JSON needs a deserializer to read users back
+        SimpleModule userIds = new SimpleModule().addDeserializer(UserId.class, new JsonDeserializer<>() {
+            @Override
+            public UserId deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                JsonNode node = parser.readValueAsTree();
+                return UserId.of(node.isTextual() ? node.asText() : node.get("value").asText());
+            }
+        });
+        // Derived getters such as isActive() are written but not read back, as with Spring Boot's mapper
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .registerModule(userIds)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        json = new Jackson2JsonRedisSerializer<>(objectMapper, User.class);
+        user = user();
+        codecBytes = codec.serialize(user);
+        jsonBytes = json.serialize(user);
+        System.out.printf("%nPayload bytes: codec %d, json %d%n", codecBytes.length, jsonBytes.length);
+    }
+    
+    @Benchmark
+    public byte[] codecEncode() {
+        return codec.serialize(user);
+    }
+    
+    @Benchmark
+    public User codecDecode() {
+        return codec.deserialize(codecBytes);
+    }
+    
+    @Benchmark
+    public byte[] jsonEncode() {
+        return json.serialize(user);
+    }
+    
+    @Benchmark
+    public User jsonDecode() {
+        return json.deserialize(jsonBytes);
+    }
+    
+    private static User user() {
+        User user = User.restore();
+        user.setId("42");
+        user.setUserId(UserId.of("6f1c2d6e-1f4e-4b8e-9a51-0f3c8d1e2a7b"));
+        user.setUsername("zoe.mueller");
+        user.setEmail("zoe.mueller@example.com");
+        user.setPasswordHash("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW");
+        user.setFirstName("Zoe");
+        user.setLastName("Mueller");
+        user.setPhoneNumber("+4915112345678");
+        user.setStatus(UserStatus.ACTIVE);
+        user.setRole(UserRole.CUSTOMER);
+        user.setEmailVerified(true);
+        user.setPhoneVerified(false);
+        user.setFailedLoginAttempts(0);
+        user.setLastLoginAt(Instant.parse("2024-03-01T10:15:30.5Z"));
+        user.setCreatedAt(Instant.parse("2023-01-15T08:00:00Z"));
+        user.setUpdatedAt(Instant.parse("2024-03-01T10:15:30.5Z"));
+        user.setPermissions(Set.of("orders:read", "orders:write", "profile:write"));
+        return user;
+    }
+}
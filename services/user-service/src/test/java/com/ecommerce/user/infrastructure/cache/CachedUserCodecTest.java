@@ -0,0 +1,139 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/cache/CachedUserCodecTest.java
+package com.ecommerce.user.infrastructure.cache;
+
+import com.ecommerce.domain.common.valueobject.UserId;
+import com.ecommerce.user.domain.entity.User;
+import com.ecommerce.user.domain.valueobject.UserRole;
+import com.ecommerce.user.domain.valueobject.UserStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedUserCodecTest {
+    
+    private final CachedUserCodec codec = new CachedUserCodec();
+    
+    @Test
+    void roundTripsEveryCachedField() {
+        User user = fullUser();
+        
+        User decoded = codec.deserialize(codec.serialize(user));
+        
+        assertThat(decoded.getId()).isEqualTo("42");
+        assertThat(decoded.getUserId()).isEqualTo(user.getUserId());
+        assertThat(decoded.getUsername()).isEqualTo("zoë.müller");
+        assertThat(decoded.getEmail()).isEqualTo("zoe@example.com");
+        assertThat(decoded.getFirstName()).isEqualTo("Zoë");
+        assertThat(decoded.getLastName()).isEqualTo("Müller");
+        assertThat(decoded.getPhoneNumber()).isEqualTo("+4915112345678");
+        assertThat(decoded.getStatus()).isEqualTo(UserStatus.LOCKED);
+        assertThat(decoded.getRole()).isEqualTo(UserRole.MODERATOR);
+        assertThat(decoded.getEmailVerified()).isTrue();
+        assertThat(decoded.getPhoneVerified()).isFalse();
+        assertThat(decoded.getFailedLoginAttempts()).isEqualTo(3);
+        assertThat(decoded.getLastLoginAt()).isEqualTo(user.getLastLoginAt());
+        assertThat(decoded.getLockedUntil()).isEqualTo(user.getLockedUntil());
+        assertThat(decoded.getCreatedAt()).isEqualTo(user.getCreatedAt());
+        assertThat(decoded.getUpdatedAt()).isEqualTo(user.getUpdatedAt());
+    }
+    
+    @Test
+    void leavesOutCredentialsAndPermissions() {
+        User user = fullUser();
+        user.setPasswordHash("$2a$12$secret-hash-value");
+        user.setPermissions(Set.of("users:write"));
+        
+        byte[] encoded = codec.serialize(user);
+        User decoded = codec.deserialize(encoded);
+        
+        assertThat(new String(encoded, StandardCharsets.ISO_8859_1)).doesNotContain("secret-hash-value", "users:write");
+        assertThat(decoded.getPasswordHash()).isNull();
+        assertThat(decoded.getPermissions()).isNullOrEmpty();
+    }
+    
+    @Test
+    void keepsAbsentOptionalFieldsAbsent() {
+        User user = User.restore();
+        user.setUserId(UserId.of("user-1"));
+        user.setUsername("plain");
+        user.setEmail("plain@example.com");
+        user.setFirstName("Plain");
+        user.setLastName("User");
+        user.setStatus(UserStatus.ACTIVE);
+        user.setRole(UserRole.CUSTOMER);
+        
+        User decoded = codec.deserialize(codec.serialize(user));
+        
+        assertThat(decoded.getId()).isNull();
+        assertThat(decoded.getPhoneNumber()).isNull();
+        assertThat(decoded.getLastLoginAt()).isNull();
+        assertThat(decoded.getLockedUntil()).isNull();
+        assertThat(decoded.getFailedLoginAttempts()).isZero();
+        assertThat(decoded.getEmailVerified()).isFalse();
+    }
+    
+    @Test
+    void encodesInstantsBeforeTheEpoch() {
+        User user = fullUser();
+        user.setCreatedAt(Instant.parse("1969-07-20T20:17:40.123456789Z"));
+        
+        assertThat(codec.deserialize(codec.serialize(user)).getCreatedAt()).isEqualTo(user.getCreatedAt());
+    }
+    
+    @Test
+    void rejectsEntriesOfAnotherVersion() {
+        byte[] encoded = codec.serialize(fullUser());
+        encoded[0] = CachedUserCodec.VERSION + 1;
+        
+        assertThatThrownBy(() -> codec.deserialize(encoded))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("version");
+    }
+    
+    @Test
+    void rejectsTruncatedEntries() {
+        byte[] encoded = codec.serialize(fullUser());
+        
+        for (int length = 2; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> codec.deserialize(truncated))
+                .as("truncated to %d of %d bytes", length, encoded.length)
+                .isInstanceOf(SerializationException.class);
+        }
+    }
+    
+    @Test
+    void treatsMissingEntriesAsNull() {
+        assertThat(codec.serialize(null)).isNull();
+        assertThat(codec.deserialize(null)).isNull();
+        assertThat(codec.deserialize(new byte[0])).isNull();
+    }
+    
+    private static User fullUser() {
+        User user = User.restore();
+        user.setId("42");
+        user.setUserId(UserId.of("6f1c2d6e-1f4e-4b8e-9a51-0f3c8d1e2a7b"));
+        user.setUsername("zoë.müller");
+        user.setEmail("zoe@example.com");
+        user.setFirstName("Zoë");
+        user.setLastName("Müller");
+        user.setPhoneNumber("+4915112345678");
+        user.setStatus(UserStatus.LOCKED);
+        user.setRole(UserRole.MODERATOR);
+        user.setEmailVerified(true);
+        user.setPhoneVerified(false);
+        user.setFailedLoginAttempts(3);
+        user.setLastLoginAt(Instant.parse("2024-03-01T10:15:30.5Z"));
+        user.setLockedUntil(Instant.parse("2024-03-01T10:20:30Z"));
+        user.setCreatedAt(Instant.parse("2023-01-15T08:00:00.000000001Z"));
+        user.setUpdatedAt(Instant.parse("2024-03-01T10:15:30.5Z"));
+        return user;
+    }
+}
@@ -0,0 +1,110 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/service/JwtVerificationBenchmark.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of one access token the way {@link JwtServiceImpl} used to do it, building a
+ * parser per call, against the shared parser and against a hit in the verified-token cache,
+ * which costs a SHA-256 of the token and a cache lookup. HS256 is the legacy algorithm, ES256
+ * the one tokens are signed with now.
+ * <p>
+ * Run with {@code mvn -pl services/user-service test-compile}, then
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+    
+    private SecretKey secretKey;
+    private KeyPair keyPair;
+    private JwtParser sharedParser;
+    private Cache<String, Claims> verifiedTokens;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        Date now = new Date();
+        var builder = Jwts.builder()
+            .subject(UUID.randomUUID().toString())
+            .id(UUID.randomUUID().toString())
+            .issuedAt(now)
+            .expiration(Date.from(Instant.now().plusSeconds(3600)))
+            .claim("sid", UUID.randomUUID().toString())
+            .claim("username", "benchmark.user")
+            .claim("email", "benchmark@example.com")
+            .claim("role", "CUSTOMER");
+        if ("HS256".equals(algorithm)) {
+            secretKey = Jwts.SIG.HS256.key().build();
+            token = builder.signWith(secretKey, Jwts.SIG.HS256).compact();
+            sharedParser = Jwts.parser().verifyWith(secretKey).build();
+        } else {
+            keyPair = Jwts.SIG.ES256.keyPair().build();
+            token = builder.header().keyId("benchmark").and().signWith(keyPair.getPrivate(), Jwts.SIG.ES256).compact();
+            sharedParser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+        }
+        
+        verifiedTokens = Caffeine.newBuilder().maximumSize(100_000).build();
+        verifiedTokens.put(digest(token), sharedParser.parseSignedClaims(token).getPayload());
+    }
+    
+    @Benchmark
+    public Claims parserPerCall() {
+        JwtParser parser = secretKey != null
+            ? Jwts.parser().verifyWith(secretKey).build()
+            : Jwts.parser().verifyWith(keyPair.getPublic()).build();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+    
+    @Benchmark
+    public Claims sharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+    
+    @Benchmark
+    public Claims verifiedCacheHit() {
+        return verifiedTokens.getIfPresent(digest(token));
+    }
+    
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/service/PasswordHashingBenchmark.java
+package com.ecommerce.user.infrastructure.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one BCrypt hash and one verify per strength on the machine it runs on, which is
+ * what sizes login and registration capacity per pod: a pod sustains about
+ * {@code password-hashing.threads / verify time} logins per second.
+ * <p>
+ * Run with {@code mvn -pl services/user-service test-compile}, then
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main PasswordHashingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+    
+    private static final String PASSWORD = "correct-horse-battery-staple";
+    
+    @Param({"10", "11", "12", "13", "14"})
+    private int strength;
+    
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    public String hash() {
+        return encoder.encode(PASSWORD);
+    }
+    
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,144 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/service/RedisLoginAttemptLimiterTest.java
+package com.ecommerce.user.infrastructure.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class RedisLoginAttemptLimiterTest {
+    
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final Duration LOCK = Duration.ofMinutes(10);
+    
+    @Container
+    private static final GenericContainer<?> REDIS =
+        new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+    
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+    
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+    
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+    
+    @Test
+    void locksTheUserOnTheFailureThatReachesTheLimit() {
+        RedisLoginAttemptLimiter limiter = limiter(3, 100);
+        String user = uniqueUser();
+        
+        StepVerifier.create(limiter.recordFailure(user, "10.0.0.1")).verifyComplete();
+        StepVerifier.create(limiter.recordFailure(user, "10.0.0.1")).verifyComplete();
+        StepVerifier.create(limiter.checkAllowed(user, "10.0.0.1")).verifyComplete();
+        
+        Instant beforeLock = Instant.now();
+        StepVerifier.create(limiter.recordFailure(user, "10.0.0.1"))
+            .assertNext(lockedUntil -> assertThat(lockedUntil).isAfter(beforeLock.plus(LOCK).minusSeconds(1)))
+            .verifyComplete();
+        StepVerifier.create(limiter.checkAllowed(user, "10.0.0.2"))
+            .verifyErrorSatisfies(RedisLoginAttemptLimiterTest::assertTooManyAttempts);
+    }
+    
+    @Test
+    void locksAreSharedBetweenReplicas() {
+        String user = uniqueUser();
+        RedisLoginAttemptLimiter first = limiter(2, 100);
+        first.recordFailure(user, "10.0.0.1").block();
+        first.recordFailure(user, "10.0.0.1").block();
+        
+        // A second limiter has nothing in its local cache, so the lock is found by the check script
+        StepVerifier.create(limiter(2, 100).checkAllowed(user, "10.0.0.3"))
+            .verifyErrorSatisfies(RedisLoginAttemptLimiterTest::assertTooManyAttempts);
+    }
+    
+    @Test
+    void identifiersAreMatchedCaseInsensitively() {
+        String user = uniqueUser();
+        RedisLoginAttemptLimiter limiter = limiter(1, 100);
+        limiter.recordFailure(user.toUpperCase(), "10.0.0.1").block();
+        
+        StepVerifier.create(limiter(1, 100).checkAllowed(" " + user + " ", "10.0.0.1"))
+            .verifyErrorSatisfies(RedisLoginAttemptLimiterTest::assertTooManyAttempts);
+    }
+    
+    @Test
+    void successClearsEarlierFailures() {
+        String user = uniqueUser();
+        RedisLoginAttemptLimiter limiter = limiter(3, 100);
+        limiter.recordFailure(user, "10.0.0.1").block();
+        limiter.recordFailure(user, "10.0.0.1").block();
+        
+        limiter.recordSuccess(user).block();
+        
+        StepVerifier.create(limiter.recordFailure(user, "10.0.0.1")).verifyComplete();
+        StepVerifier.create(limiter.recordFailure(user, "10.0.0.1")).verifyComplete();
+        StepVerifier.create(limiter.checkAllowed(user, "10.0.0.1")).verifyComplete();
+    }
+    
+    @Test
+    void ipLimitThrottlesTheAddressWithoutLockingAccounts() {
+        String ip = "192.0.2.10";
+        RedisLoginAttemptLimiter limiter = limiter(100, 2);
+        
+        StepVerifier.create(limiter.recordFailure(uniqueUser(), ip)).verifyComplete();
+        StepVerifier.create(limiter.recordFailure(uniqueUser(), ip)).verifyComplete();
+        
+        RedisLoginAttemptLimiter replica = limiter(100, 2);
+        StepVerifier.create(replica.checkAllowed(uniqueUser(), ip))
+            .verifyErrorSatisfies(RedisLoginAttemptLimiterTest::assertTooManyAttempts);
+        StepVerifier.create(replica.checkAllowed(uniqueUser(), "198.51.100.1")).verifyComplete();
+    }
+    
+    @Test
+    void failsOpenWhenRedisIsUnavailable() {
+        LettuceConnectionFactory unreachable = new LettuceConnectionFactory("localhost", 1);
+        unreachable.afterPropertiesSet();
+        try {
+            RedisLoginAttemptLimiter limiter = new RedisLoginAttemptLimiter(WINDOW, 1, 1, LOCK, 1_000,
+                new ReactiveStringRedisTemplate(unreachable), new SimpleMeterRegistry());
+            
+            StepVerifier.create(limiter.recordFailure("nobody", "10.0.0.1")).expectComplete().verify(Duration.ofSeconds(30));
+            StepVerifier.create(limiter.checkAllowed("nobody", "10.0.0.1")).expectComplete().verify(Duration.ofSeconds(30));
+        } finally {
+            unreachable.destroy();
+        }
+    }
+    
+    private static RedisLoginAttemptLimiter limiter(int maxFailuresPerUser, int maxFailuresPerIp) {
+        return new RedisLoginAttemptLimiter(WINDOW, maxFailuresPerUser, maxFailuresPerIp, LOCK, 1_000,
+            redisTemplate, new SimpleMeterRegistry());
+    }
+    
+    private static String uniqueUser() {
+        return "user-" + UUID.randomUUID() + "@example.com";
+    }
+    
+    private static void assertTooManyAttempts(Throwable error) {
+        assertThat(error).isInstanceOf(ResponseStatusException.class);
+        assertThat(((ResponseStatusException) error).getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
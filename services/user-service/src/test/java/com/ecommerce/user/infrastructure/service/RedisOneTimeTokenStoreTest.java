@@ -0,0 +1,134 @@
+// services/user-service/src/test/java/com/ecommerce/user/infrastructure/service/RedisOneTimeTokenStoreTest.java
+package com.ecommerce.user.infrastructure.service;
+
+import com.ecommerce.user.application.service.OneTimeTokenStore.Purpose;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class RedisOneTimeTokenStoreTest {
+    
+    private static final Duration DELIVERY_TTL = Duration.ofMinutes(15);
+    
+    @Container
+    private static final GenericContainer<?> REDIS =
+        new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+    
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveStringRedisTemplate redisTemplate;
+    private static RedisOneTimeTokenStore store;
+    
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        store = new RedisOneTimeTokenStore(Duration.ofHours(24), Duration.ofMinutes(30), DELIVERY_TTL,
+            redisTemplate, new SimpleMeterRegistry());
+    }
+    
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+    
+    @Test
+    void deliversTheTokenOnceAndRedeemsItOnce() {
+        String userId = UUID.randomUUID().toString();
+        String deliveryId = store.issue(Purpose.EMAIL_VERIFICATION, userId).block();
+        
+        String token = takeDelivery(deliveryId);
+        assertThat(token).isNotBlank();
+        assertThat(takeDelivery(deliveryId)).isNull();
+        
+        StepVerifier.create(store.isValid(Purpose.EMAIL_VERIFICATION, token)).expectNext(true).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.EMAIL_VERIFICATION, token)).expectNext(userId).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.EMAIL_VERIFICATION, token)).verifyComplete();
+        StepVerifier.create(store.isValid(Purpose.EMAIL_VERIFICATION, token)).expectNext(false).verifyComplete();
+    }
+    
+    @Test
+    void aRestagedTokenCanBeTakenAgain() {
+        String userId = UUID.randomUUID().toString();
+        String deliveryId = store.issue(Purpose.EMAIL_VERIFICATION, userId).block();
+        String token = takeDelivery(deliveryId);
+        
+        StepVerifier.create(store.restageForDelivery(deliveryId, token)).verifyComplete();
+        
+        assertThat(takeDelivery(deliveryId)).isEqualTo(token);
+        assertThat(takeDelivery(deliveryId)).isNull();
+    }
+    
+    @Test
+    void keepsOnlyAHashOfTheTokenOnceDelivered() {
+        String userId = UUID.randomUUID().toString();
+        String token = takeDelivery(store.issue(Purpose.PASSWORD_RESET, userId).block());
+        
+        List<String> keys = redisTemplate.keys("one-time-token:*").collectList().block();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys).block();
+        
+        assertThat(keys).noneMatch(key -> key.contains(token));
+        assertThat(values).noneMatch(value -> token.equals(value));
+    }
+    
+    @Test
+    void aNewTokenRevokesThePreviousOne() {
+        String userId = UUID.randomUUID().toString();
+        String first = takeDelivery(store.issue(Purpose.PASSWORD_RESET, userId).block());
+        String second = takeDelivery(store.issue(Purpose.PASSWORD_RESET, userId).block());
+        
+        StepVerifier.create(store.consume(Purpose.PASSWORD_RESET, first)).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.PASSWORD_RESET, second)).expectNext(userId).verifyComplete();
+    }
+    
+    @Test
+    void tokensOnlyRedeemForTheirPurpose() {
+        String userId = UUID.randomUUID().toString();
+        String token = takeDelivery(store.issue(Purpose.EMAIL_VERIFICATION, userId).block());
+        
+        StepVerifier.create(store.isValid(Purpose.PASSWORD_RESET, token)).expectNext(false).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.PASSWORD_RESET, token)).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.EMAIL_VERIFICATION, token)).expectNext(userId).verifyComplete();
+    }
+    
+    @Test
+    void tokensExpireWithTheirTtl() {
+        String userId = UUID.randomUUID().toString();
+        String deliveryId = store.issue(Purpose.PASSWORD_RESET, userId).block();
+        
+        List<String> keys = redisTemplate.keys("one-time-token:password-reset:*").collectList().block();
+        for (String key : keys) {
+            Duration ttl = redisTemplate.getExpire(key).block();
+            assertThat(ttl).as(key).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(30));
+        }
+        
+        // The raw token is staged for the shorter delivery window only
+        Duration deliveryTtl = redisTemplate.getExpire("one-time-token:delivery:" + deliveryId).block();
+        assertThat(deliveryTtl).isPositive().isLessThanOrEqualTo(DELIVERY_TTL);
+    }
+    
+    @Test
+    void blankTokensAreNeverValid() {
+        StepVerifier.create(store.isValid(Purpose.EMAIL_VERIFICATION, " ")).expectNext(false).verifyComplete();
+        StepVerifier.create(store.consume(Purpose.EMAIL_VERIFICATION, null)).verifyComplete();
+    }
+    
+    private static String takeDelivery(String deliveryId) {
+        return store.takeForDelivery(deliveryId).block();
+    }
+}
@@ -0,0 +1,72 @@
+// shared/messaging-common/src/main/java/com/ecommerce/messaging/outbox/Outbox.java
+package com.ecommerce.messaging.outbox;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Appends events to an outbox table on the caller's R2DBC connection, so they commit or roll
+ * back with the surrounding transaction. A call appends any number of events of one type in
+ * one INSERT over unnested arrays, with a single NOTIFY on a channel named after the table.
+ * Postgres only delivers the NOTIFY on commit, where it wakes the table's {@link OutboxRelay}.
+ * <p>
+ * The table needs the columns {@code id BIGSERIAL, aggregate_id, event_type, payload TEXT}
+ * and {@code created_at DEFAULT now()}.
+ */
+public class Outbox {
+    
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    
+    private final String table;
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final String appendSql;
+    
+    public Outbox(String table, DatabaseClient databaseClient, ObjectMapper objectMapper) {
+        // The name goes into SQL and LISTEN as is, so only plain identifiers are allowed
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid outbox table name: " + table);
+        }
+        this.table = table;
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.appendSql =
+            "WITH appended AS (" +
+            "INSERT INTO " + table + " (aggregate_id, event_type, payload) " +
+            "SELECT aggregate_id, :eventType, payload " +
+            "FROM unnest(CAST(:aggregateIds AS VARCHAR[]), CAST(:payloads AS TEXT[])) AS e(aggregate_id, payload) " +
+            "RETURNING id) " +
+            "SELECT pg_notify('" + table + "', '') FROM appended LIMIT 1";
+    }
+    
+    /**
+     * The outbox table, which is also the NOTIFY channel.
+     */
+    public String table() {
+        return table;
+    }
+    
+    public Mono<Void> append(String eventType, List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        return Mono.fromCallable(() -> {
+                String[] payloads = new String[events.size()];
+                for (int i = 0; i < payloads.length; i++) {
+                    payloads[i] = objectMapper.writeValueAsString(events.get(i));
+                }
+                return payloads;
+            })
+            .flatMap(payloads -> databaseClient.sql(appendSql)
+                .bind("aggregateIds", events.stream().map(DomainEvent::getAggregateId).toArray(String[]::new))
+                .bind("eventType", eventType)
+                .bind("payloads", payloads)
+                .then());
+    }
+}
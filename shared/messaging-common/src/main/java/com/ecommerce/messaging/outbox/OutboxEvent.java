@@ -0,0 +1,7 @@
+// shared/messaging-common/src/main/java/com/ecommerce/messaging/outbox/OutboxEvent.java
+package com.ecommerce.messaging.outbox;
+
+import java.time.Instant;
+
+public record OutboxEvent(long id, String aggregateId, String eventType, String payload, Instant createdAt) {
+}
@@ -0,0 +1,16 @@
+// shared/messaging-common/src/main/java/com/ecommerce/messaging/outbox/OutboxPublisher.java
+package com.ecommerce.messaging.outbox;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Sends a batch of outbox events to the broker. The returned Mono completes only once every
+ * event in the batch is acknowledged, and fails if any of them is not.
+ */
+@FunctionalInterface
+public interface OutboxPublisher {
+    
+    Mono<Void> publish(List<OutboxEvent> batch);
+}
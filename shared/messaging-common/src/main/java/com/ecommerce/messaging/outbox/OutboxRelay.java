@@ -0,0 +1,205 @@
+// shared/messaging-common/src/main/java/com/ecommerce/messaging/outbox/OutboxRelay.java
+package com.ecommerce.messaging.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves committed events from an {@link Outbox} table to the broker in id order. It wakes on
+ * the NOTIFY sent with each append, with a slow poll as a fallback, and drains in large
+ * batches. Rows are deleted only after the broker acknowledges the whole batch, so events
+ * wait out broker outages in the table.
+ * <p>
+ * One replica relays a table at a time, which keeps delivery ordered. It holds a session
+ * advisory lock on its LISTEN connection, so the lock goes away with that connection, and
+ * the fetch and the delete are short statements on their own: no transaction or pooled
+ * connection is held while the broker acknowledges a batch. A replica that loses the lock
+ * mid-batch can send that batch twice; delivery is at least once.
+ * <p>
+ * Metrics are named after the table, so {@code user_outbox} reports {@code user.outbox.*}.
+ */
+@Slf4j
+public class OutboxRelay {
+    
+    private final String table;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final OutboxPublisher publisher;
+    private final String fetchSql;
+    private final String deleteSql;
+    private final String oldestSql;
+    private final AtomicBoolean relaying = new AtomicBoolean();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+    
+    private Disposable relay;
+    
+    public OutboxRelay(Outbox outbox,
+                       int batchSize,
+                       Duration pollInterval,
+                       ConnectionFactory connectionFactory,
+                       DatabaseClient databaseClient,
+                       OutboxPublisher publisher,
+                       MeterRegistry meterRegistry) {
+        this.table = outbox.table();
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = databaseClient;
+        this.publisher = publisher;
+        this.fetchSql = "SELECT id, aggregate_id, event_type, payload, created_at FROM " + table +
+            " ORDER BY id LIMIT :limit";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ANY(:ids)";
+        this.oldestSql = "SELECT created_at FROM " + table + " ORDER BY id LIMIT 1";
+        
+        String metrics = table.replace('_', '.');
+        Gauge.builder(metrics + ".oldest-age", oldestPendingAgeMillis, age -> age.get() / 1000.0)
+            .description("Age in seconds of the oldest undelivered outbox event")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.relayedCounter = meterRegistry.counter(metrics + ".relayed");
+        this.failedCounter = meterRegistry.counter(metrics + ".failures");
+        this.lagTimer = Timer.builder(metrics + ".lag")
+            .description("Time from outbox commit to broker acknowledgement")
+            .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    public void start() {
+        relay = wakeups()
+            // Wakeups that arrive during a drain collapse into one follow-up drain
+            .onBackpressureLatest()
+            .concatMap(wakeup -> drain(), 1)
+            .subscribe();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+    }
+    
+    private Mono<Void> drain() {
+        return relayBatch()
+            .expand(relayed -> relayed == batchSize ? relayBatch() : Mono.empty())
+            .then(updateOldestPendingAge())
+            .onErrorResume(error -> {
+                failedCounter.increment();
+                log.warn("Relay of {} failed, retrying on next wakeup", table, error);
+                return updateOldestPendingAge();
+            });
+    }
+    
+    private Mono<Integer> relayBatch() {
+        return Mono.defer(() -> relaying.get() ? fetchBatch().flatMap(this::deliver) : Mono.just(0));
+    }
+    
+    private Mono<List<OutboxEvent>> fetchBatch() {
+        return databaseClient.sql(fetchSql)
+            .bind("limit", batchSize)
+            .map(row -> new OutboxEvent(
+                row.get("id", Long.class),
+                row.get("aggregate_id", String.class),
+                row.get("event_type", String.class),
+                row.get("payload", String.class),
+                row.get("created_at", Instant.class)))
+            .all()
+            .collectList();
+    }
+    
+    private Mono<Integer> deliver(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Mono.just(0);
+        }
+        
+        Long[] ids = batch.stream().map(OutboxEvent::id).toArray(Long[]::new);
+        return publisher.publish(batch)
+            .then(databaseClient.sql(deleteSql)
+                .bind("ids", ids)
+                .then())
+            .then(Mono.fromRunnable(() -> {
+                Instant now = Instant.now();
+                batch.forEach(event -> lagTimer.record(Duration.between(event.createdAt(), now)));
+                relayedCounter.increment(batch.size());
+                log.debug("Relayed {} events from {} up to id {}", batch.size(), table, ids[ids.length - 1]);
+            }))
+            .thenReturn(batch.size());
+    }
+    
+    private Mono<Void> updateOldestPendingAge() {
+        return databaseClient.sql(oldestSql)
+            .map(row -> row.get("created_at", Instant.class))
+            .one()
+            .map(createdAt -> Duration.between(createdAt, Instant.now()).toMillis())
+            .defaultIfEmpty(0L)
+            .doOnNext(oldestPendingAgeMillis::set)
+            .then()
+            .onErrorResume(error -> Mono.empty());
+    }
+    
+    private Flux<Boolean> wakeups() {
+        // LISTEN needs a dedicated connection that stays open, so bypass the pool
+        return Flux.usingWhen(
+                Mono.from(unpooled(connectionFactory).create()).cast(PostgresqlConnection.class),
+                connection -> connection.createStatement("LISTEN " + table)
+                    .execute()
+                    .flatMap(PostgresqlResult::getRowsUpdated)
+                    .thenMany(Flux.merge(
+                        connection.getNotifications().map(notification -> true),
+                        // The poll also retries the relay lock while another replica holds it
+                        Flux.interval(Duration.ZERO, pollInterval).concatMap(tick -> acquireRelayLock(connection)))),
+                connection -> Mono.fromRunnable(() -> relaying.set(false)).then(connection.close()))
+            .doOnError(error -> log.warn("LISTEN connection for {} lost, reconnecting", table, error))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+    
+    private Mono<Boolean> acquireRelayLock(PostgresqlConnection connection) {
+        if (relaying.get()) {
+            return Mono.just(true);
+        }
+        return connection.createStatement("SELECT pg_try_advisory_lock(hashtext('" + table + "'))")
+            .execute()
+            .flatMap(result -> result.map((row, metadata) -> Boolean.TRUE.equals(row.get(0, Boolean.class))))
+            .next()
+            .doOnNext(locked -> {
+                if (locked) {
+                    relaying.set(true);
+                    log.info("Acquired the relay lock for {}", table);
+                }
+            })
+            .thenReturn(true);
+    }
+    
+    private static ConnectionFactory unpooled(ConnectionFactory factory) {
+        ConnectionFactory target = factory;
+        while (target instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            target = inner;
+        }
+        return target;
+    }
+}
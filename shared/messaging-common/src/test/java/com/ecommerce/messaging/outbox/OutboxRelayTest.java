@@ -0,0 +1,233 @@
+// shared/messaging-common/src/test/java/com/ecommerce/messaging/outbox/OutboxRelayTest.java
+package com.ecommerce.messaging.outbox;
+
+import com.ecommerce.domain.common.event.DomainEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+class OutboxRelayTest {
+    
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    private static ConnectionFactory connectionFactory;
+    private static DatabaseClient databaseClient;
+    private static Outbox outbox;
+    
+    private final List<OutboxRelay> relays = new ArrayList<>();
+    
+    @BeforeAll
+    static void createSchema() {
+        connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+            .host(POSTGRES.getHost())
+            .port(POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+            .database(POSTGRES.getDatabaseName())
+            .username(POSTGRES.getUsername())
+            .password(POSTGRES.getPassword())
+            .build());
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql(
+                "CREATE TABLE IF NOT EXISTS test_outbox (" +
+                "id BIGSERIAL PRIMARY KEY, " +
+                "aggregate_id VARCHAR(64) NOT NULL, " +
+                "event_type VARCHAR(100) NOT NULL, " +
+                "payload TEXT NOT NULL, " +
+                "created_at TIMESTAMPTZ NOT NULL DEFAULT now())")
+            .then()
+            .block();
+        outbox = new Outbox("test_outbox", databaseClient, new ObjectMapper().findAndRegisterModules());
+    }
+    
+    @BeforeEach
+    void clearOutbox() {
+        databaseClient.sql("TRUNCATE test_outbox RESTART IDENTITY").then().block();
+    }
+    
+    @AfterEach
+    void stopRelays() {
+        relays.forEach(OutboxRelay::stop);
+    }
+    
+    @Test
+    void appendsEveryEventOfACallInOrder() {
+        outbox.append("TestEvent", List.of(new TestEvent("a"), new TestEvent("b"), new TestEvent("c"))).block();
+        
+        List<String> aggregateIds = databaseClient.sql("SELECT aggregate_id, event_type FROM test_outbox ORDER BY id")
+            .map(row -> row.get("aggregate_id", String.class) + ":" + row.get("event_type", String.class))
+            .all()
+            .collectList()
+            .block();
+        assertThat(aggregateIds).containsExactly("a:TestEvent", "b:TestEvent", "c:TestEvent");
+    }
+    
+    @Test
+    void rejectsTableNamesThatAreNotPlainIdentifiers() {
+        assertThatThrownBy(() -> new Outbox("outbox; DROP TABLE users", databaseClient, new ObjectMapper()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void relaysInIdOrderAndDeletesOnlyAfterTheAcknowledgement() {
+        RecordingPublisher broker = new RecordingPublisher();
+        append(5);
+        
+        start(broker, 2);
+        awaitCondition(() -> outboxSize() == 0);
+        
+        assertThat(broker.deliveredIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(broker.batchSizes()).containsExactly(2, 2, 1);
+    }
+    
+    @Test
+    void keepsEventsInTheOutboxWhileTheBrokerIsDown() {
+        RecordingPublisher broker = new RecordingPublisher();
+        broker.failing = true;
+        append(3);
+        
+        start(broker, 100);
+        awaitCondition(() -> broker.attempts() >= 2);
+        assertThat(outboxSize()).isEqualTo(3);
+        
+        broker.failing = false;
+        append(1);
+        awaitCondition(() -> outboxSize() == 0);
+        
+        assertThat(broker.deliveredIds()).containsExactly(1L, 2L, 3L, 4L);
+    }
+    
+    @Test
+    void onlyTheLockHolderRelaysAndAnotherReplicaTakesOverWhenItStops() {
+        RecordingPublisher firstBroker = new RecordingPublisher();
+        RecordingPublisher secondBroker = new RecordingPublisher();
+        OutboxRelay first = start(firstBroker, 100);
+        awaitCondition(() -> {
+            append(1);
+            return !firstBroker.deliveredIds().isEmpty();
+        });
+        start(secondBroker, 100);
+        
+        append(3);
+        awaitCondition(() -> outboxSize() == 0);
+        assertThat(secondBroker.deliveredIds()).isEmpty();
+        
+        first.stop();
+        append(2);
+        awaitCondition(() -> outboxSize() == 0);
+        
+        assertThat(secondBroker.deliveredIds()).hasSize(2);
+        assertThat(firstBroker.deliveredIds()).doesNotContainAnyElementsOf(secondBroker.deliveredIds());
+    }
+    
+    private OutboxRelay start(RecordingPublisher broker, int batchSize) {
+        OutboxRelay relay = new OutboxRelay(outbox, batchSize, POLL_INTERVAL, connectionFactory, databaseClient,
+            broker, new SimpleMeterRegistry());
+        relays.add(relay);
+        relay.start();
+        return relay;
+    }
+    
+    private static void append(int count) {
+        outbox.append("TestEvent", IntStream.range(0, count).mapToObj(i -> new TestEvent("aggregate-" + i)).toList())
+            .block();
+    }
+    
+    private static long outboxSize() {
+        return databaseClient.sql("SELECT count(*) AS pending FROM test_outbox")
+            .map(row -> row.get("pending", Long.class))
+            .one()
+            .block();
+    }
+    
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within %s", TIMEOUT).isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    private static final class TestEvent extends DomainEvent {
+        
+        private final String aggregateId;
+        
+        TestEvent(String aggregateId) {
+            super();
+            this.aggregateId = aggregateId;
+        }
+        
+        @Override
+        public String getAggregateId() {
+            return aggregateId;
+        }
+    }
+    
+    /**
+     * A broker stub that records what it acknowledged and can be switched to fail.
+     */
+    private static final class RecordingPublisher implements OutboxPublisher {
+        
+        private final List<List<OutboxEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile boolean failing;
+        
+        @Override
+        public Mono<Void> publish(List<OutboxEvent> batch) {
+            return Mono.defer(() -> {
+                attempts.incrementAndGet();
+                if (failing) {
+                    return Mono.error(new IllegalStateException("broker unavailable"));
+                }
+                batches.add(List.copyOf(batch));
+                return Mono.empty();
+            });
+        }
+        
+        int attempts() {
+            return attempts.get();
+        }
+        
+        List<Long> deliveredIds() {
+            synchronized (batches) {
+                return batches.stream().flatMap(List::stream).map(OutboxEvent::id).toList();
+            }
+        }
+        
+        List<Integer> batchSizes() {
+            synchronized (batches) {
+                return batches.stream().map(List::size).toList();
+            }
+        }
+    }
+}
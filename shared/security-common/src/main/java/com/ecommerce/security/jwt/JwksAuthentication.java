@@ -0,0 +1,68 @@
+// shared/security-common/src/main/java/com/ecommerce/security/jwt/JwksAuthentication.java
+package com.ecommerce.security.jwt;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} access token with a
+ * {@link JwksTokenVerifier}. The principal is the {@link VerifiedToken} and its role becomes
+ * a {@code ROLE_} authority, so security chains can use {@code hasRole}. Requests without a
+ * bearer token pass through unauthenticated; an invalid token is rejected with 401.
+ */
+public final class JwksAuthentication {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private JwksAuthentication() {
+    }
+    
+    public static AuthenticationWebFilter webFilter(JwksTokenVerifier verifier) {
+        return webFilter(authenticationManager(verifier));
+    }
+    
+    /**
+     * Bearer token filter for services that verify tokens themselves. The manager receives an
+     * unauthenticated token whose credentials are the raw bearer token.
+     */
+    public static AuthenticationWebFilter webFilter(ReactiveAuthenticationManager authenticationManager) {
+        AuthenticationWebFilter filter = new AuthenticationWebFilter(authenticationManager);
+        filter.setServerAuthenticationConverter(JwksAuthentication::bearerToken);
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(
+            new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)));
+        return filter;
+    }
+    
+    public static ReactiveAuthenticationManager authenticationManager(JwksTokenVerifier verifier) {
+        return authentication -> {
+            String token = (String) authentication.getCredentials();
+            return verifier.verify(token)
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid access token")))
+                .map(verified -> UsernamePasswordAuthenticationToken.authenticated(verified, token,
+                    verified.getRole() != null
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + verified.getRole()))
+                        : List.of()));
+        };
+    }
+    
+    private static Mono<Authentication> bearerToken(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Mono.empty();
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(null, token));
+    }
+}
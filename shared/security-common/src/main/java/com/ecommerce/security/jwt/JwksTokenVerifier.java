@@ -0,0 +1,158 @@
+// shared/security-common/src/main/java/com/ecommerce/security/jwt/JwksTokenVerifier.java
+package com.ecommerce.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies access tokens issued by user-service locally, against the public keys it
+ * publishes at its JWKS endpoint. The key set is cached and only refetched when it goes
+ * stale or a token names a key id that is not in the cached set. Services put it in front
+ * of their endpoints through {@link JwksAuthentication}.
+ */
+@Component
+@Slf4j
+public class JwksTokenVerifier {
+    
+    private static final Duration MIN_REFETCH_INTERVAL = Duration.ofSeconds(10);
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final JwtParser jwtParser;
+    
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile Instant fetchedAt = Instant.EPOCH;
+    private Mono<Map<String, PublicKey>> inflightFetch;
+    
+    public JwksTokenVerifier(@Value("${security.jwt.jwks-uri:http://localhost:8085/.well-known/jwks.json}") String jwksUri,
+                             @Value("${security.jwt.jwks-refresh-interval:5m}") Duration refreshInterval,
+                             WebClient.Builder webClientBuilder) {
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.webClient = webClientBuilder.build();
+        this.jwtParser = Jwts.parser().keyLocator(this::locateKey).build();
+    }
+    
+    public Mono<VerifiedToken> verify(String token) {
+        return keySet(false)
+            .flatMap(ignored -> parse(token))
+            .onErrorResume(UnknownKeyException.class, e -> keySet(true).flatMap(ignored -> parse(token)))
+            .onErrorResume(UnknownKeyException.class, e -> {
+                log.debug("Token signed with unknown key: {}", e.getMessage());
+                return Mono.empty();
+            });
+    }
+    
+    private Mono<VerifiedToken> parse(String token) {
+        return Mono.fromCallable(() -> {
+            try {
+                Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+                // Refresh tokens share the signing keys but only user-service may accept them
+                if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))) {
+                    log.debug("Rejecting refresh token used as access token: {}", claims.getId());
+                    return null;
+                }
+                return new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getId(),
+                    claims.get("username", String.class),
+                    claims.get("role", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+                );
+            } catch (UnknownKeyException e) {
+                throw e;
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Invalid JWT token: {}", e.getMessage());
+                return null;
+            }
+        });
+    }
+    
+    private Key locateKey(Header header) {
+        String keyId = header instanceof JwsHeader jwsHeader ? jwsHeader.getKeyId() : null;
+        PublicKey key = keyId != null ? keys.get(keyId) : null;
+        if (key == null) {
+            throw new UnknownKeyException(String.valueOf(keyId));
+        }
+        return key;
+    }
+    
+    private Mono<Map<String, PublicKey>> keySet(boolean unknownKeyId) {
+        Instant now = Instant.now();
+        boolean stale = fetchedAt.plus(refreshInterval).isBefore(now);
+        boolean refetchAllowed = fetchedAt.plus(MIN_REFETCH_INTERVAL).isBefore(now);
+        
+        if (!stale && !(unknownKeyId && refetchAllowed)) {
+            return Mono.just(keys);
+        }
+        return fetchKeySet();
+    }
+    
+    private synchronized Mono<Map<String, PublicKey>> fetchKeySet() {
+        if (inflightFetch == null) {
+            inflightFetch = webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parseKeySet)
+                .doOnNext(parsed -> {
+                    keys = parsed;
+                    fetchedAt = Instant.now();
+                    log.debug("Loaded {} token verification keys from {}", parsed.size(), jwksUri);
+                })
+                .onErrorResume(error -> {
+                    // Keep serving the last known keys and retry shortly instead of on every request
+                    log.warn("Failed to fetch JWKS from {}", jwksUri, error);
+                    fetchedAt = Instant.now().minus(refreshInterval).plus(MIN_REFETCH_INTERVAL);
+                    return Mono.just(keys);
+                })
+                .doFinally(signal -> clearInflightFetch())
+                .cache();
+        }
+        return inflightFetch;
+    }
+    
+    private synchronized void clearInflightFetch() {
+        inflightFetch = null;
+    }
+    
+    private Map<String, PublicKey> parseKeySet(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                parsed.put(jwk.getId(), publicKey);
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+    
+    private static final class UnknownKeyException extends RuntimeException {
+        
+        UnknownKeyException(String keyId) {
+            super("Unknown signing key: " + keyId);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+// shared/security-common/src/main/java/com/ecommerce/security/jwt/VerifiedToken.java
+package com.ecommerce.security.jwt;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class VerifiedToken {
+    
+    private final String subject;
+    private final String tokenId;
+    private final String username;
+    private final String role;
+    private final Instant expiresAt;
+    
+    public VerifiedToken(String subject, String tokenId, String username, String role, Instant expiresAt) {
+        this.subject = subject;
+        this.tokenId = tokenId;
+        this.username = username;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+}
\ No newline at end of file